@@ -66,6 +66,46 @@ public final class ConnectionInfo {
      */
     public static final String ENABLE_CATALOG_KEY = "enable_catalogs";
 
+    /**
+     * Memory mapped files property key.
+     */
+    public static final String MEMORY_MAPPED_KEY = "memory_mapped";
+
+    /**
+     * Metadata cache file property key.
+     */
+    public static final String METADATA_CACHE_KEY = "metadata_cache";
+
+    /**
+     * Table scan parallelism property key.
+     */
+    public static final String SCAN_PARALLELISM_KEY = "scan_parallelism";
+
+    /**
+     * Block cache size property key.
+     */
+    public static final String BLOCK_CACHE_SIZE_KEY = "block_cache_size";
+
+    /**
+     * String dictionary size property key.
+     */
+    public static final String STRING_DICTIONARY_SIZE_KEY = "string_dictionary_size";
+
+    /**
+     * Table cache size property key.
+     */
+    public static final String TABLE_CACHE_SIZE_KEY = "table_cache_size";
+
+    /**
+     * Directory watch property key.
+     */
+    public static final String DIRECTORY_WATCH_KEY = "directory_watch";
+
+    /**
+     * Plan cache size property key.
+     */
+    public static final String PLAN_CACHE_SIZE_KEY = "plan_cache_size";
+
     /**
      * Default charset value.
      */
@@ -91,6 +131,51 @@ public final class ConnectionInfo {
      */
     public static final boolean DEFAULT_ENABLE_CATALOG = false;
 
+    /**
+     * Default memory mapped files.
+     */
+    public static final boolean DEFAULT_MEMORY_MAPPED = false;
+
+    /**
+     * Default metadata cache file use.
+     */
+    public static final boolean DEFAULT_METADATA_CACHE = false;
+
+    /**
+     * Default table scan parallelism.
+     */
+    public static final int DEFAULT_SCAN_PARALLELISM = 1;
+
+    /**
+     * Default block cache size in bytes.
+     */
+    public static final long DEFAULT_BLOCK_CACHE_SIZE = 8L * 1024 * 1024;
+
+    /**
+     * Default distinct values stored by column in string dictionaries.
+     */
+    public static final int DEFAULT_STRING_DICTIONARY_SIZE = 256;
+
+    /**
+     * Max distinct values stored by column in string dictionaries.
+     */
+    private static final int MAX_STRING_DICTIONARY_SIZE = 0x10000;
+
+    /**
+     * Default tables stored in the shared table cache.
+     */
+    public static final int DEFAULT_TABLE_CACHE_SIZE = 1024;
+
+    /**
+     * Default directory watch value.
+     */
+    public static final boolean DEFAULT_DIRECTORY_WATCH = false;
+
+    /**
+     * Default plans stored in the shared plan cache.
+     */
+    public static final int DEFAULT_PLAN_CACHE_SIZE = 256;
+
     /**
      * Default user.
      */
@@ -146,6 +231,46 @@ public final class ConnectionInfo {
      */
     private boolean enableCatalogChange = DEFAULT_ENABLE_CATALOG;
 
+    /**
+     * Use memory mapped files to read tables.
+     */
+    private boolean memoryMapped = DEFAULT_MEMORY_MAPPED;
+
+    /**
+     * Store the table headers in a metadata cache file.
+     */
+    private boolean metadataCache = DEFAULT_METADATA_CACHE;
+
+    /**
+     * Threads used to read a table.
+     */
+    private int scanParallelism = DEFAULT_SCAN_PARALLELISM;
+
+    /**
+     * Block cache size in bytes.
+     */
+    private long blockCacheSize = DEFAULT_BLOCK_CACHE_SIZE;
+
+    /**
+     * Distinct values stored by column in string dictionaries.
+     */
+    private int stringDictionarySize = DEFAULT_STRING_DICTIONARY_SIZE;
+
+    /**
+     * Tables stored in the shared table cache.
+     */
+    private int tableCacheSize = DEFAULT_TABLE_CACHE_SIZE;
+
+    /**
+     * If the schema directories are watched to keep the file listings in memory.
+     */
+    private boolean directoryWatch = DEFAULT_DIRECTORY_WATCH;
+
+    /**
+     * Plans stored in the shared plan cache.
+     */
+    private int planCacheSize = DEFAULT_PLAN_CACHE_SIZE;
+
     /**
      * Connection user.
      */
@@ -295,6 +420,21 @@ public final class ConnectionInfo {
         final String timeZoneId = getPropertyValue(TIMEZONE_KEY, DEFAULT_TIMEZONE.getID(), info);
         final String enableCatalog = getPropertyValue(ENABLE_CATALOG_KEY, String.valueOf(DEFAULT_ENABLE_CATALOG), info);
         final String user = getPropertyValue(USER_KEY, DEFAULT_USER, info);
+        final String memoryMapped = getPropertyValue(MEMORY_MAPPED_KEY, String.valueOf(DEFAULT_MEMORY_MAPPED), info);
+        final String metadataCache = getPropertyValue(METADATA_CACHE_KEY, String.valueOf(DEFAULT_METADATA_CACHE),
+                info);
+        final String scanParallelism = getPropertyValue(SCAN_PARALLELISM_KEY,
+                String.valueOf(DEFAULT_SCAN_PARALLELISM), info);
+        final String blockCacheSize = getPropertyValue(BLOCK_CACHE_SIZE_KEY,
+                String.valueOf(DEFAULT_BLOCK_CACHE_SIZE), info);
+        final String stringDictionarySize = getPropertyValue(STRING_DICTIONARY_SIZE_KEY,
+                String.valueOf(DEFAULT_STRING_DICTIONARY_SIZE), info);
+        final String tableCacheSize = getPropertyValue(TABLE_CACHE_SIZE_KEY,
+                String.valueOf(DEFAULT_TABLE_CACHE_SIZE), info);
+        final String directoryWatch = getPropertyValue(DIRECTORY_WATCH_KEY, String.valueOf(DEFAULT_DIRECTORY_WATCH),
+                info);
+        final String planCacheSize = getPropertyValue(PLAN_CACHE_SIZE_KEY, String.valueOf(DEFAULT_PLAN_CACHE_SIZE),
+                info);
 
         final DriverPropertyInfo bcdRoundingProp = new DriverPropertyInfo(BCD_ROUNDING_KEY, bcdRounding);
         bcdRoundingProp.choices = new String[]{"true", "false"};
@@ -306,6 +446,42 @@ public final class ConnectionInfo {
         enableCatalogProp.required = false;
         enableCatalogProp.description = "Enable catalog info.";
 
+        final DriverPropertyInfo memoryMappedProp = new DriverPropertyInfo(MEMORY_MAPPED_KEY, memoryMapped);
+        memoryMappedProp.choices = new String[]{"true", "false"};
+        memoryMappedProp.required = false;
+        memoryMappedProp.description = "Use memory mapped files to read tables.";
+
+        final DriverPropertyInfo metadataCacheProp = new DriverPropertyInfo(METADATA_CACHE_KEY, metadataCache);
+        metadataCacheProp.choices = new String[]{"true", "false"};
+        metadataCacheProp.required = false;
+        metadataCacheProp.description = "Store the table headers in a cache file in each schema directory.";
+
+        final DriverPropertyInfo scanParallelismProp = new DriverPropertyInfo(SCAN_PARALLELISM_KEY, scanParallelism);
+        scanParallelismProp.required = false;
+        scanParallelismProp.description = "Threads used to read large tables (1 to disable parallel reads).";
+
+        final DriverPropertyInfo blockCacheSizeProp = new DriverPropertyInfo(BLOCK_CACHE_SIZE_KEY, blockCacheSize);
+        blockCacheSizeProp.required = false;
+        blockCacheSizeProp.description = "Shared table block cache size in bytes (0 to disable the cache).";
+
+        final DriverPropertyInfo stringDictionarySizeProp = new DriverPropertyInfo(STRING_DICTIONARY_SIZE_KEY,
+                stringDictionarySize);
+        stringDictionarySizeProp.required = false;
+        stringDictionarySizeProp.description = "Distinct text values shared by column in a table scan (0 to disable).";
+
+        final DriverPropertyInfo tableCacheSizeProp = new DriverPropertyInfo(TABLE_CACHE_SIZE_KEY, tableCacheSize);
+        tableCacheSizeProp.required = false;
+        tableCacheSizeProp.description = "Table definitions kept in the shared table cache (0 to disable the cache).";
+
+        final DriverPropertyInfo directoryWatchProp = new DriverPropertyInfo(DIRECTORY_WATCH_KEY, directoryWatch);
+        directoryWatchProp.choices = new String[]{"true", "false"};
+        directoryWatchProp.required = false;
+        directoryWatchProp.description = "Watch the schema directories to keep the file listings in memory.";
+
+        final DriverPropertyInfo planCacheSizeProp = new DriverPropertyInfo(PLAN_CACHE_SIZE_KEY, planCacheSize);
+        planCacheSizeProp.required = false;
+        planCacheSizeProp.description = "Statement plans kept in the shared plan cache (0 to disable the cache).";
+
         final DriverPropertyInfo charset = new DriverPropertyInfo(CHARSET_KEY, charsetValue);
         charset.choices = Charset.availableCharsets().keySet().toArray(new String[0]);
         charset.required = false;
@@ -335,10 +511,18 @@ public final class ConnectionInfo {
 
         return new DriverPropertyInfo[]{
                 bcdRoundingProp,
+                blockCacheSizeProp,
                 charset,
+                directoryWatchProp,
                 enableCatalogProp,
                 localeProp,
+                memoryMappedProp,
+                metadataCacheProp,
                 passwordProp,
+                planCacheSizeProp,
+                scanParallelismProp,
+                stringDictionarySizeProp,
+                tableCacheSizeProp,
                 timeZoneProp,
                 userProp
         };
@@ -380,12 +564,20 @@ public final class ConnectionInfo {
         final Properties properties = new Properties();
 
         properties.put(BCD_ROUNDING_KEY, Boolean.toString(bcdRounding));
+        properties.put(BLOCK_CACHE_SIZE_KEY, Long.toString(blockCacheSize));
         if (charset != null) {
             properties.put(CHARSET_KEY, charset.displayName());
         }
 
         properties.put(DEFAULT_ENABLE_CATALOG, Boolean.toString(enableCatalogChange));
         properties.put(LOCALE_KEY, locale.toLanguageTag());
+        properties.put(MEMORY_MAPPED_KEY, Boolean.toString(memoryMapped));
+        properties.put(METADATA_CACHE_KEY, Boolean.toString(metadataCache));
+        properties.put(SCAN_PARALLELISM_KEY, Integer.toString(scanParallelism));
+        properties.put(STRING_DICTIONARY_SIZE_KEY, Integer.toString(stringDictionarySize));
+        properties.put(TABLE_CACHE_SIZE_KEY, Integer.toString(tableCacheSize));
+        properties.put(DIRECTORY_WATCH_KEY, Boolean.toString(directoryWatch));
+        properties.put(PLAN_CACHE_SIZE_KEY, Integer.toString(planCacheSize));
         properties.put(DEFAULT_TIMEZONE, timeZone.getID());
         properties.put(USER_KEY, user);
 
@@ -426,6 +618,10 @@ public final class ConnectionInfo {
                 case BCD_ROUNDING_KEY:
                     bcdRounding = getProperty(name, value, errors, DEFAULT_BCD_ROUND, Boolean::parseBoolean);
                     break;
+                case BLOCK_CACHE_SIZE_KEY:
+                    blockCacheSize = getProperty(name, value, errors, DEFAULT_BLOCK_CACHE_SIZE,
+                            (String v) -> Math.max(Long.parseLong(v), 0L));
+                    break;
                 case CHARSET_KEY:
                     charset = getProperty(name, value, errors, DEFAULT_CHARSET, Charset::forName);
                     break;
@@ -436,6 +632,31 @@ public final class ConnectionInfo {
                 case LOCALE_KEY:
                     locale = getProperty(name, value, errors, DEFAULT_LOCALE, Locale::forLanguageTag);
                     break;
+                case MEMORY_MAPPED_KEY:
+                    memoryMapped = getProperty(name, value, errors, DEFAULT_MEMORY_MAPPED, Boolean::parseBoolean);
+                    break;
+                case METADATA_CACHE_KEY:
+                    metadataCache = getProperty(name, value, errors, DEFAULT_METADATA_CACHE, Boolean::parseBoolean);
+                    break;
+                case SCAN_PARALLELISM_KEY:
+                    scanParallelism = getProperty(name, value, errors, DEFAULT_SCAN_PARALLELISM,
+                            (String v) -> Math.max(Integer.parseInt(v), 1));
+                    break;
+                case STRING_DICTIONARY_SIZE_KEY:
+                    stringDictionarySize = getProperty(name, value, errors, DEFAULT_STRING_DICTIONARY_SIZE,
+                            (String v) -> Math.min(Math.max(Integer.parseInt(v), 0), MAX_STRING_DICTIONARY_SIZE));
+                    break;
+                case DIRECTORY_WATCH_KEY:
+                    directoryWatch = getProperty(name, value, errors, DEFAULT_DIRECTORY_WATCH, Boolean::parseBoolean);
+                    break;
+                case PLAN_CACHE_SIZE_KEY:
+                    planCacheSize = getProperty(name, value, errors, DEFAULT_PLAN_CACHE_SIZE,
+                            (String v) -> Math.max(Integer.parseInt(v), 0));
+                    break;
+                case TABLE_CACHE_SIZE_KEY:
+                    tableCacheSize = getProperty(name, value, errors, DEFAULT_TABLE_CACHE_SIZE,
+                            (String v) -> Math.max(Integer.parseInt(v), 0));
+                    break;
                 case TIMEZONE_KEY:
                     timeZone = getProperty(name, value, errors, DEFAULT_TIMEZONE, TimeZone::getTimeZone);
                     break;
@@ -573,6 +794,78 @@ public final class ConnectionInfo {
         return bcdRounding;
     }
 
+    /**
+     * Gets if the tables are read using memory mapped files.
+     *
+     * @return <code>true</code> if the tables are read using memory mapped files.
+     */
+    public boolean isMemoryMapped() {
+        return memoryMapped;
+    }
+
+    /**
+     * Gets if the table headers are stored in a metadata cache file.
+     *
+     * @return {@code true} if the table headers are stored in a metadata cache file.
+     */
+    public boolean isMetadataCache() {
+        return metadataCache;
+    }
+
+    /**
+     * Gets the threads used to read a table.
+     *
+     * @return the threads used to read a table.
+     */
+    public int getScanParallelism() {
+        return scanParallelism;
+    }
+
+    /**
+     * Gets the shared block cache size in bytes.
+     *
+     * @return the shared block cache size in bytes.
+     */
+    public long getBlockCacheSize() {
+        return blockCacheSize;
+    }
+
+    /**
+     * Gets the distinct values stored by column in string dictionaries.
+     *
+     * @return the distinct values stored by column in string dictionaries.
+     */
+    public int getStringDictionarySize() {
+        return stringDictionarySize;
+    }
+
+    /**
+     * Gets the tables stored in the shared table cache.
+     *
+     * @return the tables stored in the shared table cache.
+     */
+    public int getTableCacheSize() {
+        return tableCacheSize;
+    }
+
+    /**
+     * Gets if the schema directories are watched to keep the file listings in memory.
+     *
+     * @return {@code true} if the schema directories are watched.
+     */
+    public boolean isDirectoryWatch() {
+        return directoryWatch;
+    }
+
+    /**
+     * Gets the plans stored in the shared plan cache.
+     *
+     * @return the plans stored in the shared plan cache.
+     */
+    public int getPlanCacheSize() {
+        return planCacheSize;
+    }
+
     /**
      * Gets the connection time zone.
      *
@@ -582,6 +875,18 @@ public final class ConnectionInfo {
         return timeZone;
     }
 
+    /**
+     * Gets the settings read by the tables loaded in this connection. Tables and plans shared between connections are
+     * stored by these settings, so a connection never uses the settings of another connection.
+     *
+     * @return the table settings.
+     */
+    public String getTableSettings() {
+        return String.join(";", String.valueOf(charset), String.valueOf(locale), timeZone.getID(),
+                Boolean.toString(bcdRounding), Boolean.toString(memoryMapped), Long.toString(blockCacheSize),
+                Integer.toString(stringDictionarySize));
+    }
+
     /**
      * Gets the current schema directory.
      *
@@ -16,6 +16,7 @@ import com.googlecode.paradox.exceptions.ParadoxNotSupportedException;
 import com.googlecode.paradox.metadata.ParadoxDatabaseMetaData;
 import com.googlecode.paradox.metadata.schema.DirectorySchema;
 import com.googlecode.paradox.parser.SQLParser;
+import com.googlecode.paradox.planner.PlanCache;
 import com.googlecode.paradox.planner.Planner;
 import com.googlecode.paradox.planner.plan.Plan;
 import com.googlecode.paradox.rowset.ParadoxBlob;
@@ -23,7 +24,6 @@ import com.googlecode.paradox.rowset.ParadoxClob;
 import com.googlecode.paradox.utils.Utils;
 
 import java.io.File;
-import java.lang.ref.SoftReference;
 import java.sql.*;
 import java.util.*;
 import java.util.concurrent.Executor;
@@ -67,12 +67,6 @@ public final class ParadoxConnection implements Connection {
      * The connection property information.
      */
     private final ConnectionInfo connectionInfo;
-    /**
-     * Statement cache.
-     */
-    private static final HashMap<String, LinkedHashMap<String, SoftReference<Plan<?, ?>>>> STATEMENT_CACHE =
-            new HashMap<>();
-
     /**
      * Creates a new paradox connection.
      *
@@ -103,18 +97,12 @@ public final class ParadoxConnection implements Connection {
      */
     @SuppressWarnings("java:S1452")
     public Plan<?, ?> createPlan(final String sql) throws SQLException {
-        final LinkedHashMap<String, SoftReference<Plan<?, ?>>> cache = STATEMENT_CACHE.computeIfAbsent(
-                this.connectionInfo.getUrl(),
-                k -> new LinkedHashMap<>(0x7f, 0.75F, true));
-
-        final SoftReference<Plan<?, ?>> cached = cache.get(sql);
-        Plan<?, ?> plan;
-        if (cached == null || cached.get() == null) {
+        final PlanCache cache = PlanCache.getInstance();
+        Plan<?, ?> plan = cache.get(connectionInfo, sql);
+        if (plan == null) {
             final SQLParser parser = new SQLParser(sql);
             plan = Planner.create(connectionInfo, parser.parse());
-            cache.put(sql, new SoftReference<>(plan));
-        } else {
-            plan = cached.get();
+            cache.put(connectionInfo, sql, plan);
         }
 
         return plan;
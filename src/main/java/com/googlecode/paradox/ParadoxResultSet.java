@@ -217,7 +217,12 @@ public final class ParadoxResultSet implements ResultSet {
 
     @Override
     public InputStream getBinaryStream(final int columnIndex) throws SQLException {
-        final byte[] val = ValuesConverter.getByteArray(dataNavigation.getColumnValue(columnIndex), connectionInfo);
+        final Object value = dataNavigation.getColumnValue(columnIndex);
+        if (value instanceof ParadoxBlob) {
+            return ((ParadoxBlob) value).getBinaryStream();
+        }
+
+        final byte[] val = ValuesConverter.getByteArray(value, connectionInfo);
         if (val != null) {
             return new ByteArrayInputStream(val);
         }
@@ -232,7 +237,13 @@ public final class ParadoxResultSet implements ResultSet {
 
     @Override
     public Blob getBlob(final int columnIndex) throws SQLException {
-        final byte[] val = ValuesConverter.getByteArray(dataNavigation.getColumnValue(columnIndex), connectionInfo);
+        final Object value = dataNavigation.getColumnValue(columnIndex);
+        if (value instanceof ParadoxBlob) {
+            // Do not read the blob data here.
+            return ((ParadoxBlob) value).copy();
+        }
+
+        final byte[] val = ValuesConverter.getByteArray(value, connectionInfo);
         if (val != null) {
             return new ParadoxBlob(val);
         }
@@ -277,7 +288,12 @@ public final class ParadoxResultSet implements ResultSet {
 
     @Override
     public byte[] getBytes(final int columnIndex) throws SQLException {
-        return ValuesConverter.getByteArray(dataNavigation.getColumnValue(columnIndex), connectionInfo);
+        final Object value = dataNavigation.getColumnValue(columnIndex);
+        if (value instanceof ParadoxBlob) {
+            return ((ParadoxBlob) value).getValue();
+        }
+
+        return ValuesConverter.getByteArray(value, connectionInfo);
     }
 
     @Override
@@ -475,7 +491,13 @@ public final class ParadoxResultSet implements ResultSet {
 
     @Override
     public Object getObject(final int columnIndex) throws SQLException {
-        return dataNavigation.getColumnValue(columnIndex);
+        final Object value = dataNavigation.getColumnValue(columnIndex);
+        if (value instanceof ParadoxBlob) {
+            // Keep the byte array value in binary fields.
+            return ((ParadoxBlob) value).getValue();
+        }
+
+        return value;
     }
 
     @Override
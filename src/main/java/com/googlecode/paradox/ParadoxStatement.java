@@ -155,7 +155,7 @@ class ParadoxStatement implements Statement {
                 final List<Object[]> values = selectPlan.execute(context);
 
                 final ParadoxResultSet resultSet = new ParadoxResultSet(this.connectionInfo, this, values,
-                        selectPlan.getColumns());
+                        context.getColumns());
                 resultSet.setFetchDirection(ResultSet.FETCH_FORWARD);
                 resultSet.setType(resultSetType);
                 resultSet.setConcurrency(resultSetConcurrency);
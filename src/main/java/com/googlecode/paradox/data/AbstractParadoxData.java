@@ -20,15 +20,14 @@ import com.googlecode.paradox.results.ParadoxType;
 import com.googlecode.paradox.utils.Constants;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.Buffer;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.sql.SQLException;
+import java.util.Arrays;
 
 /**
  * Handles the paradox files (structure).
@@ -129,86 +128,121 @@ public abstract class AbstractParadoxData {
      */
     protected static <T extends ParadoxDataFile> T loadHeader(final File file, final ConnectionInfo connectionInfo)
             throws SQLException {
+        final MetadataCache cache = MetadataCache.of(file, connectionInfo);
+        if (cache != null) {
+            final byte[] cached = cache.get(file);
+            if (cached != null) {
+                final ByteBuffer buffer = ByteBuffer.wrap(cached);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                try {
+                    return parseHeader(file, buffer, connectionInfo);
+                } catch (final BufferUnderflowException | IllegalArgumentException e) {
+                    // Incomplete cached header, read again from file.
+                }
+            }
+        }
+
         final ByteBuffer buffer = ByteBuffer.allocate(Constants.MAX_BUFFER_SIZE);
         buffer.order(ByteOrder.LITTLE_ENDIAN);
 
-        try (FileInputStream fs = new FileInputStream(file); FileChannel channel = fs.getChannel()) {
-            channel.read(buffer);
+        // The header is read only once, so the file is never mapped here.
+        try (final BlockReader reader = new ChannelBlockReader(file)) {
+            reader.read(0, buffer);
             ((Buffer) buffer).flip();
 
-            int recordSize = buffer.getShort() & 0xFFFF;
-            int headerSize = buffer.getShort() & 0xFFFF;
-            byte type = buffer.get();
-
-            @SuppressWarnings("unchecked")
-            T data = (T) newInstance(file, type, connectionInfo);
-            data.setRecordSize(recordSize);
-            data.setHeaderSize(headerSize);
-            data.setType(type);
-            data.setBlockSize(buffer.get());
-            data.setRowCount(buffer.getInt());
-            data.setUsedBlocks(buffer.getShort());
-            data.setTotalBlocks(buffer.getShort());
-            data.setFirstBlock(buffer.getShort());
-            data.setLastBlock(buffer.getShort());
-
-            buffer.position(0x21);
-            data.setFieldCount(buffer.getShort());
-            data.setPrimaryFieldCount(buffer.getShort());
-
-            // Check for encrypted file.
-            buffer.position(0x25);
-            int value = buffer.getInt();
-            data.setSortOrder(buffer.get());
-
-            buffer.position(0x2D);
-            data.setHeaderChangeCount(buffer.get());
-            data.setBlockChangeCount(buffer.get());
-
-            buffer.position(0x38);
-            data.setWriteProtected(buffer.get() != 0);
-            data.setVersionId(buffer.get());
-
-            // Paradox version 4.x and up.
-            if (value == 0xFF00_FF00 && data.getVersionId() > Constants.PARADOX_VERSION_4) {
-                buffer.position(0x5c);
-                value = buffer.getInt();
+            final T data = parseHeader(file, buffer, connectionInfo);
+            if (cache != null) {
+                cache.put(file, Arrays.copyOf(buffer.array(), Math.min(buffer.limit(), data.getHeaderSize())));
             }
 
-            data.setEncryptedData(value);
+            return data;
+        } catch (final BufferUnderflowException | IOException e) {
+            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+        }
+    }
 
-            buffer.position(0x49);
-            data.setAutoIncrementValue(buffer.getInt());
-            data.setFirstFreeBlock(buffer.getShort());
+    /**
+     * Parses the file header.
+     *
+     * @param file           the original file.
+     * @param buffer         the header buffer in little endian order.
+     * @param connectionInfo the connection information.
+     * @param <T>            the desired data type.
+     * @return the data file.
+     * @throws SQLException in case of unsupported files.
+     */
+    private static <T extends ParadoxDataFile> T parseHeader(final File file, final ByteBuffer buffer,
+                                                             final ConnectionInfo connectionInfo)
+            throws SQLException {
+        int recordSize = buffer.getShort() & 0xFFFF;
+        int headerSize = buffer.getShort() & 0xFFFF;
+        byte type = buffer.get();
+
+        @SuppressWarnings("unchecked")
+        T data = (T) newInstance(file, type, connectionInfo);
+        data.setRecordSize(recordSize);
+        data.setHeaderSize(headerSize);
+        data.setType(type);
+        data.setBlockSize(buffer.get());
+        data.setRowCount(buffer.getInt());
+        data.setUsedBlocks(buffer.getShort());
+        data.setTotalBlocks(buffer.getShort());
+        data.setFirstBlock(buffer.getShort());
+        data.setLastBlock(buffer.getShort());
+
+        buffer.position(0x21);
+        data.setFieldCount(buffer.getShort());
+        data.setPrimaryFieldCount(buffer.getShort());
+
+        // Check for encrypted file.
+        buffer.position(0x25);
+        int value = buffer.getInt();
+        data.setSortOrder(buffer.get());
+
+        buffer.position(0x2D);
+        data.setHeaderChangeCount(buffer.get());
+        data.setBlockChangeCount(buffer.get());
+
+        buffer.position(0x38);
+        data.setWriteProtected(buffer.get() != 0);
+        data.setVersionId(buffer.get());
+
+        // Paradox version 4.x and up.
+        if (value == 0xFF00_FF00 && data.getVersionId() > Constants.PARADOX_VERSION_4) {
+            buffer.position(0x5c);
+            value = buffer.getInt();
+        }
 
-            buffer.position(0x55);
-            data.setReferentialIntegrity(buffer.get());
+        data.setEncryptedData(value);
 
-            // Only for DB files and Xnn files.
-            if (data instanceof ParadoxTable || data instanceof ParadoxIndex) {
-                parseVersionID(buffer, data, connectionInfo);
-            }
+        buffer.position(0x49);
+        data.setAutoIncrementValue(buffer.getInt());
+        data.setFirstFreeBlock(buffer.getShort());
 
-            final ParadoxField[] fields = parseTableFields(data, buffer);
+        buffer.position(0x55);
+        data.setReferentialIntegrity(buffer.get());
 
-            // Only for DB files and Xnn files.
-            if (data instanceof ParadoxTable || data instanceof ParadoxIndex) {
-                fixPositionByVersion(data, buffer, fields.length);
-                parseFieldsName(data, buffer, fields);
+        // Only for DB files and Xnn files.
+        if (data instanceof ParadoxTable || data instanceof ParadoxIndex) {
+            parseVersionID(buffer, data, connectionInfo);
+        }
 
-                parseTableFieldsOrder(data, buffer);
-            }
+        final ParadoxField[] fields = parseTableFields(data, buffer);
 
-            if (data instanceof ParadoxIndex) {
-                parseSortID(buffer, data);
-                parseIndexName(buffer, data);
-            }
+        // Only for DB files and Xnn files.
+        if (data instanceof ParadoxTable || data instanceof ParadoxIndex) {
+            fixPositionByVersion(data, buffer, fields.length);
+            parseFieldsName(data, buffer, fields);
 
-            return data;
-        } catch (final BufferUnderflowException | IOException e) {
-            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+            parseTableFieldsOrder(data, buffer);
+        }
+
+        if (data instanceof ParadoxIndex) {
+            parseSortID(buffer, data);
+            parseIndexName(buffer, data);
         }
 
+        return data;
     }
 
     /**
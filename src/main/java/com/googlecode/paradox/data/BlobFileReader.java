@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.exceptions.DataError;
+import com.googlecode.paradox.exceptions.ParadoxDataException;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+
+/**
+ * The blob file (MB) reader of a table scan. The file is opened in the first LOB value read and kept open until the
+ * scan is closed, so the values of all rows are read using the same file.
+ *
+ * @since 1.6.3
+ */
+public final class BlobFileReader implements AutoCloseable {
+
+    /**
+     * The table to read.
+     */
+    private final ParadoxTable table;
+
+    /**
+     * The blob file reader, {@code null} if not opened yet.
+     */
+    private BlockReader reader;
+
+    /**
+     * The file version used in block cache.
+     */
+    private BlockCache.FileVersion version;
+
+    /**
+     * The blob file length, -1 if not read yet.
+     */
+    private long length = -1;
+
+    /**
+     * The blob file modification time.
+     */
+    private long lastModified;
+
+    /**
+     * If the blob file must keep the length and modification time given.
+     */
+    private final boolean checkChanges;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param table the table to read.
+     */
+    public BlobFileReader(final ParadoxTable table) {
+        this.table = table;
+        this.checkChanges = false;
+    }
+
+    /**
+     * Creates a new instance that fails if the blob file has changed since a row was read.
+     *
+     * @param table        the table to read.
+     * @param length       the blob file length when the row was read.
+     * @param lastModified the blob file modification time when the row was read.
+     */
+    public BlobFileReader(final ParadoxTable table, final long length, final long lastModified) {
+        this.table = table;
+        this.length = length;
+        this.lastModified = lastModified;
+        this.checkChanges = true;
+    }
+
+    /**
+     * Opens the blob file if not opened yet.
+     *
+     * @return the blob file reader.
+     * @throws SQLException in case of failures.
+     */
+    private BlockReader open() throws SQLException {
+        if (reader == null) {
+            final File file = table.getBlobFile();
+            try {
+                reader = BlockReader.open(file, table.getConnectionInfo());
+            } catch (final FileNotFoundException e) {
+                throw new ParadoxDataException(DataError.ERROR_OPENING_BLOB_FILE, e);
+            } catch (final IOException e) {
+                throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+            }
+
+            if (checkChanges && (file.length() != length || file.lastModified() != lastModified)) {
+                close();
+                throw new ParadoxDataException(DataError.BLOB_FILE_CHANGED);
+            }
+
+            version = BlockCache.version(file, table.getConnectionInfo(), 0);
+        }
+
+        return reader;
+    }
+
+    /**
+     * Reads the blob file content from {@code position} into {@code buffer}.
+     *
+     * @param position the file position.
+     * @param buffer   the buffer to fill.
+     * @return the number of bytes read or -1 if the position is after the file end.
+     * @throws SQLException in case of failures.
+     */
+    public int read(final long position, final ByteBuffer buffer) throws SQLException {
+        final BlockReader blockReader = open();
+        try {
+            return blockReader.read(position, buffer);
+        } catch (final IOException e) {
+            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+        }
+    }
+
+    /**
+     * Gets the file version to use in block cache.
+     *
+     * @return the file version or {@code null} if the cache is disabled.
+     * @throws SQLException in case of failures.
+     */
+    public BlockCache.FileVersion getVersion() throws SQLException {
+        open();
+        return version;
+    }
+
+    /**
+     * Gets the blob file length, read only once in this reader.
+     *
+     * @return the blob file length.
+     * @throws SQLException in case of failures.
+     */
+    public long getLength() throws SQLException {
+        if (length < 0) {
+            final File file = table.getBlobFile();
+            lastModified = file.lastModified();
+            length = file.length();
+        }
+
+        return length;
+    }
+
+    /**
+     * Gets the blob file modification time, read only once in this reader.
+     *
+     * @return the blob file modification time.
+     * @throws SQLException in case of failures.
+     */
+    public long getLastModified() throws SQLException {
+        getLength();
+        return lastModified;
+    }
+
+    /**
+     * Gets the table to read.
+     *
+     * @return the table to read.
+     */
+    public ParadoxTable getTable() {
+        return table;
+    }
+
+    /**
+     * Close the blob file.
+     */
+    @Override
+    public void close() {
+        if (reader != null) {
+            reader.close();
+            reader = null;
+        }
+    }
+}
@@ -0,0 +1,425 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.ConnectionInfo;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process wide LRU cache of decoded (decrypted) file blocks, shared by all connections.
+ * <p>
+ * The blocks are stored with the file version (modification time, length and change counters) read when the scan
+ * starts. A block read with a different version is discarded and read again from disk. The cache size is limited by
+ * the {@code block_cache_size} of the connection that stores the block.
+ * <p>
+ * The cache is split in {@link #SEGMENTS} segments by block, each one with its own lock and a part of the cache size.
+ * The blocks of a full scan in a file larger than the cache are not stored, so a single scan does not evict all the
+ * other blocks.
+ *
+ * @since 1.6.3
+ */
+public final class BlockCache {
+
+    /**
+     * The segment count.
+     */
+    static final int SEGMENTS = 16;
+
+    /**
+     * The shared instance.
+     */
+    private static final BlockCache INSTANCE = new BlockCache();
+
+    /**
+     * The cache segments.
+     */
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    /**
+     * Cache hits.
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * Cache misses.
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a new instance.
+     */
+    private BlockCache() {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the shared instance.
+     */
+    public static BlockCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the current file version to use in cache.
+     *
+     * @param file           the file to read.
+     * @param connectionInfo the connection information.
+     * @param changeCount    the file change counters.
+     * @return the file version or {@code null} if the cache is disabled in this connection.
+     */
+    public static FileVersion version(final File file, final ConnectionInfo connectionInfo, final int changeCount) {
+        if (connectionInfo == null || connectionInfo.getBlockCacheSize() <= 0) {
+            return null;
+        }
+
+        return new FileVersion(file.getAbsolutePath(), file.lastModified(), file.length(), changeCount,
+                connectionInfo.getBlockCacheSize(), true);
+    }
+
+    /**
+     * Gets the segment of a block.
+     *
+     * @param key the block key.
+     * @return the block segment.
+     */
+    private Segment segment(final Key key) {
+        final int hash = key.hashCode();
+        return segments[Math.floorMod(hash ^ (hash >>> 16), SEGMENTS)];
+    }
+
+    /**
+     * Gets a cached block. The returned data is shared and must not be changed.
+     *
+     * @param version  the file version, {@code null} to not use the cache.
+     * @param position the block position in file.
+     * @return the cached block or {@code null} if not found.
+     */
+    public byte[] get(final FileVersion version, final long position) {
+        if (version == null) {
+            return null;
+        }
+
+        final Key key = new Key(version.path, position);
+        final Segment segment = segment(key);
+        synchronized (segment) {
+            final Entry entry = segment.entries.get(key);
+            if (entry != null) {
+                if (entry.matches(version)) {
+                    hits.incrementAndGet();
+                    return entry.data;
+                }
+
+                // The file was changed.
+                segment.entries.remove(key);
+                segment.size -= entry.data.length;
+            }
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores a copy of a block in cache.
+     *
+     * @param version  the file version, {@code null} to not use the cache.
+     * @param position the block position in file.
+     * @param data     the block data.
+     * @param length   the block length.
+     */
+    public void put(final FileVersion version, final long position, final byte[] data, final int length) {
+        if (version == null || !version.admit) {
+            return;
+        }
+
+        final long maxSize = version.maxSize / SEGMENTS;
+        if (length > maxSize) {
+            return;
+        }
+
+        final Key key = new Key(version.path, position);
+        final Entry entry = new Entry(version, Arrays.copyOf(data, length));
+        final Segment segment = segment(key);
+        synchronized (segment) {
+            final Entry old = segment.entries.put(key, entry);
+            if (old != null) {
+                segment.size -= old.data.length;
+            }
+
+            segment.size += length;
+
+            final Iterator<Entry> iterator = segment.entries.values().iterator();
+            while (segment.size > maxSize && iterator.hasNext()) {
+                segment.size -= iterator.next().data.length;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes the cached blocks of a file.
+     *
+     * @param path the file absolute path.
+     */
+    public void invalidate(final String path) {
+        for (final Segment segment : segments) {
+            synchronized (segment) {
+                final Iterator<Map.Entry<Key, Entry>> iterator = segment.entries.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    final Map.Entry<Key, Entry> item = iterator.next();
+                    if (item.getKey().path.equals(path)) {
+                        segment.size -= item.getValue().data.length;
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all cached blocks.
+     */
+    public void clear() {
+        for (final Segment segment : segments) {
+            synchronized (segment) {
+                segment.entries.clear();
+                segment.size = 0;
+            }
+        }
+    }
+
+    /**
+     * Gets the cache hit count.
+     *
+     * @return the cache hit count.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the cache miss count.
+     *
+     * @return the cache miss count.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the cached data size in bytes.
+     *
+     * @return the cached data size in bytes.
+     */
+    public long getSize() {
+        long size = 0;
+        for (final Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * A cache segment.
+     */
+    private static final class Segment {
+
+        /**
+         * The cached blocks in access order.
+         */
+        private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(0x10, 0.75F, true);
+
+        /**
+         * The cached data size in bytes.
+         */
+        private long size;
+    }
+
+    /**
+     * A file state used to validate the cached blocks.
+     */
+    public static final class FileVersion {
+
+        /**
+         * The file path.
+         */
+        private final String path;
+
+        /**
+         * The file modification time.
+         */
+        private final long lastModified;
+
+        /**
+         * The file length.
+         */
+        private final long length;
+
+        /**
+         * The file change counters.
+         */
+        private final int changeCount;
+
+        /**
+         * The cache size limit in bytes.
+         */
+        private final long maxSize;
+
+        /**
+         * If the blocks read are stored in cache.
+         */
+        private final boolean admit;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param path         the file path.
+         * @param lastModified the file modification time.
+         * @param length       the file length.
+         * @param changeCount  the file change counters.
+         * @param maxSize      the cache size limit in bytes.
+         * @param admit        if the blocks read are stored in cache.
+         */
+        private FileVersion(final String path, final long lastModified, final long length, final int changeCount,
+                            final long maxSize, final boolean admit) {
+            this.path = path;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.changeCount = changeCount;
+            this.maxSize = maxSize;
+            this.admit = admit;
+        }
+
+        /**
+         * Gets the version to use in a full scan. The cached blocks are still used, but the blocks read are not stored
+         * if the file is larger than the cache.
+         *
+         * @return the version to use in a full scan.
+         */
+        public FileVersion forScan() {
+            if (length <= maxSize) {
+                return this;
+            }
+
+            return new FileVersion(path, lastModified, length, changeCount, maxSize, false);
+        }
+    }
+
+    /**
+     * Cache key.
+     */
+    private static final class Key {
+
+        /**
+         * The file path.
+         */
+        private final String path;
+
+        /**
+         * The block position.
+         */
+        private final long position;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param path     the file path.
+         * @param position the block position.
+         */
+        private Key(final String path, final long position) {
+            this.path = path;
+            this.position = position;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            final Key key = (Key) o;
+            return position == key.position && path.equals(key.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, position);
+        }
+    }
+
+    /**
+     * Cache entry.
+     */
+    private static final class Entry {
+
+        /**
+         * The file modification time.
+         */
+        private final long lastModified;
+
+        /**
+         * The file length.
+         */
+        private final long length;
+
+        /**
+         * The file change counters.
+         */
+        private final int changeCount;
+
+        /**
+         * The block data.
+         */
+        private final byte[] data;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param version the file version.
+         * @param data    the block data.
+         */
+        private Entry(final FileVersion version, final byte[] data) {
+            this.lastModified = version.lastModified;
+            this.length = version.length;
+            this.changeCount = version.changeCount;
+            this.data = data;
+        }
+
+        /**
+         * Checks if this entry was read in the same file version.
+         *
+         * @param version the file version.
+         * @return {@code true} if this entry is valid for this version.
+         */
+        private boolean matches(final FileVersion version) {
+            return lastModified == version.lastModified && length == version.length
+                    && changeCount == version.changeCount;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.ConnectionInfo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Random access reader for Paradox files.
+ *
+ * @since 1.6.3
+ */
+public interface BlockReader extends AutoCloseable {
+
+    /**
+     * Reads the file content from {@code position} into {@code buffer}. The buffer is filled until it is full or the
+     * file end is reached.
+     *
+     * @param position the file position.
+     * @param buffer   the buffer to fill.
+     * @return the number of bytes read or -1 if the position is after the file end.
+     * @throws IOException in case of failures.
+     */
+    int read(final long position, final ByteBuffer buffer) throws IOException;
+
+    /**
+     * Gets the file size.
+     *
+     * @return the file size.
+     * @throws IOException in case of failures.
+     */
+    long size() throws IOException;
+
+    /**
+     * Release the file resources.
+     */
+    @Override
+    void close();
+
+    /**
+     * Opens a new reader using the connection storage mode.
+     *
+     * @param file           the file to read.
+     * @param connectionInfo the connection information.
+     * @return a new reader.
+     * @throws IOException in case of failures.
+     */
+    static BlockReader open(final File file, final ConnectionInfo connectionInfo) throws IOException {
+        if (connectionInfo != null && connectionInfo.isMemoryMapped()) {
+            final BlockReader reader = MappedBlockReader.open(file);
+            if (reader != null) {
+                return reader;
+            }
+        }
+
+        return new ChannelBlockReader(file);
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.exceptions.DataError;
+import com.googlecode.paradox.exceptions.InternalException;
+import com.googlecode.paradox.exceptions.ParadoxDataException;
+import com.googlecode.paradox.metadata.paradox.ParadoxDataFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * A table row spliterator over a known block chain. Each split decodes its own block range, so the table can be
+ * read in parallel keeping the chain order.
+ * <p>
+ * A split not fully read keeps its file open until {@link #closeAll()} is called.
+ *
+ * @since 1.6.3
+ */
+final class BlockSpliterator implements Spliterator<Object[]> {
+
+    /**
+     * The data file to read.
+     */
+    private final ParadoxDataFile dataFile;
+
+    /**
+     * The row decoder.
+     */
+    private final RowDecoder decoder;
+
+    /**
+     * The block numbers in chain order.
+     */
+    private final int[] blocks;
+
+    /**
+     * If all table blocks are read.
+     */
+    private final boolean fullScan;
+
+    /**
+     * The splits with an open file, shared by all splits of the same table read.
+     */
+    private final Set<BlockSpliterator> opened;
+
+    /**
+     * The next block index to read.
+     */
+    private int index;
+
+    /**
+     * The block index limit (exclusive).
+     */
+    private int end;
+
+    /**
+     * The current block buffer.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * The file reader used by this split.
+     */
+    private BlockReader reader;
+
+    /**
+     * The file version used in block cache.
+     */
+    private BlockCache.FileVersion version;
+
+    /**
+     * The string dictionaries used by this split.
+     */
+    private StringDictionary[] dictionaries;
+
+    /**
+     * The blob file reader used by this split.
+     */
+    private BlobFileReader blobs;
+
+    /**
+     * Rows not read yet in current block.
+     */
+    private int remainingRows;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param decoder  the row decoder.
+     * @param blocks   the block numbers in chain order.
+     * @param index    the first block index to read.
+     * @param end      the block index limit (exclusive).
+     * @param fullScan if all table blocks are read.
+     */
+    BlockSpliterator(final RowDecoder decoder, final int[] blocks, final int index, final int end,
+                     final boolean fullScan) {
+        this(decoder, blocks, index, end, fullScan, ConcurrentHashMap.newKeySet());
+    }
+
+    /**
+     * Creates a new split.
+     *
+     * @param decoder  the row decoder.
+     * @param blocks   the block numbers in chain order.
+     * @param index    the first block index to read.
+     * @param end      the block index limit (exclusive).
+     * @param fullScan if all table blocks are read.
+     * @param opened   the splits with an open file.
+     */
+    private BlockSpliterator(final RowDecoder decoder, final int[] blocks, final int index, final int end,
+                             final boolean fullScan, final Set<BlockSpliterator> opened) {
+        this.dataFile = decoder.getDataFile();
+        this.fullScan = fullScan;
+        this.opened = opened;
+        this.decoder = decoder;
+        this.blocks = blocks;
+        this.index = index;
+        this.end = end;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super Object[]> action) {
+        try {
+            Object[] row = null;
+            while (row == null) {
+                while (remainingRows <= 0) {
+                    if (index >= end) {
+                        close();
+                        return false;
+                    }
+
+                    readBlock(blocks[index++]);
+                }
+
+                remainingRows--;
+                row = decoder.decode(buffer, dictionaries, blobs);
+            }
+
+            action.accept(row);
+            return true;
+        } catch (final SQLException e) {
+            close();
+            throw new InternalException(e);
+        }
+    }
+
+    /**
+     * Reads a block.
+     *
+     * @param blockNumber the block number.
+     * @throws SQLException in case of failures.
+     */
+    private void readBlock(final int blockNumber) throws SQLException {
+        if (reader == null) {
+            try {
+                reader = BlockReader.open(dataFile.getFile(), dataFile.getConnectionInfo());
+                opened.add(this);
+                version = TableData.version(dataFile, reader);
+                if (fullScan && version != null) {
+                    version = version.forScan();
+                }
+            } catch (final IOException e) {
+                throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+            }
+
+            buffer = ByteBuffer.allocate(dataFile.getBlockSizeBytes());
+            dictionaries = decoder.createDictionaries();
+            blobs = decoder.createBlobReader();
+        }
+
+        remainingRows = TableData.readBlock(dataFile, reader, version, blockNumber, buffer);
+        buffer.order(ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Close the table and blob file readers.
+     */
+    private synchronized void close() {
+        remainingRows = 0;
+        index = end;
+        if (reader != null) {
+            reader.close();
+            reader = null;
+            opened.remove(this);
+        }
+
+        if (blobs != null) {
+            blobs.close();
+            blobs = null;
+        }
+    }
+
+    /**
+     * Close the file reader of all splits of this table read.
+     */
+    void closeAll() {
+        opened.forEach(BlockSpliterator::close);
+    }
+
+    @Override
+    public Spliterator<Object[]> trySplit() {
+        // Only split whole blocks not started yet.
+        if (remainingRows > 0 || end - index < 2) {
+            return null;
+        }
+
+        final int middle = index + (end - index) / 2;
+        final BlockSpliterator prefix = new BlockSpliterator(decoder, blocks, index, middle, fullScan, opened);
+        index = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        final int count = end - index;
+        if (count <= 0) {
+            return remainingRows;
+        }
+
+        // Estimates using the full block capacity.
+        return (long) count * (dataFile.getBlockSizeBytes() / Math.max(dataFile.getRecordSize(), 1)) + remainingRows;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+}
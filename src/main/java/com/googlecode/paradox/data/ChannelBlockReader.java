@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A block reader using {@link FileChannel} reads.
+ *
+ * @since 1.6.3
+ */
+final class ChannelBlockReader implements BlockReader {
+
+    /**
+     * The file stream.
+     */
+    private final FileInputStream fs;
+
+    /**
+     * The file channel.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param file the file to read.
+     * @throws IOException in case of failures.
+     */
+    ChannelBlockReader(final File file) throws IOException {
+        this.fs = new FileInputStream(file);
+        this.channel = fs.getChannel();
+    }
+
+    @Override
+    public int read(final long position, final ByteBuffer buffer) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, position + total);
+            if (read < 0) {
+                break;
+            }
+
+            total += read;
+        }
+
+        if (total == 0 && buffer.hasRemaining()) {
+            return -1;
+        }
+
+        return total;
+    }
+
+    @Override
+    public long size() throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+            fs.close();
+        } catch (@SuppressWarnings("java:S1166") final IOException e) {
+            // Nothing to do in a read only file.
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.metadata.schema.TableCache;
+import com.googlecode.paradox.utils.Utils;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Process wide in memory index of the files in watched directories, used when {@code directory_watch} is enabled.
+ * <p>
+ * Each directory is registered in a {@link WatchService}. The pending events are processed before each listing: the
+ * changed files are removed from the table and block caches and the directory is listed again. Network file systems
+ * may not send any event, so the directory modification time is also compared in each listing: only one file status
+ * is read by listing.
+ *
+ * @since 1.6.3
+ */
+public final class DirectoryIndex {
+
+    /**
+     * Time in milliseconds after a directory change to trust its modification time.
+     */
+    private static final long MODIFICATION_TIME_PRECISION = 2_000L;
+
+    /**
+     * The indexes by directory path.
+     */
+    private static final Map<String, DirectoryIndex> INSTANCES = new ConcurrentHashMap<>();
+
+    /**
+     * The indexes by watch key.
+     */
+    private static final Map<WatchKey, DirectoryIndex> KEYS = new ConcurrentHashMap<>();
+
+    /**
+     * The shared watch service, {@code null} if not supported.
+     */
+    private static final WatchService WATCH_SERVICE = newWatchService();
+
+    /**
+     * The directory.
+     */
+    private final File directory;
+
+    /**
+     * The directory canonical path, used in table cache keys.
+     */
+    private final String canonicalPath;
+
+    /**
+     * The directory watch key, {@code null} if the directory is not watched.
+     */
+    private WatchKey key;
+
+    /**
+     * The directory modification time in last listing.
+     */
+    private long lastModified;
+
+    /**
+     * The directory files, {@code null} if a new listing is needed.
+     */
+    private File[] files;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param directory the directory.
+     */
+    private DirectoryIndex(final File directory) {
+        this.directory = directory;
+        this.canonicalPath = TableCache.path(directory);
+
+        if (WATCH_SERVICE != null) {
+            try {
+                key = directory.toPath().register(WATCH_SERVICE, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+                KEYS.put(key, this);
+            } catch (@SuppressWarnings("java:S1166") final IOException | UnsupportedOperationException e) {
+                key = null;
+            }
+        }
+    }
+
+    /**
+     * Creates the shared watch service.
+     *
+     * @return the watch service or {@code null} if not supported.
+     */
+    private static WatchService newWatchService() {
+        try {
+            return FileSystems.getDefault().newWatchService();
+        } catch (@SuppressWarnings("java:S1166") final IOException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Lists the files in a directory, from the directory index if {@code directory_watch} is enabled.
+     *
+     * @param directory      the directory.
+     * @param filter         the file filter.
+     * @param connectionInfo the connection information.
+     * @return the files accepted or {@code null} if the directory can not be read.
+     */
+    public static File[] listFiles(final File directory, final FileFilter filter,
+                                   final ConnectionInfo connectionInfo) {
+        if (connectionInfo == null || !connectionInfo.isDirectoryWatch()) {
+            return directory.listFiles(filter);
+        }
+
+        processEvents();
+
+        final File[] indexed = INSTANCES.computeIfAbsent(directory.getAbsolutePath(),
+                path -> new DirectoryIndex(directory)).getFiles();
+        if (indexed == null) {
+            return null;
+        }
+
+        return Arrays.stream(indexed).filter(filter::accept).toArray(File[]::new);
+    }
+
+    /**
+     * Checks if the directory index is enabled.
+     *
+     * @param connectionInfo the connection information.
+     * @return {@code true} if the directory index is enabled.
+     */
+    public static boolean isEnabled(final ConnectionInfo connectionInfo) {
+        return connectionInfo != null && connectionInfo.isDirectoryWatch();
+    }
+
+    /**
+     * Processes the pending events of all watched directories.
+     */
+    private static void processEvents() {
+        if (WATCH_SERVICE == null) {
+            return;
+        }
+
+        WatchKey pending;
+        while ((pending = WATCH_SERVICE.poll()) != null) {
+            final DirectoryIndex index = KEYS.get(pending);
+            if (index != null) {
+                index.process(pending);
+            } else {
+                pending.cancel();
+            }
+        }
+    }
+
+    /**
+     * Processes the events of this directory.
+     *
+     * @param watchKey the watch key with pending events.
+     */
+    private synchronized void process(final WatchKey watchKey) {
+        for (final WatchEvent<?> event : watchKey.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                TableCache.getInstance().invalidate(canonicalPath, null);
+                BlockCache.getInstance().clear();
+                files = null;
+            } else if (event.context() instanceof Path) {
+                invalidate(event.context().toString());
+            }
+        }
+
+        if (!watchKey.reset()) {
+            // The directory is not accessible anymore.
+            KEYS.remove(watchKey);
+            key = null;
+            files = null;
+        }
+    }
+
+    /**
+     * Removes a changed file from the caches.
+     *
+     * @param name the file name.
+     */
+    private void invalidate(final String name) {
+        if (name.startsWith(MetadataCache.FILE_NAME)) {
+            return;
+        }
+
+        TableCache.getInstance().invalidate(canonicalPath, Utils.removeSuffix(name));
+        BlockCache.getInstance().invalidate(new File(directory, name).getAbsolutePath());
+        files = null;
+    }
+
+    /**
+     * Gets the directory files, listing the directory again if changed.
+     *
+     * @return the directory files or {@code null} if the directory can not be read.
+     */
+    private synchronized File[] getFiles() {
+        // The watch events may never arrive, as in SMB or NFS shares.
+        final long current = directory.lastModified();
+        if (current != lastModified || System.currentTimeMillis() - current < MODIFICATION_TIME_PRECISION) {
+            files = null;
+        }
+
+        lastModified = current;
+
+        if (files == null) {
+            final File[] list = directory.listFiles(File::isFile);
+            if (list != null) {
+                files = Arrays.stream(list).map(IndexedFile::new).toArray(File[]::new);
+            }
+        }
+
+        return files;
+    }
+
+    /**
+     * Removes all directory indexes. The watch keys are canceled.
+     */
+    static void reset() {
+        INSTANCES.clear();
+        KEYS.keySet().forEach(WatchKey::cancel);
+        KEYS.clear();
+    }
+
+    /**
+     * A regular file found in a directory listing, to avoid reading the file status again in file filters.
+     */
+    private static final class IndexedFile extends File {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param file the regular file.
+         */
+        private IndexedFile(final File file) {
+            super(file.getPath());
+        }
+
+        @Override
+        public boolean isFile() {
+            return true;
+        }
+    }
+}
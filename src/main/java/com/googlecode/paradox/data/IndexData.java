@@ -12,13 +12,24 @@ package com.googlecode.paradox.data;
 
 import com.googlecode.paradox.ConnectionInfo;
 import com.googlecode.paradox.data.filefilters.SecondaryIndexFilter;
+import com.googlecode.paradox.exceptions.DataError;
+import com.googlecode.paradox.exceptions.ParadoxDataException;
+import com.googlecode.paradox.metadata.Field;
 import com.googlecode.paradox.metadata.Index;
 import com.googlecode.paradox.metadata.Table;
+import com.googlecode.paradox.metadata.paradox.ParadoxDataFile;
 import com.googlecode.paradox.metadata.paradox.ParadoxIndex;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+import com.googlecode.paradox.planner.sorting.OrderType;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -29,6 +40,16 @@ import java.util.List;
  */
 public final class IndexData extends AbstractParadoxData {
 
+    /**
+     * Maintained (incrementing) secondary index file type.
+     */
+    private static final byte MAINTAINED_INDEX = 0x05;
+
+    /**
+     * Maintained (incrementing) composite secondary index file type.
+     */
+    private static final byte MAINTAINED_COMPOSITE_INDEX = 0x08;
+
     /**
      * Utility class.
      */
@@ -48,7 +69,8 @@ public final class IndexData extends AbstractParadoxData {
     public static List<Index> listIndexes(final File currentSchema, final Table table, final ConnectionInfo connectionInfo) throws SQLException {
         final ArrayList<Index> indexes = new ArrayList<>();
         String indexNamePattern = table.getName() + ".X__";
-        File[] fileList = currentSchema.listFiles(new SecondaryIndexFilter(connectionInfo.getLocale(), indexNamePattern));
+        File[] fileList = DirectoryIndex.listFiles(currentSchema,
+                new SecondaryIndexFilter(connectionInfo.getLocale(), indexNamePattern), connectionInfo);
 
         if (fileList != null) {
             for (final File file : fileList) {
@@ -60,4 +82,275 @@ public final class IndexData extends AbstractParadoxData {
 
         return indexes;
     }
+
+    /**
+     * Finds the table blocks that may contain rows accepted by the conditions, using a secondary index range.
+     * <p>
+     * The index with a bound over its first field is navigated by its tree (.Ynn file) and the index entries found
+     * are tested against all conditions over the index fields. The table blocks are returned in block chain order.
+     *
+     * @param table      the table to read.
+     * @param conditions the conditions to test.
+     * @return the table block numbers or {@code null} if no index can be used.
+     * @throws SQLException in case of failures.
+     */
+    public static int[] findBlocks(final ParadoxTable table, final RawCondition[] conditions) throws SQLException {
+        if (conditions == null || conditions.length == 0) {
+            return null;
+        }
+
+        ParadoxIndex selected = null;
+        RawCondition lower = null;
+        RawCondition upper = null;
+        for (final Index index : table.getIndexes()) {
+            final String name = getFirstFieldName(table, index);
+            if (name == null) {
+                continue;
+            }
+
+            final RawCondition indexLower = PrimaryKeyData.findLowerBound(name, conditions);
+            final RawCondition indexUpper = PrimaryKeyData.findUpperBound(name, conditions);
+
+            // Prefer the indexes with equality conditions.
+            if ((indexLower != null || indexUpper != null) && (selected == null
+                    || (!isEquals(lower) && isEquals(indexLower)))) {
+                selected = (ParadoxIndex) index;
+                lower = indexLower;
+                upper = indexUpper;
+            }
+        }
+
+        if (selected == null) {
+            return null;
+        }
+
+        final int[] leaves = findLeafBlocks(selected, lower, upper);
+        if (leaves == null) {
+            return null;
+        }
+
+        final BitSet found = readEntries(selected, leaves, conditions);
+        try (final BlockReader reader = BlockReader.open(table.getFile(), table.getConnectionInfo())) {
+            final int[] chain = TableData.listBlocks(table, reader, TableData.version(table, reader));
+            return Arrays.stream(chain).filter(found::get).toArray();
+        } catch (final IOException e) {
+            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+        }
+    }
+
+    /**
+     * Finds the index blocks that may contain entries accepted by the conditions, navigating the index tree.
+     *
+     * @param index      the index to read.
+     * @param conditions the conditions to test.
+     * @return the index block numbers in key order or {@code null} to read all index blocks.
+     * @throws SQLException in case of failures.
+     */
+    static int[] findEntryBlocks(final ParadoxIndex index, final RawCondition[] conditions) throws SQLException {
+        if (conditions == null || index.getOrder() != OrderType.ASC) {
+            return null;
+        }
+
+        final String name = index.getRecordFields()[0].getName();
+        return findLeafBlocks(index, PrimaryKeyData.findLowerBound(name, conditions),
+                PrimaryKeyData.findUpperBound(name, conditions));
+    }
+
+    /**
+     * Finds the index blocks for a key range over the first index field.
+     *
+     * @param index the index to read.
+     * @param lower the lower bound condition, {@code null} if none.
+     * @param upper the upper bound condition, {@code null} if none.
+     * @return the index block numbers in key order or {@code null} if the index tree can not be used.
+     * @throws SQLException in case of failures.
+     */
+    private static int[] findLeafBlocks(final ParadoxIndex index, final RawCondition lower, final RawCondition upper)
+            throws SQLException {
+        if (lower == null && upper == null) {
+            return null;
+        }
+
+        final File treeFile = getTreeFile(index);
+        if (treeFile == null) {
+            return null;
+        }
+
+        final ParadoxDataFile tree = loadHeader(treeFile, index.getConnectionInfo());
+        return PrimaryKeyData.findLeafBlocks(tree, lower, upper);
+    }
+
+    /**
+     * Finds the smallest index storing all the fields.
+     *
+     * @param table  the index table.
+     * @param fields the fields to find.
+     * @return the index or {@code null} if there is no index with all fields.
+     */
+    public static ParadoxIndex findCoveringIndex(final ParadoxTable table, final Field[] fields) {
+        ParadoxIndex selected = null;
+        for (final Index index : table.getIndexes()) {
+            if (index instanceof ParadoxIndex && isUsable(table, (ParadoxIndex) index)) {
+                final ParadoxIndex paradoxIndex = (ParadoxIndex) index;
+                if (Arrays.stream(fields).allMatch(field -> contains(paradoxIndex, field))
+                        && (selected == null || paradoxIndex.getRecordSize() < selected.getRecordSize())) {
+                    selected = paradoxIndex;
+                }
+            }
+        }
+
+        return selected;
+    }
+
+    /**
+     * Checks if an index stores a table field.
+     *
+     * @param index the index to check.
+     * @param field the table field.
+     * @return {@code true} if the index stores this field.
+     */
+    private static boolean contains(final ParadoxIndex index, final Field field) {
+        return Arrays.stream(index.getRecordFields()).anyMatch(f -> f.getName().equalsIgnoreCase(field.getName()));
+    }
+
+    /**
+     * Checks if the index entries can be used instead of the table rows.
+     *
+     * @param table the index table.
+     * @param index the index to check.
+     * @return {@code true} if the index is up to date with the table.
+     */
+    public static boolean isUsable(final ParadoxTable table, final ParadoxIndex index) {
+        // Not maintained indexes may be out of date.
+        final byte type = index.getType();
+        final Field[] fields = index.getRecordFields();
+        return (type == MAINTAINED_INDEX || type == MAINTAINED_COMPOSITE_INDEX) && fields != null
+                && fields.length > 0 && index.getRowCount() == table.getRowCount();
+    }
+
+    /**
+     * Gets the first field name of an index usable in range scans.
+     *
+     * @param table the index table.
+     * @param index the index to check.
+     * @return the first field name or {@code null} if this index can not be used.
+     */
+    private static String getFirstFieldName(final ParadoxTable table, final Index index) {
+        if (!(index instanceof ParadoxIndex) || index.getOrder() != OrderType.ASC
+                || !isUsable(table, (ParadoxIndex) index)) {
+            return null;
+        }
+
+        return ((ParadoxIndex) index).getRecordFields()[0].getName();
+    }
+
+    /**
+     * Checks for equality conditions.
+     *
+     * @param condition the condition to check.
+     * @return {@code true} if this is an equality condition.
+     */
+    private static boolean isEquals(final RawCondition condition) {
+        return condition != null && condition.getOperator() == RawCondition.Operator.EQUALS;
+    }
+
+    /**
+     * Gets the index tree file (.Ynn file) of an index.
+     *
+     * @param index the index.
+     * @return the index tree file or {@code null} if not found.
+     */
+    private static File getTreeFile(final ParadoxIndex index) {
+        final File file = index.getFile();
+        final String name = file.getName();
+        final int dot = name.lastIndexOf('.');
+        if (dot == -1 || dot + 1 >= name.length()) {
+            return null;
+        }
+
+        final char type;
+        if (Character.isUpperCase(name.charAt(dot + 1))) {
+            type = 'Y';
+        } else {
+            type = 'y';
+        }
+
+        final File tree = new File(file.getParentFile(), name.substring(0, dot + 1) + type + name.substring(dot + 2));
+        if (tree.isFile()) {
+            return tree;
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads the index entries in the index blocks, keeping the table blocks of the entries accepted by the
+     * conditions.
+     *
+     * @param index      the index to read.
+     * @param leaves     the index blocks to read.
+     * @param conditions the conditions to test.
+     * @return the table blocks found.
+     * @throws SQLException in case of failures.
+     */
+    private static BitSet readEntries(final ParadoxIndex index, final int[] leaves, final RawCondition[] conditions)
+            throws SQLException {
+        final Field[] fields = index.getRecordFields();
+        final int[] offsets = new int[conditions.length];
+        Arrays.fill(offsets, -1);
+
+        int offset = 0;
+        for (final Field field : fields) {
+            for (int i = 0; i < conditions.length; i++) {
+                if (offsets[i] == -1 && conditions[i].getField().getName().equalsIgnoreCase(field.getName())) {
+                    offsets[i] = offset;
+                }
+            }
+
+            offset += field.getRealSize();
+        }
+
+        final int recordSize = index.getRecordSize();
+        final BitSet found = new BitSet();
+        try (final BlockReader reader = BlockReader.open(index.getFile(), index.getConnectionInfo())) {
+            final BlockCache.FileVersion version = TableData.version(index, reader);
+            final ByteBuffer buffer = ByteBuffer.allocate(index.getBlockSizeBytes());
+            for (final int leaf : leaves) {
+                final int rows = TableData.readBlock(index, reader, version, leaf, buffer);
+                buffer.order(ByteOrder.BIG_ENDIAN);
+
+                for (int row = 0; row < rows; row++) {
+                    final int position = 6 + row * recordSize;
+                    if (accept(buffer, position, conditions, offsets)) {
+                        // The table block number is the last field.
+                        found.set((buffer.getShort(position + recordSize - 2) ^ 0x8000) & 0xFFFF);
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+        }
+
+        return found;
+    }
+
+    /**
+     * Tests an index entry.
+     *
+     * @param buffer     the block buffer.
+     * @param position   the entry position.
+     * @param conditions the conditions to test.
+     * @param offsets    the condition field offsets in entry, -1 if the field is not in index.
+     * @return {@code true} if the entry is accepted.
+     */
+    private static boolean accept(final ByteBuffer buffer, final int position, final RawCondition[] conditions,
+                                  final int[] offsets) {
+        for (int i = 0; i < conditions.length; i++) {
+            if (offsets[i] != -1 && !conditions[i].test(buffer, position + offsets[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A block reader using memory mapped files. The mappings are shared by all connections and refreshed when the file
+ * length or modification time changes. Only the last {@link #MAX_MAPPED_FILES} files used are kept mapped, the others
+ * are released by the garbage collector when no reader uses them.
+ * <p>
+ * The file length is checked only when the reader is opened. Reading a mapped region of a file truncated after it
+ * fails with an {@link InternalError}, reported as an {@link IOException} when thrown in the read. For compiled code,
+ * the virtual machine may throw this error later, in the next call to the virtual machine.
+ *
+ * @since 1.6.3
+ */
+final class MappedBlockReader implements BlockReader {
+
+    /**
+     * The max number of files kept mapped.
+     */
+    static final int MAX_MAPPED_FILES = 64;
+
+    /**
+     * The mapped files by its canonical path, in access order.
+     */
+    private static final Map<String, MappedFile> MAPPED_FILES = new LinkedHashMap<String, MappedFile>(16, 0.75F,
+            true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, MappedFile> eldest) {
+            return size() > MAX_MAPPED_FILES;
+        }
+    };
+
+    /**
+     * The mapped file.
+     */
+    private final File file;
+
+    /**
+     * The file mapping view for this reader, {@code null} if closed.
+     */
+    private ByteBuffer mapping;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param file    the mapped file.
+     * @param mapping the file mapping.
+     */
+    private MappedBlockReader(final File file, final MappedByteBuffer mapping) {
+        this.file = file;
+        // Each reader needs its own position and limit.
+        this.mapping = mapping.duplicate();
+    }
+
+    /**
+     * Gets the number of files kept mapped.
+     *
+     * @return the number of files kept mapped.
+     */
+    static int getMappedFiles() {
+        synchronized (MAPPED_FILES) {
+            return MAPPED_FILES.size();
+        }
+    }
+
+    /**
+     * Opens a mapped reader.
+     *
+     * @param file the file to read.
+     * @return the mapped reader or {@code null} if this file can not be mapped.
+     * @throws IOException in case of failures.
+     */
+    static BlockReader open(final File file) throws IOException {
+        final long length = file.length();
+        if (length > Integer.MAX_VALUE) {
+            return null;
+        }
+
+        final long lastModified = file.lastModified();
+        final String key = file.getCanonicalPath();
+
+        MappedFile mappedFile;
+        synchronized (MAPPED_FILES) {
+            mappedFile = MAPPED_FILES.get(key);
+        }
+
+        if (mappedFile == null || mappedFile.length != length || mappedFile.lastModified != lastModified) {
+            try (final RandomAccessFile raf = new RandomAccessFile(file, "r");
+                 final FileChannel channel = raf.getChannel()) {
+                mappedFile = new MappedFile(length, lastModified,
+                        channel.map(FileChannel.MapMode.READ_ONLY, 0, length));
+            }
+
+            synchronized (MAPPED_FILES) {
+                MAPPED_FILES.put(key, mappedFile);
+            }
+        }
+
+        return new MappedBlockReader(file, mappedFile.buffer);
+    }
+
+    @Override
+    public int read(final long position, final ByteBuffer buffer) throws IOException {
+        if (position >= mapping.capacity()) {
+            return -1;
+        }
+
+        final int length = (int) Math.min(buffer.remaining(), mapping.capacity() - position);
+        ((Buffer) mapping).limit((int) position + length);
+        ((Buffer) mapping).position((int) position);
+        try {
+            buffer.put(mapping);
+        } catch (final InternalError e) {
+            // The file was truncated while mapped.
+            throw new IOException("File " + file.getName() + " truncated while mapped.", e);
+        }
+
+        return length;
+    }
+
+    @Override
+    public long size() {
+        return mapping.capacity();
+    }
+
+    @Override
+    public void close() {
+        // The mapping is shared and released by the garbage collector when not used anymore.
+        mapping = null;
+    }
+
+    /**
+     * A mapped file.
+     */
+    private static final class MappedFile {
+
+        /**
+         * File length when mapped.
+         */
+        private final long length;
+
+        /**
+         * File modification time when mapped.
+         */
+        private final long lastModified;
+
+        /**
+         * The mapped data.
+         */
+        private final MappedByteBuffer buffer;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param length       file length when mapped.
+         * @param lastModified file modification time when mapped.
+         * @param buffer       the mapped data.
+         */
+        private MappedFile(final long length, final long lastModified, final MappedByteBuffer buffer) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.ConnectionInfo;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Metadata cache file of a schema directory. It stores the raw header of the table, index and validation files, so a
+ * new connection only checks the file size and modification time instead of reading each file again.
+ * <p>
+ * The cache file is used only if {@link ConnectionInfo#METADATA_CACHE_KEY} is enabled. Failures reading or writing
+ * the cache file never break the connection: the file headers are read from the original files instead.
+ *
+ * @since 1.6.3
+ */
+public final class MetadataCache {
+
+    /**
+     * The cache file name.
+     */
+    public static final String FILE_NAME = ".paradox-metadata.cache";
+
+    /**
+     * Cache file signature.
+     */
+    private static final int MAGIC = 0x5044_4D43;
+
+    /**
+     * Cache file format version.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The minimum size of an entry in cache file: name length, file length, modification time and data length.
+     */
+    private static final int MIN_ENTRY_SIZE = 2 + 8 + 8 + 4;
+
+    /**
+     * The loaded caches by directory.
+     */
+    private static final Map<File, MetadataCache> INSTANCES = new ConcurrentHashMap<>();
+
+    /**
+     * The cache file.
+     */
+    private final File file;
+
+    /**
+     * The cached headers by file name.
+     */
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * If there are changes not saved.
+     */
+    private boolean changed;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param file the cache file.
+     */
+    private MetadataCache(final File file) {
+        this.file = file;
+    }
+
+    /**
+     * Gets the metadata cache of a file directory.
+     *
+     * @param file           the file to cache.
+     * @param connectionInfo the connection information.
+     * @return the metadata cache or {@code null} if the cache is disabled in this connection.
+     */
+    public static MetadataCache of(final File file, final ConnectionInfo connectionInfo) {
+        if (connectionInfo == null || !connectionInfo.isMetadataCache() || file.getParentFile() == null) {
+            return null;
+        }
+
+        return INSTANCES.computeIfAbsent(file.getAbsoluteFile().getParentFile(), directory -> {
+            final MetadataCache cache = new MetadataCache(new File(directory, FILE_NAME));
+            cache.load();
+            return cache;
+        });
+    }
+
+    /**
+     * Removes the loaded caches from memory. The cache files are loaded again in next use.
+     */
+    static void reset() {
+        INSTANCES.clear();
+    }
+
+    /**
+     * Gets a cached file header.
+     *
+     * @param source the original file.
+     * @return the cached header or {@code null} if not found or outdated.
+     */
+    public synchronized byte[] get(final File source) {
+        final Entry entry = entries.get(source.getName());
+        if (entry != null && entry.length == source.length() && entry.lastModified == source.lastModified()) {
+            return entry.data;
+        }
+
+        return null;
+    }
+
+    /**
+     * Stores a file header.
+     *
+     * @param source the original file.
+     * @param data   the file header. The data must not be changed after this call.
+     */
+    public synchronized void put(final File source, final byte[] data) {
+        entries.put(source.getName(), new Entry(source.length(), source.lastModified(), data));
+        changed = true;
+    }
+
+    /**
+     * Saves the cache file if there are changes.
+     *
+     * @param connectionInfo the connection information.
+     */
+    public synchronized void save(final ConnectionInfo connectionInfo) {
+        if (!changed) {
+            return;
+        }
+
+        // Removed files.
+        entries.keySet().removeIf(name -> !new File(file.getParentFile(), name).isFile());
+
+        // Each save uses its own temporary file, so concurrent saves never write in the same file.
+        final Path temp;
+        try {
+            temp = Files.createTempFile(file.getParentFile().toPath(), FILE_NAME, ".tmp");
+        } catch (final IOException e) {
+            connectionInfo.addWarning(e);
+            return;
+        }
+
+        try {
+            try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(entries.size());
+                for (final Map.Entry<String, Entry> item : entries.entrySet()) {
+                    out.writeUTF(item.getKey());
+                    out.writeLong(item.getValue().length);
+                    out.writeLong(item.getValue().lastModified);
+                    out.writeInt(item.getValue().data.length);
+                    out.write(item.getValue().data);
+                }
+            }
+
+            move(temp, file.toPath());
+            changed = false;
+        } catch (final IOException e) {
+            connectionInfo.addWarning(e);
+            try {
+                Files.deleteIfExists(temp);
+            } catch (@SuppressWarnings("java:S1166") final IOException e1) {
+                // Nothing to do.
+            }
+        }
+    }
+
+    /**
+     * Replaces the cache file, atomically if the file system allows.
+     *
+     * @param source the new cache file.
+     * @param target the cache file.
+     * @throws IOException in case of failures.
+     */
+    private static void move(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (@SuppressWarnings("java:S1166") final AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Loads the cache file. Invalid files are ignored.
+     */
+    private void load() {
+        if (!file.isFile() || file.length() > Integer.MAX_VALUE) {
+            return;
+        }
+
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(
+                Files.readAllBytes(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return;
+            }
+
+            final int count = readLength(in, MIN_ENTRY_SIZE);
+            for (int i = 0; i < count; i++) {
+                final String name = in.readUTF();
+                final long length = in.readLong();
+                final long lastModified = in.readLong();
+                final byte[] data = new byte[readLength(in, 1)];
+                in.readFully(data);
+                entries.put(name, new Entry(length, lastModified, data));
+            }
+        } catch (final IOException | RuntimeException e) {
+            // Damaged cache file, start again.
+            entries.clear();
+        }
+    }
+
+    /**
+     * Reads a length and checks it against the remaining data.
+     *
+     * @param in       the cache file data.
+     * @param itemSize the minimum size of each item.
+     * @return the length.
+     * @throws IOException if the length is invalid.
+     */
+    private static int readLength(final DataInputStream in, final int itemSize) throws IOException {
+        final int length = in.readInt();
+        if (length < 0 || length > in.available() / itemSize) {
+            throw new EOFException("Invalid length in metadata cache file: " + length);
+        }
+
+        return length;
+    }
+
+    /**
+     * A cached file header.
+     */
+    private static final class Entry {
+
+        /**
+         * The file length.
+         */
+        private final long length;
+
+        /**
+         * The file modification time.
+         */
+        private final long lastModified;
+
+        /**
+         * The file header.
+         */
+        private final byte[] data;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param length       the file length.
+         * @param lastModified the file modification time.
+         * @param data         the file header.
+         */
+        private Entry(final long length, final long lastModified, final byte[] data) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.data = data;
+        }
+    }
+}
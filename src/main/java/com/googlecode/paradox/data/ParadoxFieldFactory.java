@@ -64,9 +64,20 @@ public final class ParadoxFieldFactory {
      */
     public static Object parse(final ParadoxTable table, final ByteBuffer buffer, final Field field)
             throws SQLException {
+        return getParser(field).parse(table, buffer, field);
+    }
+
+    /**
+     * Gets the parser for a field.
+     *
+     * @param field the field.
+     * @return the field parser.
+     * @throws SQLException in case of unsupported field types.
+     */
+    public static FieldParser getParser(final Field field) throws SQLException {
         for (final FieldParser parser : ALL_PARSES) {
             if (parser.match(field.getType())) {
-                return parser.parse(table, buffer, field);
+                return parser;
             }
         }
 
@@ -12,12 +12,21 @@ package com.googlecode.paradox.data;
 
 import com.googlecode.paradox.ConnectionInfo;
 import com.googlecode.paradox.data.filefilters.PrimaryKeyFilter;
+import com.googlecode.paradox.exceptions.DataError;
+import com.googlecode.paradox.exceptions.ParadoxDataException;
+import com.googlecode.paradox.metadata.Index;
 import com.googlecode.paradox.metadata.Table;
+import com.googlecode.paradox.metadata.paradox.ParadoxDataFile;
 import com.googlecode.paradox.metadata.paradox.ParadoxPK;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.stream.IntStream;
 
 /**
  * Reads primary key data fields.
@@ -27,6 +36,16 @@ import java.util.Arrays;
  */
 public final class PrimaryKeyData extends AbstractParadoxData {
 
+    /**
+     * Index root block position in header.
+     */
+    private static final int INDEX_ROOT_POSITION = 0x1E;
+
+    /**
+     * Index levels position in header.
+     */
+    private static final int INDEX_LEVELS_POSITION = 0x20;
+
     /**
      * Utility class.
      */
@@ -47,7 +66,8 @@ public final class PrimaryKeyData extends AbstractParadoxData {
                                           final ConnectionInfo connectionInfo) throws SQLException {
         final String name = table.getName() + ".PX";
 
-        final File[] fileList = currentSchema.listFiles(new PrimaryKeyFilter(connectionInfo.getLocale(), name));
+        final File[] fileList = DirectoryIndex.listFiles(currentSchema,
+                new PrimaryKeyFilter(connectionInfo.getLocale(), name), connectionInfo);
         if ((fileList != null) && (fileList.length > 0)) {
             final ParadoxPK pk = loadHeader(fileList[0], connectionInfo);
             pk.setFields(Arrays.copyOf(table.getFields(), pk.getFieldCount()));
@@ -56,4 +76,156 @@ public final class PrimaryKeyData extends AbstractParadoxData {
 
         return null;
     }
+
+    /**
+     * Finds the table blocks that may contain rows accepted by the conditions, navigating the primary key tree.
+     * <p>
+     * Only the conditions over the first key field are used. The index entries keep the first key of each child
+     * block, so the blocks are found in key order and may contain rows outside the condition range.
+     *
+     * @param table      the table to read.
+     * @param conditions the conditions to test.
+     * @return the table block numbers or {@code null} if the index can not be used.
+     * @throws SQLException in case of failures.
+     */
+    public static int[] findBlocks(final ParadoxTable table, final RawCondition[] conditions) throws SQLException {
+        final Index index = table.getPrimaryKeyIndex();
+        if (!(index instanceof ParadoxPK) || conditions == null) {
+            return null;
+        }
+
+        final ParadoxPK pk = (ParadoxPK) index;
+        if (pk.getFields() == null || pk.getFields().length == 0) {
+            return null;
+        }
+
+        final String name = pk.getFields()[0].getName();
+        return findLeafBlocks(pk, findLowerBound(name, conditions), findUpperBound(name, conditions));
+    }
+
+    /**
+     * Finds the leaf pointers in an index tree (.PX or .Ynn file) for a key range over the first key field.
+     *
+     * @param tree  the index tree file.
+     * @param lower the lower bound condition, {@code null} if none.
+     * @param upper the upper bound condition, {@code null} if none.
+     * @return the leaf pointers in key order or {@code null} if there is no bounds or the tree is empty.
+     * @throws SQLException in case of failures.
+     */
+    static int[] findLeafBlocks(final ParadoxDataFile tree, final RawCondition lower, final RawCondition upper)
+            throws SQLException {
+        if (lower == null && upper == null) {
+            return null;
+        }
+
+        try (final BlockReader reader = BlockReader.open(tree.getFile(), tree.getConnectionInfo())) {
+            // Read the tree root again, the index metadata may be older than the file.
+            final ByteBuffer header = ByteBuffer.allocate(INDEX_LEVELS_POSITION - INDEX_ROOT_POSITION + 1);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            reader.read(INDEX_ROOT_POSITION, header);
+
+            final int root = header.getShort(0) & 0xFFFF;
+            final int levels = header.get(INDEX_LEVELS_POSITION - INDEX_ROOT_POSITION) & 0xFF;
+            if (root == 0 || levels == 0) {
+                return null;
+            }
+
+            final IntStream.Builder blocks = IntStream.builder();
+            final ByteBuffer buffer = ByteBuffer.allocate(tree.getBlockSizeBytes());
+            findBlocks(tree, reader, TableData.version(tree, reader), root, levels, lower, upper, buffer, blocks);
+            return blocks.build().toArray();
+        } catch (final IOException e) {
+            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+        }
+    }
+
+    /**
+     * Finds the first condition usable as a lower key bound.
+     *
+     * @param name       the key field name.
+     * @param conditions the conditions to search.
+     * @return the bound condition or {@code null} if not found.
+     */
+    static RawCondition findLowerBound(final String name, final RawCondition[] conditions) {
+        return findBound(name, conditions, RawCondition.Operator.GREATER_THAN,
+                RawCondition.Operator.GREATER_THAN_OR_EQUALS);
+    }
+
+    /**
+     * Finds the first condition usable as an upper key bound.
+     *
+     * @param name       the key field name.
+     * @param conditions the conditions to search.
+     * @return the bound condition or {@code null} if not found.
+     */
+    static RawCondition findUpperBound(final String name, final RawCondition[] conditions) {
+        return findBound(name, conditions, RawCondition.Operator.LESS_THAN,
+                RawCondition.Operator.LESS_THAN_OR_EQUALS);
+    }
+
+    /**
+     * Finds the first condition usable as a key bound.
+     *
+     * @param name       the key field name.
+     * @param conditions the conditions to search.
+     * @param operators  the bound operators (besides equals).
+     * @return the bound condition or {@code null} if not found.
+     */
+    private static RawCondition findBound(final String name, final RawCondition[] conditions,
+                                          final RawCondition.Operator... operators) {
+        return Arrays.stream(conditions)
+                .filter(condition -> condition.getField().getName().equalsIgnoreCase(name))
+                .filter(condition -> condition.getOperator() == RawCondition.Operator.EQUALS
+                        || Arrays.asList(operators).contains(condition.getOperator()))
+                .findFirst().orElse(null);
+    }
+
+    /**
+     * Finds the leaf pointers in an index block.
+     *
+     * @param tree        the index tree file.
+     * @param reader      the index tree file reader.
+     * @param version     the file version used in block cache.
+     * @param blockNumber the index block to read.
+     * @param level       the index level of this block (1 for the blocks pointing to leaf blocks).
+     * @param lower       the lower bound condition, {@code null} if none.
+     * @param upper       the upper bound condition, {@code null} if none.
+     * @param buffer      the block buffer.
+     * @param blocks      the leaf pointer list to fill.
+     * @throws SQLException in case of failures.
+     */
+    @SuppressWarnings("java:S107")
+    private static void findBlocks(final ParadoxDataFile tree, final BlockReader reader, final BlockCache.FileVersion version,
+                                   final int blockNumber, final int level, final RawCondition lower,
+                                   final RawCondition upper, final ByteBuffer buffer, final IntStream.Builder blocks)
+            throws SQLException {
+        final int rows = TableData.readBlock(tree, reader, version, blockNumber, buffer);
+        buffer.order(ByteOrder.BIG_ENDIAN);
+
+        final int recordSize = tree.getRecordSize();
+        final int[] children = new int[rows];
+        int start = 0;
+        int end = rows - 1;
+        for (int i = 0; i < rows; i++) {
+            final int position = 6 + i * recordSize;
+            children[i] = (buffer.getShort(position + recordSize - 6) ^ 0x8000) & 0xFFFF;
+
+            // Starts in the last child with a lower first key: in composite keys, it may end with the bound value.
+            if (lower != null && lower.compare(buffer, position) < 0) {
+                start = i;
+            }
+
+            if (upper != null && end == rows - 1 && upper.compare(buffer, position) > 0) {
+                end = i;
+            }
+        }
+
+        for (int i = start; i <= end; i++) {
+            if (level > 1) {
+                findBlocks(tree, reader, version, children[i], level - 1, lower, upper, buffer, blocks);
+            } else {
+                blocks.add(children[i]);
+            }
+        }
+    }
 }
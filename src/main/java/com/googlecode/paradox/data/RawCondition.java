@@ -0,0 +1,450 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.data.field.DateField;
+import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.results.ParadoxType;
+import com.googlecode.paradox.rowset.ValuesConverter;
+import com.googlecode.paradox.utils.DateUtils;
+
+import java.nio.ByteBuffer;
+import java.sql.Date;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+/**
+ * A field condition tested against the raw row bytes, before the row is decoded.
+ * <p>
+ * Only the field types with order preserving storage are supported. The literal value is converted once using the
+ * same rules of {@link com.googlecode.paradox.rowset.ValuesComparator}, so this condition never rejects a row accepted
+ * by the original SQL condition.
+ *
+ * @since 1.6.3
+ */
+public final class RawCondition {
+
+    /**
+     * Epsilon to use in double comparing (the same of the values comparator).
+     */
+    private static final double EPSILON = Double.MIN_VALUE * 8;
+
+    /**
+     * Raw date values mask.
+     */
+    private static final int DATE_MASK = 0x0FFF_FFFF;
+
+    /**
+     * The condition operators.
+     */
+    public enum Operator {
+        /**
+         * Field equals to value.
+         */
+        EQUALS,
+
+        /**
+         * Field greater than value.
+         */
+        GREATER_THAN,
+
+        /**
+         * Field greater than or equals to value.
+         */
+        GREATER_THAN_OR_EQUALS,
+
+        /**
+         * Field less than value.
+         */
+        LESS_THAN,
+
+        /**
+         * Field less than or equals to value.
+         */
+        LESS_THAN_OR_EQUALS,
+
+        /**
+         * Field is null.
+         */
+        IS_NULL,
+
+        /**
+         * Field is not null.
+         */
+        IS_NOT_NULL;
+
+        /**
+         * Gets the operator with field and value switched.
+         *
+         * @return the operator with field and value switched.
+         */
+        public Operator reverse() {
+            switch (this) {
+                case GREATER_THAN:
+                    return LESS_THAN;
+                case GREATER_THAN_OR_EQUALS:
+                    return LESS_THAN_OR_EQUALS;
+                case LESS_THAN:
+                    return GREATER_THAN;
+                case LESS_THAN_OR_EQUALS:
+                    return GREATER_THAN_OR_EQUALS;
+                default:
+                    return this;
+            }
+        }
+    }
+
+    /**
+     * The field to test.
+     */
+    private final Field field;
+
+    /**
+     * The field type.
+     */
+    private final ParadoxType type;
+
+    /**
+     * The condition operator.
+     */
+    private final Operator operator;
+
+    /**
+     * The value to compare with in integer types.
+     */
+    private final long longValue;
+
+    /**
+     * The value to compare with in floating point types.
+     */
+    private final double doubleValue;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param field       the field to test.
+     * @param operator    the condition operator.
+     * @param longValue   the value to compare with in integer types.
+     * @param doubleValue the value to compare with in floating point types.
+     */
+    private RawCondition(final Field field, final Operator operator, final long longValue, final double doubleValue) {
+        this.field = field;
+        this.type = field.getType();
+        this.operator = operator;
+        this.longValue = longValue;
+        this.doubleValue = doubleValue;
+    }
+
+    /**
+     * Creates a new null check condition.
+     *
+     * @param field    the field to test.
+     * @param operator {@link Operator#IS_NULL} or {@link Operator#IS_NOT_NULL}.
+     * @return the condition or {@code null} if this field type is not supported.
+     */
+    public static RawCondition of(final Field field, final Operator operator) {
+        if (!isSupported(field)) {
+            return null;
+        }
+
+        return new RawCondition(field, operator, 0, 0);
+    }
+
+    /**
+     * Creates a new comparison condition.
+     *
+     * @param field          the field to test.
+     * @param operator       the condition operator.
+     * @param value          the value to compare with.
+     * @param connectionInfo the connection information.
+     * @return the condition or {@code null} if this field type or value is not supported.
+     */
+    public static RawCondition of(final Field field, final Operator operator, final Object value,
+                                  final ConnectionInfo connectionInfo) {
+        if (!isSupported(field) || value == null) {
+            return null;
+        }
+
+        switch (field.getType()) {
+            case INTEGER:
+            case AUTO_INCREMENT:
+                // The values comparator use integer values in this cases.
+                if (value instanceof String || value instanceof Integer || value instanceof Long
+                        || value instanceof Short) {
+                    final Integer converted = ValuesConverter.getInteger(value, connectionInfo);
+                    if (converted != null) {
+                        return new RawCondition(field, operator, converted, 0);
+                    }
+                }
+                break;
+            case LONG:
+                if (value instanceof String || value instanceof Long) {
+                    final Long converted = ValuesConverter.getLong(value, connectionInfo);
+                    if (converted != null) {
+                        return new RawCondition(field, operator, converted, 0);
+                    }
+                }
+                break;
+            case NUMBER:
+                if (value instanceof String || value instanceof Number) {
+                    final Double converted = ValuesConverter.getDouble(value, connectionInfo);
+                    if (converted != null) {
+                        return new RawCondition(field, operator, 0, converted);
+                    }
+                }
+                break;
+            case DATE:
+                if (value instanceof String || value instanceof Date) {
+                    final long days = toDays(ValuesConverter.getDate(value, connectionInfo), connectionInfo);
+                    if (days > 0) {
+                        return new RawCondition(field, operator, days, 0);
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+
+        return null;
+    }
+
+    /**
+     * Checks for supported field types.
+     *
+     * @param field the field to check.
+     * @return {@code true} if this field can be tested in raw format.
+     */
+    private static boolean isSupported(final Field field) {
+        switch (field.getType()) {
+            case INTEGER:
+            case AUTO_INCREMENT:
+            case LONG:
+            case NUMBER:
+            case DATE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Converts a date to the stored day count.
+     *
+     * @param date           the date to convert.
+     * @param connectionInfo the connection information.
+     * @return the stored day count or zero if the date can not be represented exactly.
+     */
+    private static long toDays(final Date date, final ConnectionInfo connectionInfo) {
+        if (date == null) {
+            return 0;
+        }
+
+        final Calendar calendar = Calendar.getInstance();
+        calendar.setTime(date);
+        if (calendar.get(Calendar.ERA) != GregorianCalendar.AD) {
+            return 0;
+        }
+
+        final long days = DateUtils.gregorianToSdn(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1L,
+                calendar.get(Calendar.DAY_OF_MONTH), connectionInfo) - DateField.DAYS_OFFSET;
+
+        // Only use the raw value if it is the same date read from the table.
+        if (days <= 0 || days > DATE_MASK || !date.equals(DateUtils.sdnToGregorian(days + DateField.DAYS_OFFSET))) {
+            return 0;
+        }
+
+        return days;
+    }
+
+    /**
+     * Gets the field to test.
+     *
+     * @return the field to test.
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Tests the field value in a row.
+     *
+     * @param buffer the row buffer in big endian order.
+     * @param offset the field position in buffer.
+     * @return {@code true} if the row may be accepted by the SQL condition.
+     */
+    public boolean test(final ByteBuffer buffer, final int offset) {
+        switch (type) {
+            case NUMBER:
+                return test(readDouble(buffer, offset));
+            case INTEGER: {
+                final int value = (short) (buffer.getShort(offset) ^ 0x8000);
+                return test(value == Short.MIN_VALUE, value);
+            }
+            case AUTO_INCREMENT:
+                return test(false, buffer.getInt(offset) & DATE_MASK);
+            case LONG: {
+                final int value = buffer.getInt(offset) ^ 0x8000_0000;
+                return test(value == Integer.MIN_VALUE, value);
+            }
+            default: {
+                final int value = buffer.getInt(offset) & DATE_MASK;
+                return test(value == 0, value);
+            }
+        }
+    }
+
+    /**
+     * Gets the condition operator.
+     *
+     * @return the condition operator.
+     */
+    public Operator getOperator() {
+        return operator;
+    }
+
+    /**
+     * Compares a stored field value with the condition value. Null values are lower than any value, like in the
+     * physical key order.
+     *
+     * @param buffer the buffer in big endian order.
+     * @param offset the field position in buffer.
+     * @return a negative number, zero or a positive number if the stored value is lower, equals or greater than the
+     * condition value.
+     */
+    public int compare(final ByteBuffer buffer, final int offset) {
+        switch (type) {
+            case NUMBER: {
+                final double value = readDouble(buffer, offset);
+                if (Double.isNaN(value)) {
+                    return -1;
+                } else if (Math.abs(value - doubleValue) < EPSILON) {
+                    return 0;
+                }
+
+                return Double.compare(value, doubleValue);
+            }
+            case INTEGER: {
+                final int value = (short) (buffer.getShort(offset) ^ 0x8000);
+                return compare(value == Short.MIN_VALUE, value);
+            }
+            case AUTO_INCREMENT:
+                return compare(false, buffer.getInt(offset) & DATE_MASK);
+            case LONG: {
+                final int value = buffer.getInt(offset) ^ 0x8000_0000;
+                return compare(value == Integer.MIN_VALUE, value);
+            }
+            default: {
+                final int value = buffer.getInt(offset) & DATE_MASK;
+                return compare(value == 0, value);
+            }
+        }
+    }
+
+    /**
+     * Compares an integer value with the condition value.
+     *
+     * @param isNull if the value is null.
+     * @param value  the value to compare.
+     * @return the comparison result.
+     */
+    private int compare(final boolean isNull, final long value) {
+        if (isNull) {
+            return -1;
+        }
+
+        return Long.compare(value, longValue);
+    }
+
+    /**
+     * Tests an integer value.
+     *
+     * @param isNull if the value is null.
+     * @param value  the value to test.
+     * @return the condition result.
+     */
+    private boolean test(final boolean isNull, final long value) {
+        if (operator == Operator.IS_NULL) {
+            return isNull;
+        } else if (operator == Operator.IS_NOT_NULL) {
+            return !isNull;
+        } else if (isNull) {
+            return false;
+        }
+
+        return matches(Long.compare(value, longValue));
+    }
+
+    /**
+     * Tests a floating point value.
+     *
+     * @param value the value to test, {@code NaN} if null.
+     * @return the condition result.
+     */
+    private boolean test(final double value) {
+        final boolean isNull = Double.isNaN(value);
+        if (operator == Operator.IS_NULL) {
+            return isNull;
+        } else if (operator == Operator.IS_NOT_NULL) {
+            return !isNull;
+        } else if (isNull) {
+            return false;
+        } else if (operator == Operator.EQUALS) {
+            return Math.abs(value - doubleValue) < EPSILON;
+        }
+
+        return matches(Double.compare(value, doubleValue));
+    }
+
+    /**
+     * Checks the comparison result against the operator.
+     *
+     * @param result the comparison result.
+     * @return the condition result.
+     */
+    private boolean matches(final int result) {
+        switch (operator) {
+            case EQUALS:
+                return result == 0;
+            case GREATER_THAN:
+                return result > 0;
+            case GREATER_THAN_OR_EQUALS:
+                return result >= 0;
+            case LESS_THAN:
+                return result < 0;
+            default:
+                return result <= 0;
+        }
+    }
+
+    /**
+     * Reads a number field value.
+     *
+     * @param buffer the row buffer.
+     * @param offset the field position in buffer.
+     * @return the number value ({@code NaN} if null).
+     */
+    private static double readDouble(final ByteBuffer buffer, final int offset) {
+        long value = buffer.getLong(offset);
+        if ((value & 0x8000_0000_0000_0000L) != 0) {
+            value &= 0x7FFF_FFFF_FFFF_FFFFL;
+        } else {
+            value = ~value;
+        }
+
+        return Double.longBitsToDouble(value);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s", field.getName(), operator);
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.data.field.AbstractLobField;
+import com.googlecode.paradox.data.field.VarcharField;
+import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.metadata.paradox.ParadoxDataFile;
+import com.googlecode.paradox.metadata.paradox.ParadoxIndex;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Row decoder compiled for a table and a projected field list. The field offsets and parsers are resolved once, so
+ * reading a row only touches the projected fields.
+ *
+ * @since 1.6.3
+ */
+public final class RowDecoder {
+
+    /**
+     * The table to read.
+     */
+    private final ParadoxTable table;
+
+    /**
+     * The data file to read: the table or one of its indexes.
+     */
+    private final ParadoxDataFile dataFile;
+
+    /**
+     * The table fields by projected index.
+     */
+    private final Field[] fields;
+
+    /**
+     * The field offset in row by projected index.
+     */
+    private final int[] offsets;
+
+    /**
+     * The field parser by projected index.
+     */
+    private final FieldParser[] parsers;
+
+    /**
+     * The row size in bytes.
+     */
+    private final int rowSize;
+
+    /**
+     * The projected indexes decoded before filtering.
+     */
+    private final int[] filterColumns;
+
+    /**
+     * The projected indexes decoded only in accepted rows.
+     */
+    private final int[] otherColumns;
+
+    /**
+     * The row filter, {@code null} if all rows are accepted.
+     */
+    private final Predicate<Object[]> filter;
+
+    /**
+     * The conditions tested before decoding the row.
+     */
+    private final RawCondition[] conditions;
+
+    /**
+     * The field offset in row by condition.
+     */
+    private final int[] conditionOffsets;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param table     the table to read.
+     * @param projected the fields to read.
+     * @throws SQLException in case of unsupported field types.
+     */
+    public RowDecoder(final ParadoxTable table, final Field[] projected) throws SQLException {
+        this(table, projected, null, null, null);
+    }
+
+    /**
+     * Creates a new instance with a row filter. The filter receives the rows with only {@code filterFields} values
+     * decoded.
+     *
+     * @param table        the table to read.
+     * @param projected    the fields to read.
+     * @param filterFields the fields used by the filter.
+     * @param filter       the row filter, or {@code null} to accept all rows.
+     * @param conditions   the conditions to test before decoding the row, or {@code null} if none.
+     * @throws SQLException in case of unsupported field types.
+     */
+    public RowDecoder(final ParadoxTable table, final Field[] projected, final Field[] filterFields,
+                      final Predicate<Object[]> filter, final RawCondition[] conditions) throws SQLException {
+        this(table, null, projected, filterFields, filter, conditions);
+    }
+
+    /**
+     * Creates a new instance reading the index entries instead of the table rows. The index must store all the
+     * projected and filter fields.
+     *
+     * @param table        the table to read.
+     * @param index        the index to read, or {@code null} to read the table rows.
+     * @param projected    the fields to read.
+     * @param filterFields the fields used by the filter.
+     * @param filter       the row filter, or {@code null} to accept all rows.
+     * @param conditions   the conditions to test before decoding the row, or {@code null} if none.
+     * @throws SQLException in case of unsupported field types.
+     */
+    public RowDecoder(final ParadoxTable table, final ParadoxIndex index, final Field[] projected,
+                      final Field[] filterFields, final Predicate<Object[]> filter, final RawCondition[] conditions)
+            throws SQLException {
+        this.table = table;
+        this.filter = filter;
+        this.fields = new Field[projected.length];
+        this.offsets = new int[projected.length];
+        this.parsers = new FieldParser[projected.length];
+
+        final RawCondition[] rawConditions = Optional.ofNullable(conditions).orElse(new RawCondition[0]);
+        final int[] rawOffsets = new int[rawConditions.length];
+        Arrays.fill(rawOffsets, -1);
+
+        final Field[] layout;
+        if (index != null) {
+            this.dataFile = index;
+            layout = toTableFields(table, index.getRecordFields());
+        } else {
+            this.dataFile = table;
+            layout = table.getFields();
+        }
+
+        int offset = 0;
+        for (final Field field : layout) {
+            final int projectedIndex = search(projected, field);
+            if (projectedIndex != -1) {
+                this.fields[projectedIndex] = field;
+                this.offsets[projectedIndex] = offset;
+                this.parsers[projectedIndex] = ParadoxFieldFactory.getParser(field);
+            }
+
+            for (int i = 0; i < rawConditions.length; i++) {
+                if (Objects.equals(rawConditions[i].getField(), field)) {
+                    rawOffsets[i] = offset;
+                }
+            }
+
+            offset += field.getRealSize();
+        }
+
+        this.rowSize = offset;
+
+        // Conditions of fields not in this table are ignored.
+        final int[] valid = IntStream.range(0, rawConditions.length).filter(i -> rawOffsets[i] != -1).toArray();
+        this.conditions = Arrays.stream(valid).mapToObj(i -> rawConditions[i]).toArray(RawCondition[]::new);
+        this.conditionOffsets = Arrays.stream(valid).map(i -> rawOffsets[i]).toArray();
+
+        final int[] first = new int[projected.length];
+        final int[] last = new int[projected.length];
+        int firstCount = 0;
+        int lastCount = 0;
+        for (int i = 0; i < projected.length; i++) {
+            if (parsers[i] == null) {
+                continue;
+            }
+
+            if (filter != null && filterFields != null && search(filterFields, fields[i]) != -1) {
+                first[firstCount++] = i;
+            } else {
+                last[lastCount++] = i;
+            }
+        }
+
+        this.filterColumns = Arrays.copyOf(first, firstCount);
+        this.otherColumns = Arrays.copyOf(last, lastCount);
+    }
+
+    /**
+     * Maps the index fields to the table fields with the same name. The fields not found in table are kept.
+     *
+     * @param table  the index table.
+     * @param fields the index fields.
+     * @return the index fields as table fields.
+     */
+    private static Field[] toTableFields(final ParadoxTable table, final Field[] fields) {
+        return Arrays.stream(fields)
+                .map(field -> Arrays.stream(table.getFields())
+                        .filter(f -> f.getName().equalsIgnoreCase(field.getName()))
+                        .findFirst().orElse(field))
+                .toArray(Field[]::new);
+    }
+
+    private static int search(final Field[] values, final Object find) {
+        for (int i = 0; i < values.length; i++) {
+            if (Objects.equals(values[i], find)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Creates the string dictionaries for a new scan. Each scan thread must use its own dictionaries.
+     *
+     * @return the string dictionaries by projected index, or {@code null} if they are disabled.
+     */
+    public StringDictionary[] createDictionaries() {
+        final int size = Optional.ofNullable(table.getConnectionInfo())
+                .map(ConnectionInfo::getStringDictionarySize).orElse(0);
+        if (size <= 0) {
+            return null;
+        }
+
+        final StringDictionary[] dictionaries = new StringDictionary[parsers.length];
+        for (int i = 0; i < parsers.length; i++) {
+            if (parsers[i] instanceof VarcharField) {
+                dictionaries[i] = new StringDictionary(size);
+            }
+        }
+
+        return dictionaries;
+    }
+
+    /**
+     * Creates the blob file reader for a new scan. Each scan thread must use its own reader.
+     *
+     * @return the blob file reader, or {@code null} if there is no LOB field to decode.
+     */
+    public BlobFileReader createBlobReader() {
+        for (final FieldParser parser : parsers) {
+            if (parser instanceof AbstractLobField) {
+                return new BlobFileReader(table);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Read an entire row. The buffer is positioned in the next row after the read.
+     *
+     * @param buffer the buffer to read of.
+     * @return the row or {@code null} if the row is not accepted by the filter.
+     * @throws SQLException in case of parse errors.
+     */
+    public Object[] decode(final ByteBuffer buffer) throws SQLException {
+        return decode(buffer, null);
+    }
+
+    /**
+     * Read an entire row. The buffer is positioned in the next row after the read.
+     * <p>
+     * The raw conditions are tested first, without decoding any field. If there is a filter, the filter fields are
+     * decoded next and the other ones only if the row is accepted.
+     *
+     * @param buffer       the buffer to read of.
+     * @param dictionaries the string dictionaries of this scan, or {@code null} to not use them.
+     * @return the row or {@code null} if the row is not accepted by the filter.
+     * @throws SQLException in case of parse errors.
+     */
+    public Object[] decode(final ByteBuffer buffer, final StringDictionary[] dictionaries) throws SQLException {
+        return decode(buffer, dictionaries, null);
+    }
+
+    /**
+     * Read an entire row using the scan resources. The buffer is positioned in the next row after the read.
+     *
+     * @param buffer       the buffer to read of.
+     * @param dictionaries the string dictionaries of this scan, or {@code null} to not use them.
+     * @param blobs        the blob file reader of this scan, or {@code null} to open the blob file for each value.
+     * @return the row or {@code null} if the row is not accepted by the filter.
+     * @throws SQLException in case of parse errors.
+     * @see #decode(ByteBuffer, StringDictionary[])
+     */
+    public Object[] decode(final ByteBuffer buffer, final StringDictionary[] dictionaries, final BlobFileReader blobs)
+            throws SQLException {
+        final int start = buffer.position();
+        for (int i = 0; i < conditions.length; i++) {
+            if (!conditions[i].test(buffer, start + conditionOffsets[i])) {
+                buffer.position(start + rowSize);
+                return null;
+            }
+        }
+
+        final Object[] row = new Object[parsers.length];
+
+        if (filter != null) {
+            decode(buffer, start, row, filterColumns, dictionaries, blobs);
+            if (!filter.test(row)) {
+                buffer.position(start + rowSize);
+                return null;
+            }
+        }
+
+        decode(buffer, start, row, otherColumns, dictionaries, blobs);
+        buffer.position(start + rowSize);
+        return row;
+    }
+
+    /**
+     * Decodes some fields of a row.
+     *
+     * @param buffer       the buffer to read of.
+     * @param start        the row start position.
+     * @param row          the row to fill in.
+     * @param columns      the projected indexes to decode.
+     * @param dictionaries the string dictionaries of this scan, or {@code null} to not use them.
+     * @param blobs        the blob file reader of this scan, or {@code null} to open the blob file for each value.
+     * @throws SQLException in case of parse errors.
+     */
+    private void decode(final ByteBuffer buffer, final int start, final Object[] row, final int[] columns,
+                        final StringDictionary[] dictionaries, final BlobFileReader blobs) throws SQLException {
+        for (final int i : columns) {
+            buffer.position(start + offsets[i]);
+            if (dictionaries != null && dictionaries[i] != null) {
+                row[i] = ((VarcharField) parsers[i]).parse(table, buffer, fields[i], dictionaries[i]);
+            } else if (blobs != null && parsers[i] instanceof AbstractLobField) {
+                row[i] = ((AbstractLobField) parsers[i]).parse(table, buffer, fields[i], blobs);
+            } else {
+                row[i] = parsers[i].parse(table, buffer, fields[i]);
+            }
+        }
+    }
+
+    /**
+     * Gets the table to read.
+     *
+     * @return the table to read.
+     */
+    public ParadoxTable getTable() {
+        return table;
+    }
+
+    /**
+     * Gets the data file to read.
+     *
+     * @return the data file to read.
+     */
+    public ParadoxDataFile getDataFile() {
+        return dataFile;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.data.charset.CharsetUtil;
+import com.googlecode.paradox.metadata.paradox.ParadoxDataFile;
+
+/**
+ * Per scan string dictionary of a text column. Repeated raw values are decoded only once and return the same
+ * {@link String} instance, so low cardinality columns keep only one copy of each value.
+ * <p>
+ * The dictionary is bounded: when a column has more distinct values than the dictionary size, it is disabled and the
+ * values are decoded again in each row. This class is not thread safe, each scan thread uses its own instance.
+ *
+ * @since 1.6.3
+ */
+public final class StringDictionary {
+
+    /**
+     * The max distinct values stored.
+     */
+    private final int maxSize;
+
+    /**
+     * The raw values by hash slot.
+     */
+    private byte[][] keys;
+
+    /**
+     * The decoded values by hash slot.
+     */
+    private String[] values;
+
+    /**
+     * The raw value hashes by hash slot.
+     */
+    private int[] hashes;
+
+    /**
+     * The stored values count.
+     */
+    private int size;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxSize the max distinct values stored.
+     */
+    public StringDictionary(final int maxSize) {
+        this.maxSize = maxSize;
+
+        // Keep the load factor below 50%.
+        final int capacity = Integer.highestOneBit(Math.max(maxSize, 1)) << 2;
+        this.keys = new byte[capacity][];
+        this.values = new String[capacity];
+        this.hashes = new int[capacity];
+    }
+
+    /**
+     * Decodes a raw value, reusing the value already decoded if any.
+     *
+     * @param data   the data with the charset to use.
+     * @param array  the array with the raw value.
+     * @param offset the value position in array.
+     * @param length the value length in bytes.
+     * @return the decoded value.
+     */
+    public String decode(final ParadoxDataFile data, final byte[] array, final int offset, final int length) {
+        if (keys == null) {
+            return CharsetUtil.translate(data, array, offset, length);
+        }
+
+        final int hash = hash(array, offset, length);
+        final int mask = keys.length - 1;
+        int slot = hash & mask;
+        while (keys[slot] != null) {
+            if (hashes[slot] == hash && matches(keys[slot], array, offset, length)) {
+                return values[slot];
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        final String value = CharsetUtil.translate(data, array, offset, length);
+        if (size < maxSize) {
+            final byte[] key = new byte[length];
+            System.arraycopy(array, offset, key, 0, length);
+            keys[slot] = key;
+            values[slot] = value;
+            hashes[slot] = hash;
+            size++;
+        } else {
+            // Too many distinct values in this column.
+            disable();
+        }
+
+        return value;
+    }
+
+    /**
+     * Disables this dictionary and releases the stored values.
+     */
+    private void disable() {
+        keys = null;
+        values = null;
+        hashes = null;
+    }
+
+    /**
+     * Checks if this dictionary is still in use.
+     *
+     * @return {@code true} if this dictionary is still in use.
+     */
+    public boolean isEnabled() {
+        return keys != null;
+    }
+
+    /**
+     * Gets the stored values count.
+     *
+     * @return the stored values count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Calculates the hash of a raw value.
+     *
+     * @param array  the array with the raw value.
+     * @param offset the value position in array.
+     * @param length the value length in bytes.
+     * @return the raw value hash.
+     */
+    private static int hash(final byte[] array, final int offset, final int length) {
+        int hash = 1;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + array[i];
+        }
+
+        // Spread the high bits to the lower ones used in slots.
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Compares a stored raw value with a value in array.
+     *
+     * @param key    the stored raw value.
+     * @param array  the array with the raw value.
+     * @param offset the value position in array.
+     * @param length the value length in bytes.
+     * @return {@code true} if the values are equals.
+     */
+    private static boolean matches(final byte[] key, final byte[] array, final int offset, final int length) {
+        if (key.length != length) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (key[i] != array[offset + i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
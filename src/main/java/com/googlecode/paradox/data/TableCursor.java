@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.exceptions.DataError;
+import com.googlecode.paradox.exceptions.InternalException;
+import com.googlecode.paradox.exceptions.ParadoxDataException;
+import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.metadata.paradox.ParadoxDataFile;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Pull based table row reader. Only one block is kept in memory at a time.
+ * <p>
+ * The file is closed when the last row is read or when {@link #close()} is called.
+ *
+ * @since 1.6.3
+ */
+public final class TableCursor implements Iterator<Object[]>, AutoCloseable {
+
+    /**
+     * The data file to read.
+     */
+    private final ParadoxDataFile dataFile;
+
+    /**
+     * The row decoder.
+     */
+    private final RowDecoder decoder;
+
+    /**
+     * The current block buffer.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The string dictionaries of this scan.
+     */
+    private final StringDictionary[] dictionaries;
+
+    /**
+     * The blob file reader of this scan.
+     */
+    private final BlobFileReader blobs;
+
+    /**
+     * The table file reader.
+     */
+    private BlockReader reader;
+
+    /**
+     * The file version used in block cache.
+     */
+    private BlockCache.FileVersion version;
+
+    /**
+     * The blocks to read, {@code null} to follow the table block chain.
+     */
+    private final int[] blocks;
+
+    /**
+     * The next block index in block list.
+     */
+    private int blockIndex;
+
+    /**
+     * The next block to read, zero if there is no more blocks.
+     */
+    private long nextBlock;
+
+    /**
+     * Rows not read yet in current block.
+     */
+    private int remainingRows;
+
+    /**
+     * The next row to return, already decoded.
+     */
+    private Object[] current;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param table  the table to read.
+     * @param fields the fields to read.
+     * @throws SQLException in case of failures.
+     */
+    public TableCursor(final ParadoxTable table, final Field[] fields) throws SQLException {
+        this(new RowDecoder(table, fields));
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param decoder the row decoder to use.
+     * @throws SQLException in case of failures.
+     */
+    public TableCursor(final RowDecoder decoder) throws SQLException {
+        this(decoder, null);
+    }
+
+    /**
+     * Creates a new instance reading only some blocks.
+     *
+     * @param decoder the row decoder to use.
+     * @param blocks  the block numbers to read, or {@code null} to follow the table block chain.
+     * @throws SQLException in case of failures.
+     */
+    public TableCursor(final RowDecoder decoder, final int[] blocks) throws SQLException {
+        final ParadoxDataFile dataFile = decoder.getDataFile();
+        this.dataFile = dataFile;
+        this.decoder = decoder;
+        this.blocks = blocks;
+        this.buffer = ByteBuffer.allocate(dataFile.getBlockSizeBytes());
+        this.dictionaries = decoder.createDictionaries();
+        this.blobs = decoder.createBlobReader();
+
+        if (dataFile.getUsedBlocks() != 0) {
+            try {
+                this.reader = BlockReader.open(dataFile.getFile(), dataFile.getConnectionInfo());
+                this.version = TableData.version(dataFile, reader);
+                if (blocks == null && version != null) {
+                    // A full scan must not evict the whole block cache.
+                    this.version = version.forScan();
+                }
+
+                this.nextBlock = dataFile.getFirstBlock();
+                if (blocks != null) {
+                    this.nextBlock = nextListedBlock();
+                }
+            } catch (final SQLException e) {
+                close();
+                throw e;
+            } catch (final IOException e) {
+                close();
+                throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+            }
+        }
+    }
+
+    /**
+     * Reads the next block in block chain.
+     *
+     * @throws SQLException in case of failures.
+     */
+    private void readBlock() throws SQLException {
+        try {
+            remainingRows = TableData.readBlock(dataFile, reader, version, nextBlock, buffer);
+        } catch (final SQLException e) {
+            close();
+            throw e;
+        }
+
+        if (blocks == null) {
+            nextBlock = buffer.getShort(0) & 0xFFFF;
+        } else {
+            nextBlock = nextListedBlock();
+        }
+
+        buffer.order(ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Gets the next block in block list.
+     *
+     * @return the next block number or zero if there is no more blocks.
+     */
+    private long nextListedBlock() {
+        if (blockIndex < blocks.length) {
+            return blocks[blockIndex++];
+        }
+
+        return 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (current == null) {
+                if (remainingRows <= 0) {
+                    if (nextBlock == 0) {
+                        close();
+                        return false;
+                    }
+
+                    readBlock();
+                } else {
+                    remainingRows--;
+                    current = decoder.decode(buffer, dictionaries, blobs);
+                }
+            }
+        } catch (final SQLException e) {
+            close();
+            throw new InternalException(e);
+        }
+
+        return true;
+    }
+
+    @Override
+    public Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final Object[] row = current;
+        current = null;
+        return row;
+    }
+
+    /**
+     * Close the table and blob files.
+     */
+    @Override
+    public void close() {
+        nextBlock = 0;
+        remainingRows = 0;
+
+        if (reader != null) {
+            reader.close();
+            reader = null;
+        }
+
+        if (blobs != null) {
+            blobs.close();
+        }
+    }
+}
@@ -13,18 +13,18 @@ package com.googlecode.paradox.data;
 import com.googlecode.paradox.ConnectionInfo;
 import com.googlecode.paradox.data.filefilters.TableFilter;
 import com.googlecode.paradox.exceptions.DataError;
+import com.googlecode.paradox.exceptions.InternalException;
 import com.googlecode.paradox.exceptions.ParadoxDataException;
 import com.googlecode.paradox.metadata.Field;
 import com.googlecode.paradox.metadata.Table;
+import com.googlecode.paradox.metadata.paradox.ParadoxDataFile;
 import com.googlecode.paradox.metadata.paradox.ParadoxTable;
 import com.googlecode.paradox.metadata.schema.DirectorySchema;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.nio.channels.FileChannel;
 import java.sql.SQLException;
 import java.util.*;
 
@@ -35,6 +35,16 @@ import java.util.*;
  */
 public final class TableData extends AbstractParadoxData {
 
+    /**
+     * Bytes needed to read a block header.
+     */
+    private static final int BLOCK_HEADER_CHUNK = 0x100;
+
+    /**
+     * Header change counters position in file.
+     */
+    private static final int CHANGE_COUNT_POSITION = 0x2D;
+
     /**
      * Utility class.
      */
@@ -52,35 +62,70 @@ public final class TableData extends AbstractParadoxData {
      */
     public static List<Table> listTables(final DirectorySchema schema, final String pattern, final ConnectionInfo connectionInfo) {
         final List<Table> tables = new ArrayList<>();
-        final File[] fileList = schema.getSchemaFile().listFiles(new TableFilter(connectionInfo.getLocale(), pattern));
+        final File[] fileList = DirectoryIndex.listFiles(schema.getSchemaFile(),
+                new TableFilter(connectionInfo.getLocale(), pattern), connectionInfo);
 
         if (fileList != null) {
             Arrays.sort(fileList);
 
             for (final File file : fileList) {
-                Table cachedTable = schema.getFromCache(file);
-                if (cachedTable != null) {
-                    tables.add(cachedTable);
-                } else {
-                    try {
-                        final ParadoxTable table = loadHeader(file, connectionInfo);
-                        Arrays.stream(table.getFields()).forEach(field -> field.setTable(table));
-                        table.loadIndexes();
-                        table.loadValidations();
-                        tables.add(table);
-
-                        // Update the cache.
-                        schema.addCache(table, file.lastModified());
-                    } catch (final SQLException e) {
-                        connectionInfo.addWarning(e);
-                    }
+                try {
+                    tables.add(loadTable(schema, file, connectionInfo));
+                } catch (final SQLException e) {
+                    connectionInfo.addWarning(e);
                 }
             }
+
+            saveMetadataCache(schema, connectionInfo);
         }
 
         return tables;
     }
 
+    /**
+     * Gets a table from the table cache or loads it from file.
+     *
+     * @param schema         the schema directory.
+     * @param file           the table file.
+     * @param connectionInfo the connection information.
+     * @return the table.
+     * @throws SQLException in case of failures.
+     */
+    public static ParadoxTable loadTable(final DirectorySchema schema, final File file,
+                                         final ConnectionInfo connectionInfo) throws SQLException {
+        final ParadoxTable cachedTable = schema.getFromCache(file, connectionInfo);
+        if (cachedTable != null) {
+            return cachedTable;
+        }
+
+        final long lastModified = file.lastModified();
+        final long length = file.length();
+
+        final ParadoxTable table = loadHeader(file, connectionInfo);
+        Arrays.stream(table.getFields()).forEach(field -> field.setTable(table));
+        table.loadIndexes();
+        table.loadValidations();
+        table.setForeignKeysLoader(() -> schema.loadForeignKeys(table, connectionInfo));
+
+        // Update the cache.
+        schema.addCache(file, table, lastModified, length, connectionInfo);
+        return table;
+    }
+
+    /**
+     * Saves the schema metadata cache file, if enabled.
+     *
+     * @param schema         the schema directory.
+     * @param connectionInfo the connection information.
+     */
+    public static void saveMetadataCache(final DirectorySchema schema, final ConnectionInfo connectionInfo) {
+        final MetadataCache cache = MetadataCache.of(new File(schema.getSchemaFile(), MetadataCache.FILE_NAME),
+                connectionInfo);
+        if (cache != null) {
+            cache.save(connectionInfo);
+        }
+    }
+
     /**
      * Load the table data from file.
      *
@@ -90,86 +135,129 @@ public final class TableData extends AbstractParadoxData {
      * @throws SQLException in case of failures.
      */
     public static List<Object[]> loadData(final ParadoxTable table, final Field[] fields) throws SQLException {
+        final List<Object[]> ret = new ArrayList<>(table.getRowCount());
+        try (final TableCursor cursor = new TableCursor(new RowDecoder(table, fields))) {
+            cursor.forEachRemaining(ret::add);
+        } catch (@SuppressWarnings("java:S1166") final InternalException e) {
+            throw e.getCause();
+        }
 
-        final int blockSize = table.getBlockSizeBytes();
-        final int recordSize = table.getRecordSize();
-        final int headerSize = table.getHeaderSize();
-
-        try (final FileInputStream fs = new FileInputStream(table.getFile());
-             final FileChannel channel = fs.getChannel()) {
-            if (table.getUsedBlocks() == 0) {
-                return Collections.emptyList();
-            }
+        return ret;
+    }
 
-            final List<Object[]> ret = new ArrayList<>(table.getRowCount());
-            long nextBlock = table.getFirstBlock();
+    /**
+     * Reads a data file block. The buffer is left in little endian order and positioned in the first row.
+     *
+     * @param dataFile    the data file to read.
+     * @param reader      the data file reader.
+     * @param version     the file version to use in block cache, {@code null} to not use the cache.
+     * @param blockNumber the block number to read.
+     * @param buffer      the buffer to fill.
+     * @return the row count in this block.
+     * @throws SQLException in case of failures.
+     */
+    static int readBlock(final ParadoxDataFile dataFile, final BlockReader reader, final BlockCache.FileVersion version,
+                         final long blockNumber, final ByteBuffer buffer) throws SQLException {
+        final int blockSize = dataFile.getBlockSizeBytes();
+        final long position = dataFile.getHeaderSize() + ((blockNumber - 1) * blockSize);
 
-            final ByteBuffer buffer = ByteBuffer.allocate(blockSize);
-            do {
-                buffer.order(ByteOrder.LITTLE_ENDIAN);
-                long position = headerSize + ((nextBlock - 1) * blockSize);
-                channel.position(position);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.clear();
 
-                buffer.clear();
-                channel.read(buffer);
-                checkDBEncryption(buffer, table, blockSize, nextBlock);
-                buffer.flip();
+        final byte[] cached = BlockCache.getInstance().get(version, position);
+        if (cached != null) {
+            buffer.put(cached);
+        } else {
+            try {
+                reader.read(position, buffer);
+            } catch (final IOException e) {
+                throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+            }
 
-                nextBlock = buffer.getShort() & 0xFFFF;
+            checkDBEncryption(buffer, dataFile, blockSize, blockNumber);
+            BlockCache.getInstance().put(version, position, buffer.array(), buffer.position());
+        }
 
-                // The block number.
-                buffer.getShort();
+        buffer.flip();
 
-                final int addDataSize = buffer.getShort();
-                final int rowsInBlock = (addDataSize / recordSize) + 1;
+        // The next block and the block number.
+        buffer.position(4);
 
-                buffer.order(ByteOrder.BIG_ENDIAN);
+        final int addDataSize = buffer.getShort();
+        return (addDataSize / dataFile.getRecordSize()) + 1;
+    }
 
-                for (int loop = 0; loop < rowsInBlock; loop++) {
-                    ret.add(TableData.readRow(table, fields, buffer));
-                }
-            } while (nextBlock != 0);
+    /**
+     * Gets the current data file version to use in block cache. The change counters are read again from the file
+     * header because the file metadata may be older than the file.
+     *
+     * @param dataFile the data file to read.
+     * @param reader   the data file reader.
+     * @return the file version or {@code null} if the cache is disabled.
+     * @throws SQLException in case of failures.
+     */
+    static BlockCache.FileVersion version(final ParadoxDataFile dataFile, final BlockReader reader) throws SQLException {
+        if (dataFile.getConnectionInfo().getBlockCacheSize() <= 0) {
+            return null;
+        }
 
-            return ret;
+        final ByteBuffer counters = ByteBuffer.allocate(2);
+        try {
+            reader.read(CHANGE_COUNT_POSITION, counters);
         } catch (final IOException e) {
             throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
         }
+
+        final int changeCount = ((counters.get(0) & 0xFF) << 8) | (counters.get(1) & 0xFF);
+        return BlockCache.version(dataFile.getFile(), dataFile.getConnectionInfo(), changeCount);
     }
 
     /**
-     * Read an entire row.
+     * Walks the data file block chain reading only the block headers.
      *
-     * @param table  the table to read of.
-     * @param fields the fields to read.
-     * @param buffer the buffer to read of.
-     * @return the row.
-     * @throws SQLException in case of parse errors.
+     * @param dataFile the data file to read.
+     * @param reader   the data file reader.
+     * @param version  the file version to use in block cache, {@code null} to not use the cache.
+     * @return the block numbers in chain order.
+     * @throws SQLException in case of failures.
      */
-    private static Object[] readRow(final ParadoxTable table, final Field[] fields, final ByteBuffer buffer)
-            throws SQLException {
-        final Object[] row = new Object[fields.length];
-
-        for (final Field field : table.getFields()) {
-            // Field filter
-            final int index = search(fields, field);
-            if (index != -1) {
-                row[index] = ParadoxFieldFactory.parse(table, buffer, field);
-            } else {
-                int size = field.getRealSize();
-                buffer.position(buffer.position() + size);
-            }
+    static int[] listBlocks(final ParadoxDataFile dataFile, final BlockReader reader,
+                            final BlockCache.FileVersion version) throws SQLException {
+        if (dataFile.getUsedBlocks() == 0) {
+            return new int[0];
         }
 
-        return row;
-    }
+        // The encryption works in chunks of this size, so the header is always in the first one.
+        final ByteBuffer header = ByteBuffer.allocate(Math.min(BLOCK_HEADER_CHUNK, dataFile.getBlockSizeBytes()));
+        header.order(ByteOrder.LITTLE_ENDIAN);
 
-    private static int search(final Field[] values, Object find) {
-        for (int i = 0; i < values.length; i++) {
-            if (Objects.equals(values[i], find)) {
-                return i;
+        int[] blocks = new int[Math.max(dataFile.getUsedBlocks() & 0xFFFF, 1)];
+        int count = 0;
+        int nextBlock = dataFile.getFirstBlock();
+        try {
+            while (nextBlock != 0) {
+                if (count == blocks.length) {
+                    blocks = Arrays.copyOf(blocks, count * 2);
+                }
+
+                blocks[count++] = nextBlock;
+
+                final long position = dataFile.getHeaderSize() + ((nextBlock - 1L) * dataFile.getBlockSizeBytes());
+                final byte[] cached = BlockCache.getInstance().get(version, position);
+                if (cached != null) {
+                    nextBlock = (cached[0] & 0xFF) | ((cached[1] & 0xFF) << 8);
+                    continue;
+                }
+
+                header.clear();
+                reader.read(position, header);
+                checkDBEncryption(header, dataFile, header.capacity(), nextBlock);
+                nextBlock = header.getShort(0) & 0xFFFF;
             }
+        } catch (final IOException e) {
+            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
         }
 
-        return -1;
+        return Arrays.copyOf(blocks, count);
     }
 }
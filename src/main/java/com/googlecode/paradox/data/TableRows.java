@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.exceptions.DataError;
+import com.googlecode.paradox.exceptions.InternalException;
+import com.googlecode.paradox.exceptions.ParadoxDataException;
+import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.metadata.paradox.ParadoxDataFile;
+import com.googlecode.paradox.metadata.paradox.ParadoxIndex;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A lazy table row collection. Each iteration reads the table file again using a {@link TableCursor}. When the
+ * conditions restrict the first field of the primary key or of a secondary index, only the blocks found in this index
+ * are read.
+ * <p>
+ * If a covering index is used, the rows are read only from the index entries, in index order.
+ * <p>
+ * The table file is closed when all rows are read. The streams of this collection also close it in
+ * {@link Stream#close()}, so they must be closed if they may not be fully read.
+ *
+ * @since 1.6.3
+ */
+public final class TableRows extends AbstractCollection<Object[]> {
+
+    /**
+     * The table to read.
+     */
+    private final ParadoxTable table;
+
+    /**
+     * The covering index to read instead of the table, {@code null} to read the table.
+     */
+    private final ParadoxIndex index;
+
+    /**
+     * The fields to read.
+     */
+    private final Field[] fields;
+
+    /**
+     * The fields used by the filter.
+     */
+    private final Field[] filterFields;
+
+    /**
+     * The row filter, {@code null} if all rows are accepted.
+     */
+    private final Predicate<Object[]> filter;
+
+    /**
+     * The conditions tested before decoding the rows.
+     */
+    private final RawCondition[] conditions;
+
+    /**
+     * The row decoder.
+     */
+    private RowDecoder decoder;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param table  the table to read.
+     * @param fields the fields to read.
+     */
+    public TableRows(final ParadoxTable table, final Field[] fields) {
+        this(table, fields, null, null, null);
+    }
+
+    /**
+     * Creates a new instance with a row filter. Only the filter fields are decoded in rejected rows.
+     *
+     * @param table        the table to read.
+     * @param fields       the fields to read.
+     * @param filterFields the fields used by the filter.
+     * @param filter       the row filter, or {@code null} to accept all rows.
+     * @param conditions   the conditions to test before decoding the rows, or {@code null} if none.
+     */
+    public TableRows(final ParadoxTable table, final Field[] fields, final Field[] filterFields,
+                     final Predicate<Object[]> filter, final RawCondition[] conditions) {
+        this(table, null, fields, filterFields, filter, conditions);
+    }
+
+    /**
+     * Creates a new instance reading the rows from a covering index.
+     *
+     * @param table        the table to read.
+     * @param index        the covering index to read, or {@code null} to read the table.
+     * @param fields       the fields to read.
+     * @param filterFields the fields used by the filter.
+     * @param filter       the row filter, or {@code null} to accept all rows.
+     * @param conditions   the conditions to test before decoding the rows, or {@code null} if none.
+     */
+    public TableRows(final ParadoxTable table, final ParadoxIndex index, final Field[] fields,
+                     final Field[] filterFields, final Predicate<Object[]> filter,
+                     final RawCondition[] conditions) {
+        this.table = table;
+        this.index = index;
+        this.fields = fields;
+        this.filterFields = filterFields;
+        this.filter = filter;
+        this.conditions = conditions;
+    }
+
+    /**
+     * Gets the row decoder, compiled only once for this collection.
+     *
+     * @return the row decoder.
+     * @throws SQLException in case of unsupported field types.
+     */
+    private RowDecoder getDecoder() throws SQLException {
+        if (decoder == null) {
+            decoder = new RowDecoder(table, index, fields, filterFields, filter, conditions);
+        }
+
+        return decoder;
+    }
+
+    /**
+     * Creates a new cursor.
+     *
+     * @return a new cursor.
+     * @throws SQLException in case of failures.
+     */
+    private TableCursor cursor() throws SQLException {
+        return new TableCursor(getDecoder(), findBlocks());
+    }
+
+    /**
+     * Finds the blocks to read using the table indexes.
+     *
+     * @return the blocks to read or {@code null} to read all table blocks.
+     * @throws SQLException in case of failures.
+     */
+    private int[] findBlocks() throws SQLException {
+        if (index != null) {
+            return IndexData.findEntryBlocks(index, conditions);
+        }
+
+        final int[] blocks = PrimaryKeyData.findBlocks(table, conditions);
+        if (blocks != null) {
+            return blocks;
+        }
+
+        return IndexData.findBlocks(table, conditions);
+    }
+
+    @Override
+    public Iterator<Object[]> iterator() {
+        try {
+            return cursor();
+        } catch (final SQLException e) {
+            throw new InternalException(e);
+        }
+    }
+
+    @Override
+    public Stream<Object[]> stream() {
+        final TableCursor cursor = (TableCursor) iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED
+                | Spliterator.NONNULL), false).onClose(cursor::close);
+    }
+
+    @Override
+    public Spliterator<Object[]> spliterator() {
+        // The header row count is not used here to avoid trust in damaged headers.
+        return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * Creates a parallel stream. The block chain is read first, then each block is decoded independently.
+     *
+     * @return a parallel stream.
+     */
+    @Override
+    public Stream<Object[]> parallelStream() {
+        final int[] blocks;
+        final RowDecoder rowDecoder;
+        final int[] indexBlocks;
+        try {
+            rowDecoder = getDecoder();
+            indexBlocks = findBlocks();
+            if (indexBlocks != null) {
+                blocks = indexBlocks;
+            } else {
+                blocks = listBlocks(rowDecoder.getDataFile());
+            }
+        } catch (final SQLException e) {
+            throw new InternalException(e);
+        }
+
+        final BlockSpliterator spliterator = new BlockSpliterator(rowDecoder, blocks, 0, blocks.length,
+                indexBlocks == null);
+        return StreamSupport.stream(spliterator, true).onClose(spliterator::closeAll);
+    }
+
+    /**
+     * Lists all blocks of a data file.
+     *
+     * @param dataFile the data file to read.
+     * @return the block numbers in chain order.
+     * @throws SQLException in case of failures.
+     */
+    private static int[] listBlocks(final ParadoxDataFile dataFile) throws SQLException {
+        try (final BlockReader reader = BlockReader.open(dataFile.getFile(), dataFile.getConnectionInfo())) {
+            return TableData.listBlocks(dataFile, reader, TableData.version(dataFile, reader));
+        } catch (final IOException e) {
+            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, e);
+        }
+    }
+
+    /**
+     * Checks if the rows are filtered in this collection.
+     *
+     * @return {@code true} if the rows are filtered in this collection.
+     */
+    private boolean isFiltered() {
+        return filter != null || (conditions != null && conditions.length > 0);
+    }
+
+    /**
+     * Gets the row count from table header, or count the accepted rows if there is a filter.
+     *
+     * @return the row count.
+     */
+    @Override
+    public int size() {
+        if (isFiltered()) {
+            int count = 0;
+            try (final TableCursor cursor = cursor()) {
+                while (cursor.hasNext()) {
+                    cursor.next();
+                    count++;
+                }
+            } catch (final SQLException e) {
+                throw new InternalException(e);
+            }
+
+            return count;
+        }
+
+        return table.getRowCount();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (isFiltered()) {
+            try (final TableCursor cursor = cursor()) {
+                return !cursor.hasNext();
+            } catch (final SQLException e) {
+                throw new InternalException(e);
+            }
+        }
+
+        return table.getUsedBlocks() == 0 || table.getRowCount() == 0;
+    }
+}
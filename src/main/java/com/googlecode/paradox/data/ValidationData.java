@@ -22,6 +22,7 @@ import com.googlecode.paradox.results.ParadoxType;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
@@ -50,7 +51,8 @@ public class ValidationData {
      * @return the tables filtered.
      */
     public static ParadoxValidation listValidation(final File schema, final ParadoxTable table, final ConnectionInfo connectionInfo) {
-        final File[] fileList = schema.listFiles(new ValidationFilter(connectionInfo.getLocale(), table.getName()));
+        final File[] fileList = DirectoryIndex.listFiles(schema,
+                new ValidationFilter(connectionInfo.getLocale(), table.getName()), connectionInfo);
 
         if (fileList != null) {
             if (fileList.length == 1) {
@@ -77,13 +79,10 @@ public class ValidationData {
      * @throws SQLException in case of reading errors.
      */
     private static ParadoxValidation load(final File file, final ConnectionInfo connectionInfo, final ParadoxTable table) throws SQLException {
-        try (FileInputStream fs = new FileInputStream(file); FileChannel channel = fs.getChannel()) {
-            final ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        try {
+            final ByteBuffer buffer = ByteBuffer.wrap(read(file, connectionInfo));
             buffer.order(ByteOrder.LITTLE_ENDIAN);
 
-            channel.read(buffer);
-            buffer.flip();
-
             ParadoxValidation data = new ParadoxValidation();
             loadHeader(buffer, data);
 
@@ -107,6 +106,37 @@ public class ValidationData {
         return null;
     }
 
+    /**
+     * Reads the validation file contents, using the metadata cache if enabled.
+     *
+     * @param file           the validation file.
+     * @param connectionInfo the connection information.
+     * @return the file contents.
+     * @throws IOException in case of read failures.
+     */
+    private static byte[] read(final File file, final ConnectionInfo connectionInfo) throws IOException {
+        final MetadataCache cache = MetadataCache.of(file, connectionInfo);
+        if (cache != null) {
+            final byte[] cached = cache.get(file);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        final byte[] data;
+        try (FileInputStream fs = new FileInputStream(file); FileChannel channel = fs.getChannel()) {
+            final ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            channel.read(buffer);
+            data = buffer.array();
+        }
+
+        if (cache != null) {
+            cache.put(file, data);
+        }
+
+        return data;
+    }
+
     private static void loadValidations(ByteBuffer buffer, ParadoxValidation data, ParadoxTable table, String fileName) throws SQLException {
         if (data.getCount() == 0) {
             return;
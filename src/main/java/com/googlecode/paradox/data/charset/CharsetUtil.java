@@ -18,7 +18,9 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The charset lookup and translation util.
@@ -29,6 +31,16 @@ public class CharsetUtil {
 
     private static final List<CharsetData> CHARSET_TABLE = new ArrayList<>();
 
+    /**
+     * Byte values count.
+     */
+    private static final int BYTE_VALUES = 0x100;
+
+    /**
+     * Char lookup tables by charset, empty in multi byte charsets.
+     */
+    private static final Map<Charset, Optional<char[]>> CHAR_TABLES = new ConcurrentHashMap<>();
+
     static {
         final Charset windows1250 = Charset.forName("windows-1250");
         final Charset windows1251 = Charset.forName("windows-1251");
@@ -217,6 +229,70 @@ public class CharsetUtil {
         return StandardCharsets.US_ASCII.decode(buffer).toString();
     }
 
+    /**
+     * Translate a string using the data original charset. Single byte charsets are decoded directly from the array
+     * using a lookup table.
+     *
+     * @param data   the data with the charset to use.
+     * @param array  the array to translate.
+     * @param offset the string position in array.
+     * @param length the string length in bytes.
+     * @return the string translated.
+     */
+    public static String translate(final ParadoxDataFile data, final byte[] array, final int offset,
+                                   final int length) {
+        final Charset charset = Optional.ofNullable(data.getCharset()).orElse(StandardCharsets.US_ASCII);
+        final char[] table = getCharTable(charset);
+        if (table == null) {
+            return charset.decode(ByteBuffer.wrap(array, offset, length)).toString();
+        }
+
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = table[array[offset + i] & 0xFF];
+        }
+
+        return new String(chars);
+    }
+
+    /**
+     * Gets the char lookup table of a charset.
+     *
+     * @param charset the charset.
+     * @return the char for each byte value or {@code null} if this is not a single byte charset.
+     */
+    static char[] getCharTable(final Charset charset) {
+        return CHAR_TABLES.computeIfAbsent(charset, CharsetUtil::createCharTable).orElse(null);
+    }
+
+    /**
+     * Creates the char lookup table of a charset.
+     *
+     * @param charset the charset.
+     * @return the char for each byte value or empty if this is not a single byte charset.
+     */
+    private static Optional<char[]> createCharTable(final Charset charset) {
+        final byte[] bytes = new byte[BYTE_VALUES];
+        for (int i = 0; i < BYTE_VALUES; i++) {
+            bytes[i] = (byte) i;
+        }
+
+        // Multi byte charsets join some bytes in one char.
+        final char[] table = charset.decode(ByteBuffer.wrap(bytes)).toString().toCharArray();
+        if (table.length != BYTE_VALUES) {
+            return Optional.empty();
+        }
+
+        for (int i = 0; i < BYTE_VALUES; i++) {
+            final String value = charset.decode(ByteBuffer.wrap(bytes, i, 1)).toString();
+            if (value.length() != 1 || value.charAt(0) != table[i]) {
+                return Optional.empty();
+            }
+        }
+
+        return Optional.of(table);
+    }
+
     /**
      * Gets the original encoding name (in Paradox).
      *
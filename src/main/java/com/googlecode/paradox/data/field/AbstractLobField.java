@@ -10,6 +10,8 @@
  */
 package com.googlecode.paradox.data.field;
 
+import com.googlecode.paradox.data.BlobFileReader;
+import com.googlecode.paradox.data.BlockCache;
 import com.googlecode.paradox.data.EncryptedData;
 import com.googlecode.paradox.data.FieldParser;
 import com.googlecode.paradox.exceptions.DataError;
@@ -18,11 +20,8 @@ import com.googlecode.paradox.metadata.Field;
 import com.googlecode.paradox.metadata.paradox.ParadoxTable;
 import com.googlecode.paradox.results.ParadoxType;
 
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.nio.channels.FileChannel;
 import java.sql.SQLException;
 import java.util.Arrays;
 
@@ -70,31 +69,47 @@ public abstract class AbstractLobField implements FieldParser {
         super();
     }
 
-    private static ByteBuffer readBlock(final FileChannel channel, final int size, final ParadoxTable table) throws IOException {
+    /**
+     * Reads a value part from blob file.
+     *
+     * @param blobs    the blob file reader.
+     * @param position the part position in blob file.
+     * @param size     the part size.
+     * @return the part data.
+     * @throws SQLException in case of failures.
+     */
+    private static ByteBuffer readBlock(final BlobFileReader blobs, final long position, final int size)
+            throws SQLException {
         // Calculate the block size.
-        final long pos = channel.position();
-        final long offset = pos & 0xFFFFFF00L;
-        int blockSize = (int) (size + pos - offset);
+        final long offset = position & 0xFFFFFF00L;
+        int blockSize = (int) (size + position - offset);
         if ((blockSize & 0xFF) > 0) {
             blockSize = ((blockSize >> 0x08) + 1) << 0x08;
         }
 
         // Read the block data
         ByteBuffer buffer = ByteBuffer.allocate(blockSize);
-        channel.position(offset);
-        channel.read(buffer);
-        channel.position(pos + size);
-
-        // Handle encryption.
-        if (table.isEncrypted()) {
-            byte[] b = buffer.array();
-            EncryptedData.decryptMBBlock(b, table.getEncryptedData(), blockSize);
+        final BlockCache.FileVersion version = blobs.getVersion();
+        final byte[] cached = BlockCache.getInstance().get(version, offset);
+        if (cached != null && cached.length >= blockSize) {
+            buffer.put(cached, 0, blockSize);
+        } else {
+            blobs.read(offset, buffer);
+
+            // Handle encryption.
+            final ParadoxTable table = blobs.getTable();
+            if (table.isEncrypted()) {
+                byte[] b = buffer.array();
+                EncryptedData.decryptMBBlock(b, table.getEncryptedData(), blockSize);
+            }
+
+            BlockCache.getInstance().put(version, offset, buffer.array(), buffer.position());
         }
 
         buffer.flip();
 
         // recalculate offset.
-        int bufferOffset = (int) (pos - offset);
+        int bufferOffset = (int) (position - offset);
         if (bufferOffset > 0) {
             buffer.position(bufferOffset);
             buffer = buffer.slice();
@@ -119,6 +134,21 @@ public abstract class AbstractLobField implements FieldParser {
     @Override
     public Object parse(final ParadoxTable table, final ByteBuffer buffer, final Field field)
             throws SQLException {
+        return parse(table, buffer, field, null);
+    }
+
+    /**
+     * Parses a LOB field using the blob file reader of a scan.
+     *
+     * @param table  the associated table.
+     * @param buffer the buffer to read of.
+     * @param field  the field to parse.
+     * @param blobs  the blob file reader of the scan, or {@code null} to open the blob file for this value.
+     * @return the LOB value.
+     * @throws SQLException in case of failures.
+     */
+    public Object parse(final ParadoxTable table, final ByteBuffer buffer, final Field field,
+                        final BlobFileReader blobs) throws SQLException {
         int leader = field.getRealSize() - LEADER_SIZE_PADDING;
 
         final ByteBuffer value = ByteBuffer.allocate(leader);
@@ -148,26 +178,68 @@ public abstract class AbstractLobField implements FieldParser {
             return getValue(table, ByteBuffer.wrap(currentValue));
         }
 
-        try (final FileInputStream fs = table.openBlobs(); final FileChannel channel = fs.getChannel()) {
-            final long offset = beginIndex & 0xFFFFFF00L;
-            channel.position(offset);
+        return getValue(table, beginIndex, size, headerSize, blobs);
+    }
 
-            ByteBuffer head = readBlock(channel, HEAD_SIZE, table);
-            head.order(ByteOrder.LITTLE_ENDIAN);
+    /**
+     * Gets a LOB value stored in blob file.
+     *
+     * @param table      the associated table.
+     * @param beginIndex the value position in blob file.
+     * @param size       the value size.
+     * @param headerSize the blob header size.
+     * @param blobs      the blob file reader of the scan, or {@code null} to open the blob file for this value.
+     * @return the LOB value.
+     * @throws SQLException in case of failures.
+     */
+    protected Object getValue(final ParadoxTable table, final long beginIndex, final int size, final int headerSize,
+                              final BlobFileReader blobs) throws SQLException {
+        return getValue(table, read(table, beginIndex, size, headerSize, blobs));
+    }
 
-            byte type = head.get();
-            head.getShort();
+    /**
+     * Reads a value from blob file.
+     *
+     * @param table      the associated table.
+     * @param beginIndex the value position in blob file.
+     * @param size       the value size.
+     * @param headerSize the blob header size.
+     * @param blobs      the blob file reader of the scan, or {@code null} to open the blob file for this value.
+     * @return the value data.
+     * @throws SQLException in case of failures.
+     */
+    protected static ByteBuffer read(final ParadoxTable table, final long beginIndex, final int size,
+                                     final int headerSize, final BlobFileReader blobs) throws SQLException {
+        if (blobs != null) {
+            return read(blobs, beginIndex, size, headerSize);
+        }
 
-            final long index = beginIndex & 0xFF;
-            return processBlobByBlockType(table, headerSize, size, channel, offset, type, index);
-        } catch (final IOException ex) {
-            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, ex);
+        try (final BlobFileReader reader = new BlobFileReader(table)) {
+            return read(reader, beginIndex, size, headerSize);
         }
     }
 
-    private Object processBlobByBlockType(final ParadoxTable table, final int headerSize, final int size,
-                                          final FileChannel channel, final long offset, final byte type,
-                                          final long index) throws SQLException, IOException {
+    /**
+     * Reads a value from blob file.
+     *
+     * @param blobs      the blob file reader.
+     * @param beginIndex the value position in blob file.
+     * @param size       the value size.
+     * @param headerSize the blob header size.
+     * @return the value data.
+     * @throws SQLException in case of failures.
+     */
+    private static ByteBuffer read(final BlobFileReader blobs, final long beginIndex, final int size,
+                                   final int headerSize) throws SQLException {
+        final long offset = beginIndex & 0xFFFFFF00L;
+
+        final ByteBuffer head = readBlock(blobs, offset, HEAD_SIZE);
+        head.order(ByteOrder.LITTLE_ENDIAN);
+
+        byte type = head.get();
+        head.getShort();
+
+        final long index = beginIndex & 0xFF;
         switch (type) {
             case 0x0:
                 throw new ParadoxDataException(DataError.BLOB_READ_HEAD_BLOCK);
@@ -176,20 +248,17 @@ public abstract class AbstractLobField implements FieldParser {
             case FREE_BLOCK:
                 throw new ParadoxDataException(DataError.BLOB_INVALID_HEADER);
             case SINGLE_BLOCK:
-                return parseSingleBlock(table, index, size, headerSize, channel);
+                return parseSingleBlock(blobs, offset, index, size, headerSize);
             case SUB_BLOCK:
-                return parseSubBlock(table, index, offset, size, headerSize, channel);
+                return parseSubBlock(blobs, offset, index, size);
             default:
                 throw new ParadoxDataException(DataError.BLOB_INVALID_HEADER_TYPE);
         }
     }
 
-    private Object parseSubBlock(final ParadoxTable table, final long index, final long offset, final int size,
-                                 final int headerSize, final FileChannel channel) throws IOException, SQLException {
-        channel.position(channel.position() + headerSize);
-
-        channel.position(offset + 0x0CL + index * 0x05L);
-        final ByteBuffer head = readBlock(channel, 5, table);
+    private static ByteBuffer parseSubBlock(final BlobFileReader blobs, final long offset, final long index,
+                                            final int size) throws SQLException {
+        final ByteBuffer head = readBlock(blobs, offset + 0x0CL + index * 0x05L, 5);
         head.order(ByteOrder.LITTLE_ENDIAN);
 
         // Data offset divided by 16.
@@ -205,19 +274,17 @@ public abstract class AbstractLobField implements FieldParser {
             throw new ParadoxDataException(DataError.BLOB_INVALID_DECLARED_SIZE);
         }
 
-        channel.position(offset + blockOffset * 0x10);
-        final ByteBuffer blocks = readBlock(channel, size, table);
-
-        return getValue(table, blocks);
+        return readBlock(blobs, offset + blockOffset * 0x10, size);
     }
 
-    private Object parseSingleBlock(ParadoxTable table, long index, int size, int headerSize, final FileChannel channel)
-            throws SQLException, IOException {
+    private static ByteBuffer parseSingleBlock(final BlobFileReader blobs, final long offset, final long index,
+                                               final int size, final int headerSize) throws SQLException {
         if (index != 0xFF) {
             throw new ParadoxDataException(DataError.BLOB_SINGLE_BLOCK_INVALID_INDEX);
         }
+
         // Read the remaining 6 bytes from the header.
-        final ByteBuffer head = readBlock(channel, headerSize - HEAD_SIZE, table);
+        final ByteBuffer head = readBlock(blobs, offset + HEAD_SIZE, headerSize - HEAD_SIZE);
         head.order(ByteOrder.LITTLE_ENDIAN);
 
         int internalSize = head.getInt();
@@ -225,7 +292,6 @@ public abstract class AbstractLobField implements FieldParser {
             throw new ParadoxDataException(DataError.BLOB_INVALID_DECLARED_SIZE);
         }
 
-        final ByteBuffer blocks = readBlock(channel, size, table);
-        return getValue(table, blocks);
+        return readBlock(blobs, offset + headerSize, size);
     }
 }
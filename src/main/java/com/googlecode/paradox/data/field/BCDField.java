@@ -17,6 +17,7 @@ import com.googlecode.paradox.metadata.paradox.ParadoxTable;
 import com.googlecode.paradox.results.ParadoxType;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.nio.ByteBuffer;
 
 /**
@@ -38,6 +39,18 @@ public final class BCDField implements FieldParser {
      * Second position in byte.
      */
     private static final byte SECOND_BYTE = 4;
+    /**
+     * First byte position of the last half of the digits.
+     */
+    private static final int HALF_SIZE = 9;
+    /**
+     * Factor of the first half of the digits.
+     */
+    private static final long HALF_FACTOR = 10_000_000_000_000_000L;
+    /**
+     * Max first half of the digits to use long values.
+     */
+    private static final long MAX_LONG_HIGH = Long.MAX_VALUE / HALF_FACTOR - 1;
 
     /**
      * Creates a new instance.
@@ -46,12 +59,6 @@ public final class BCDField implements FieldParser {
         super();
     }
 
-    private static void removeLeadingZeroes(final StringBuilder builder) {
-        while (builder.length() > 1 && builder.charAt(0) == '0') {
-            builder.deleteCharAt(0);
-        }
-    }
-
     @Override
     public boolean match(final ParadoxType type) {
         return type == ParadoxType.BCD;
@@ -59,53 +66,67 @@ public final class BCDField implements FieldParser {
 
     @Override
     public Object parse(final ParadoxTable table, final ByteBuffer buffer, final Field originalField) {
-        final byte[] valueBuffer = new byte[BCD_SIZE];
+        final byte[] array = buffer.array();
+        final int start = buffer.position();
+        buffer.position(start + BCD_SIZE);
 
-        System.arraycopy(buffer.array(), buffer.position(), valueBuffer, 0, valueBuffer.length);
-        buffer.position(buffer.position() + valueBuffer.length);
-
-        if (valueBuffer[0] == 0) {
+        if (array[start] == 0) {
             return null;
         }
 
-        boolean negative = (valueBuffer[0] & 0x80) == 0;
+        final boolean negative = (array[start] & 0x80) == 0;
+        final int mask;
         if (negative) {
-            for (int i = 1; i < valueBuffer.length; i++) {
-                valueBuffer[i] ^= (byte) 0xFF;
-            }
+            mask = 0xFF;
+        } else {
+            mask = 0;
         }
 
-        final StringBuilder sb = new StringBuilder();
-        for (int i = 1; i < valueBuffer.length; i++) {
-            byte high = (byte) (valueBuffer[i] & 0xF0);
-            high >>>= SECOND_BYTE;
-            high = (byte) (high & 0x0f);
-            byte low = (byte) (valueBuffer[i] & 0x0F);
-
-            sb.append(high);
-            sb.append(low);
+        // The first and the last half of the digits.
+        long high = 0;
+        long low = 0;
+        for (int i = 1; i < BCD_SIZE; i++) {
+            final int value = (array[start + i] ^ mask) & 0xFF;
+            final int digits = (value >>> SECOND_BYTE) * 10 + (value & 0x0F);
+            if (i < HALF_SIZE) {
+                high = high * 100 + digits;
+            } else {
+                low = low * 100 + digits;
+            }
         }
 
         final ParadoxField field = (ParadoxField) originalField;
         final int precision = field.getPrecision();
-        if (precision == MAX_DIGITS) {
-            sb.insert(0, "0.");
+
+        BigDecimal value;
+        if (high == 0) {
+            value = BigDecimal.valueOf(low, precision);
+        } else if (high <= MAX_LONG_HIGH) {
+            value = BigDecimal.valueOf(high * HALF_FACTOR + low, precision);
         } else {
-            sb.insert(sb.length() - precision, '.');
-            if (precision == 0) {
-                sb.append('0');
-            }
-            removeLeadingZeroes(sb);
+            final BigInteger unscaled = BigInteger.valueOf(high).multiply(BigInteger.valueOf(HALF_FACTOR))
+                    .add(BigInteger.valueOf(low));
+            value = new BigDecimal(unscaled, precision);
         }
 
-        if (negative) {
-            sb.insert(0, '-');
+        if (precision == 0) {
+            // Integer values always have one decimal digit.
+            value = value.setScale(1);
         }
 
         if (table.getConnectionInfo().isBcdRounding()) {
-            return Double.valueOf(sb.toString());
+            final double result = value.doubleValue();
+            if (negative) {
+                return -result;
+            }
+
+            return result;
+        }
+
+        if (negative) {
+            return value.negate();
         }
 
-        return new BigDecimal(sb.toString());
+        return value;
     }
 }
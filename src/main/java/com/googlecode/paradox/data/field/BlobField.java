@@ -10,10 +10,13 @@
  */
 package com.googlecode.paradox.data.field;
 
+import com.googlecode.paradox.data.BlobFileReader;
 import com.googlecode.paradox.metadata.paradox.ParadoxTable;
 import com.googlecode.paradox.results.ParadoxType;
+import com.googlecode.paradox.rowset.ParadoxBlob;
 
 import java.nio.ByteBuffer;
+import java.sql.SQLException;
 
 /**
  * Parses blob fields.
@@ -34,8 +37,35 @@ public final class BlobField extends AbstractLobField {
         return type == ParadoxType.BLOB || type == ParadoxType.OLE || type == ParadoxType.GRAPHIC;
     }
 
+    /**
+     * Gets a blob stored in blob file. The data is read only when used.
+     *
+     * @param table      the associated table.
+     * @param beginIndex the value position in blob file.
+     * @param size       the value size.
+     * @param headerSize the blob header size.
+     * @param blobs      the blob file reader of the scan, used only for the blob file length and modification time:
+     *                   the scan may be closed when the data is read.
+     * @return the blob value.
+     * @throws SQLException in case of failures.
+     */
+    @Override
+    protected Object getValue(final ParadoxTable table, final long beginIndex, final int size,
+                              final int headerSize, final BlobFileReader blobs) throws SQLException {
+        final BlobFileReader current = blobs != null ? blobs : new BlobFileReader(table);
+        final long length = current.getLength();
+        final long lastModified = current.getLastModified();
+
+        return new ParadoxBlob(size, () -> {
+            // Do not read other row data if the blob file was written after this row.
+            try (final BlobFileReader reader = new BlobFileReader(table, length, lastModified)) {
+                return getValue(table, read(table, beginIndex, size, headerSize, reader));
+            }
+        });
+    }
+
     @Override
-    protected Object getValue(final ParadoxTable table, final ByteBuffer buffer) {
+    protected byte[] getValue(final ParadoxTable table, final ByteBuffer buffer) {
         byte[] values = new byte[buffer.limit()];
         buffer.get(values);
         return values;
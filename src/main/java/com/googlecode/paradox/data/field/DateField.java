@@ -26,6 +26,11 @@ import java.sql.Date;
  */
 public final class DateField implements FieldParser {
 
+    /**
+     * Days between the SDN start and the Paradox date start.
+     */
+    public static final long DAYS_OFFSET = 1_721_425;
+
     /**
      * Creates a new instance.
      */
@@ -44,7 +49,7 @@ public final class DateField implements FieldParser {
 
         Date date = null;
         if (days != 0) {
-            date = DateUtils.sdnToGregorian(days + 1_721_425);
+            date = DateUtils.sdnToGregorian(days + DAYS_OFFSET);
         }
 
         return date;
@@ -11,6 +11,7 @@
 package com.googlecode.paradox.data.field;
 
 import com.googlecode.paradox.data.FieldParser;
+import com.googlecode.paradox.data.StringDictionary;
 import com.googlecode.paradox.data.charset.CharsetUtil;
 import com.googlecode.paradox.metadata.Field;
 import com.googlecode.paradox.metadata.paradox.ParadoxTable;
@@ -39,29 +40,41 @@ public final class VarcharField implements FieldParser {
 
     @Override
     public Object parse(final ParadoxTable table, final ByteBuffer buffer, final Field field) {
-        final ByteBuffer valueString = ByteBuffer.allocate(field.getSize());
-
-        System.arraycopy(buffer.array(), buffer.position(), valueString.array(), 0, field.getSize());
-        buffer.position(buffer.position() + field.getSize());
+        return parse(table, buffer, field, null);
+    }
 
-        final byte[] value = valueString.array();
-        int length = value.length;
+    /**
+     * Parses a value using a string dictionary.
+     *
+     * @param table      the table.
+     * @param buffer     the buffer to read of.
+     * @param field      the field to parse.
+     * @param dictionary the string dictionary, or {@code null} to always decode the value.
+     * @return the parsed value.
+     */
+    public Object parse(final ParadoxTable table, final ByteBuffer buffer, final Field field,
+                        final StringDictionary dictionary) {
+        final byte[] array = buffer.array();
+        final int offset = buffer.position();
+        buffer.position(offset + field.getSize());
 
+        int length = field.getSize();
         for (; length > 0; length--) {
             // array value starts with zero, not 1
-            if (value[length - 1] != 0) {
+            if (array[offset + length - 1] != 0) {
                 break;
             }
         }
-        valueString.flip();
-        valueString.limit(length);
-        final String str = CharsetUtil.translate(table, valueString);
 
-        if (str.isEmpty()) {
+        if (length == 0) {
             return null;
         }
 
-        return str;
+        if (dictionary != null) {
+            return dictionary.decode(table, array, offset, length);
+        }
+
+        return CharsetUtil.translate(table, array, offset, length);
     }
 
 }
@@ -111,7 +111,12 @@ public enum DataError {
     /**
      * Unsupported file type.
      */
-    UNSUPPORTED_FILE_TYPE("019", "Unsupported file type: %s");
+    UNSUPPORTED_FILE_TYPE("019", "Unsupported file type: %s"),
+
+    /**
+     * The blob file has changed after the row was read.
+     */
+    BLOB_FILE_CHANGED("020", "Blob file changed after the row was read");
 
     /**
      * SQL state code.
@@ -82,6 +82,20 @@ public abstract class AbstractFunction {
                 .findFirst().orElse(ParadoxType.NULL);
     }
 
+    /**
+     * The returned value type for the parameter values. Functions that return the parameter type must override it, so
+     * no execution state is kept in the function.
+     *
+     * @param values the parameter values.
+     * @param types  the parameter types.
+     * @return the returned value type.
+     * @throws ParadoxSyntaxErrorException in case of incompatible types.
+     */
+    public ParadoxType getFieldType(final Object[] values, final ParadoxType[] types)
+            throws ParadoxSyntaxErrorException {
+        return getFieldType();
+    }
+
     /**
      * The function parameters count.
      *
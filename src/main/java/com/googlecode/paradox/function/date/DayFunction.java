@@ -15,10 +15,10 @@ import com.googlecode.paradox.planner.nodes.FieldNode;
 import com.googlecode.paradox.results.Column;
 import com.googlecode.paradox.results.ParadoxType;
 import com.googlecode.paradox.rowset.ValuesConverter;
+import com.googlecode.paradox.utils.DateUtils;
 
 import java.sql.Date;
 import java.sql.SQLException;
-import java.util.Calendar;
 
 /**
  * The SQL DAY function.
@@ -66,8 +66,6 @@ public class DayFunction extends AbstractDateFunction {
             return null;
         }
 
-        final Calendar c = Calendar.getInstance();
-        c.setTime(date);
-        return c.get(Calendar.DAY_OF_MONTH);
+        return DateUtils.getDay(date);
     }
 }
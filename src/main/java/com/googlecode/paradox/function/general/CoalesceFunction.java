@@ -33,11 +33,6 @@ public class CoalesceFunction extends AbstractGeneralFunction {
      */
     public static final String NAME = "COALESCE";
 
-    /**
-     * The return type;
-     */
-    private ParadoxType type = ParadoxType.NULL;
-
     /**
      * Column parameter list.
      */
@@ -66,7 +61,13 @@ public class CoalesceFunction extends AbstractGeneralFunction {
 
     @Override
     public ParadoxType getFieldType() {
-        return type;
+        return ParadoxType.NULL;
+    }
+
+    @Override
+    public ParadoxType getFieldType(final Object[] values, final ParadoxType[] types)
+            throws ParadoxSyntaxErrorException {
+        return FieldValueUtils.getSqlType(values, types);
     }
 
     @Override
@@ -76,26 +77,6 @@ public class CoalesceFunction extends AbstractGeneralFunction {
 
     @Override
     public Object execute(final ConnectionInfo connectionInfo, final Object[] values, final ParadoxType[] types, final FieldNode[] fields) throws ParadoxSyntaxErrorException {
-        this.type = FieldValueUtils.getSqlType(values, types);
         return Stream.of(values).filter(Objects::nonNull).findFirst().orElse(null);
     }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) {
-            return true;
-        }
-
-        if (o == null || getClass() != o.getClass()) {
-            return false;
-        }
-
-        CoalesceFunction that = (CoalesceFunction) o;
-        return type == that.type;
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), type);
-    }
 }
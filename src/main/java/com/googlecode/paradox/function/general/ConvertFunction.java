@@ -19,6 +19,7 @@ import com.googlecode.paradox.parser.nodes.SQLNode;
 import com.googlecode.paradox.planner.nodes.FieldNode;
 import com.googlecode.paradox.results.Column;
 import com.googlecode.paradox.results.ParadoxType;
+import com.googlecode.paradox.rowset.ParadoxBlob;
 import com.googlecode.paradox.rowset.ValuesConverter;
 
 import java.nio.charset.Charset;
@@ -102,8 +103,9 @@ public class ConvertFunction extends AbstractGeneralFunction {
                 byte[] bytes = ((String) value).getBytes(original);
 
                 return new String(bytes, charset);
-            } else if (value instanceof byte[]) {
-                return ValuesConverter.convert((byte[]) value, this.charset).replace("\u0000", "");
+            } else if (value instanceof byte[] || value instanceof ParadoxBlob) {
+                return ValuesConverter.convert(ValuesConverter.getByteArray(value, connectionInfo), this.charset)
+                        .replace("\u0000", "");
             }
             throw new ParadoxSyntaxErrorException(SyntaxError.INVALID_PARAMETER_VALUE, value);
         } else {
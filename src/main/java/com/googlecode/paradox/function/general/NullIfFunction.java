@@ -48,8 +48,6 @@ public class NullIfFunction extends AbstractGeneralFunction {
         super();
     }
 
-    private ParadoxType type = ParadoxType.NULL;
-
     @Override
     public String getRemarks() {
         return "Returns null if both values are equal, otherwise it returns the first expression.";
@@ -62,38 +60,23 @@ public class NullIfFunction extends AbstractGeneralFunction {
 
     @Override
     public ParadoxType getFieldType() {
-        return type;
+        return ParadoxType.NULL;
+    }
+
+    @Override
+    public ParadoxType getFieldType(final Object[] values, final ParadoxType[] types)
+            throws ParadoxSyntaxErrorException {
+        return FieldValueUtils.getSqlType(values, types);
     }
 
     @Override
     public Object execute(final ConnectionInfo connectionInfo, final Object[] values, final ParadoxType[] types,
                           final FieldNode[] fields)
             throws ParadoxSyntaxErrorException {
-        this.type = FieldValueUtils.getSqlType(values, types);
-
         if (Objects.equals(values[0], values[1])) {
             return null;
         }
 
         return values[0];
     }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) {
-            return true;
-        }
-
-        if (o == null || getClass() != o.getClass()) {
-            return false;
-        }
-
-        NullIfFunction that = (NullIfFunction) o;
-        return type == that.type;
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), type);
-    }
 }
@@ -17,7 +17,6 @@ import com.googlecode.paradox.planner.nodes.FieldNode;
 import com.googlecode.paradox.results.Column;
 import com.googlecode.paradox.results.ParadoxType;
 
-import java.util.Objects;
 
 /**
  * The SQL NVL function.
@@ -47,11 +46,6 @@ public class NvlFunction extends AbstractGeneralFunction {
         super();
     }
 
-    /**
-     * The current type.
-     */
-    private ParadoxType type = ParadoxType.NULL;
-
     @Override
     public String getRemarks() {
         return "Return a specified value if the string is null.";
@@ -64,37 +58,22 @@ public class NvlFunction extends AbstractGeneralFunction {
 
     @Override
     public ParadoxType getFieldType() {
-        return type;
+        return ParadoxType.NULL;
+    }
+
+    @Override
+    public ParadoxType getFieldType(final Object[] values, final ParadoxType[] types)
+            throws ParadoxSyntaxErrorException {
+        return FieldValueUtils.getSqlType(values, types);
     }
 
     @Override
     public Object execute(final ConnectionInfo connectionInfo, final Object[] values, final ParadoxType[] types,
                           final FieldNode[] fields) throws ParadoxSyntaxErrorException {
-        this.type = FieldValueUtils.getSqlType(values, types);
-
         if (values[0] != null) {
             return values[0];
         }
 
         return values[1];
     }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) {
-            return true;
-        }
-
-        if (o == null || getClass() != o.getClass()) {
-            return false;
-        }
-
-        NvlFunction that = (NvlFunction) o;
-        return type == that.type;
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), type);
-    }
 }
@@ -15,6 +15,8 @@ import com.googlecode.paradox.planner.nodes.FieldNode;
 import com.googlecode.paradox.results.Column;
 import com.googlecode.paradox.results.ParadoxType;
 
+import java.sql.SQLException;
+
 /**
  * The SQL bit length function.
  *
@@ -53,7 +55,8 @@ public class BitLengthFunction extends OctetLengthFunction {
     }
 
     @Override
-    public Object execute(final ConnectionInfo connectionInfo, final Object[] values, final ParadoxType[] types, final FieldNode[] fields) {
+    public Object execute(final ConnectionInfo connectionInfo, final Object[] values, final ParadoxType[] types, final FieldNode[] fields)
+            throws SQLException {
         return ((Integer) super.execute(connectionInfo, values, types, fields)) * 0x08;
     }
 }
@@ -14,6 +14,10 @@ import com.googlecode.paradox.ConnectionInfo;
 import com.googlecode.paradox.planner.nodes.FieldNode;
 import com.googlecode.paradox.results.Column;
 import com.googlecode.paradox.results.ParadoxType;
+import com.googlecode.paradox.rowset.ValuesConverter;
+
+import java.sql.Blob;
+import java.sql.SQLException;
 
 /**
  * The SQL OCTET_LENGTH function.
@@ -54,7 +58,7 @@ public class OctetLengthFunction extends AbstractStringFunction {
 
     @Override
     public Object execute(final ConnectionInfo connectionInfo, final Object[] values, final ParadoxType[] types,
-                          final FieldNode[] fields) {
+                          final FieldNode[] fields) throws SQLException {
         Object value = values[0];
         int ret = 0;
         switch (types[0]) {
@@ -74,7 +78,12 @@ public class OctetLengthFunction extends AbstractStringFunction {
             case GRAPHIC:
                 // Same as binary.
             case BYTES:
-                ret = ((byte[]) value).length;
+                if (value instanceof Blob) {
+                    // The values stored in MB files are not read here.
+                    ret = (int) ((Blob) value).length();
+                } else if (value != null) {
+                    ret = ValuesConverter.getByteArray(value, connectionInfo).length;
+                }
                 break;
             default:
                 // Uses the default size.
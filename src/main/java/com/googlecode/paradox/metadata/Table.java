@@ -10,13 +10,18 @@
  */
 package com.googlecode.paradox.metadata;
 
+import com.googlecode.paradox.data.RawCondition;
+
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * A generic table.
@@ -87,6 +92,65 @@ public interface Table {
      */
     List<Object[]> load(final Field[] fields) throws SQLException;
 
+    /**
+     * Scans the table rows. Unlike {@link #load(Field[])}, the rows may be read on demand while iterating.
+     *
+     * @param fields the fields to load.
+     * @return the all table rows filtered by {@code fields}.
+     * @throws SQLException in case of failures.
+     */
+    default Collection<Object[]> scan(final Field[] fields) throws SQLException {
+        return load(fields);
+    }
+
+    /**
+     * Scans the table rows accepted by a filter. The filter receives the rows with only {@code filterFields} values
+     * loaded, so the remaining fields can be decoded only in accepted rows.
+     *
+     * @param fields       the fields to load.
+     * @param filterFields the fields used by the filter.
+     * @param filter       the row filter.
+     * @param conditions   conditions that can be tested before decoding the row, also checked by {@code filter}.
+     * @return the table rows filtered by {@code fields} and {@code filter}.
+     * @throws SQLException in case of failures.
+     */
+    default Collection<Object[]> scan(final Field[] fields, final Field[] filterFields,
+                                      final Predicate<Object[]> filter, final RawCondition[] conditions)
+            throws SQLException {
+        return load(fields).stream().filter(filter).collect(Collectors.toList());
+    }
+
+    /**
+     * Scans the table rows using only an index storing all the fields, without reading the table rows.
+     *
+     * @param index        the covering index, found by {@link #findCoveringIndex(Field[])}.
+     * @param fields       the fields to load.
+     * @param filterFields the fields used by the filter.
+     * @param filter       the row filter, or {@code null} to read all rows.
+     * @param conditions   conditions that can be tested before decoding the row, also checked by {@code filter}.
+     * @return the table rows filtered by {@code fields} and {@code filter}.
+     * @throws SQLException in case of failures.
+     */
+    default Collection<Object[]> scan(final Index index, final Field[] fields, final Field[] filterFields,
+                                      final Predicate<Object[]> filter, final RawCondition[] conditions)
+            throws SQLException {
+        if (filter == null) {
+            return scan(fields);
+        }
+
+        return scan(fields, filterFields, filter, conditions);
+    }
+
+    /**
+     * Finds an index storing all the fields, usable to read these fields without reading the table rows.
+     *
+     * @param fields the fields to read.
+     * @return the index or {@code null} if there is no index with all the fields.
+     */
+    default Index findCoveringIndex(final Field[] fields) {
+        return null;
+    }
+
     /**
      * Gets the primary key index.
      *
@@ -11,6 +11,7 @@
 package com.googlecode.paradox.metadata;
 
 import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.data.DirectoryIndex;
 import com.googlecode.paradox.data.filefilters.SQLFilter;
 import com.googlecode.paradox.exceptions.ParadoxNotSupportedException;
 import com.googlecode.paradox.parser.SQLParser;
@@ -57,6 +58,21 @@ public class View implements Table {
      */
     private final String schemaName;
 
+    /**
+     * The view file, {@code null} if not loaded from a file.
+     */
+    private File file;
+
+    /**
+     * The view file modification time when loaded.
+     */
+    private long timestamp;
+
+    /**
+     * The view file length when loaded.
+     */
+    private long fileLength;
+
     /**
      * Select plan.
      */
@@ -104,6 +120,47 @@ public class View implements Table {
         return this.selectPlan;
     }
 
+    /**
+     * Gets the tables used by this view.
+     *
+     * @return the tables used by this view.
+     */
+    public List<Table> getReferencedTables() {
+        try {
+            return getSelectPlan().getReferencedTables();
+        } catch (final SQLException e) {
+            connectionInfo.addWarning(e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Gets the view file.
+     *
+     * @return the view file or {@code null} if not loaded from a file.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Gets the view file modification time when loaded.
+     *
+     * @return the view file modification time when loaded.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the view file length when loaded.
+     *
+     * @return the view file length when loaded.
+     */
+    public long getFileLength() {
+        return fileLength;
+    }
+
     @Override
     public String getName() {
         return name;
@@ -219,7 +276,8 @@ public class View implements Table {
         final List<View> views = new ArrayList<>();
 
         if (directory.isDirectory()) {
-            final File[] files = directory.listFiles(new SQLFilter(connectionInfo.getLocale()));
+            final File[] files = DirectoryIndex.listFiles(directory, new SQLFilter(connectionInfo.getLocale()),
+                    connectionInfo);
             if (files != null) {
                 Arrays.stream(files).filter(Objects::nonNull).forEach((File file) -> {
                     try {
@@ -269,8 +327,15 @@ public class View implements Table {
      */
     public static View load(final ConnectionInfo connectionInfo, final String schemaName, final File file)
             throws IOException {
+        // Read before the file, so a change while reading is found later.
+        final long lastModified = file.lastModified();
+        final long length = file.length();
         try (final FileInputStream fis = new FileInputStream(file)) {
-            return load(connectionInfo, schemaName, Utils.removeSuffix(file.getName()), fis);
+            final View view = load(connectionInfo, schemaName, Utils.removeSuffix(file.getName()), fis);
+            view.file = file;
+            view.timestamp = lastModified;
+            view.fileLength = length;
+            return view;
         }
     }
 }
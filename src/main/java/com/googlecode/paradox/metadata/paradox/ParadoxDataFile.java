@@ -250,6 +250,16 @@ public class ParadoxDataFile {
         this.blockSize = blockSize;
     }
 
+    /**
+     * Return the block size in bytes.
+     *
+     * @return the block size in bytes.
+     */
+    public int getBlockSizeBytes() {
+        // The blockSize is always in KiB.
+        return this.blockSize * 1_024;
+    }
+
     /**
      * Gets the charset.
      *
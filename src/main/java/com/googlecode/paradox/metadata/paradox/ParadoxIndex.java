@@ -69,6 +69,15 @@ public final class ParadoxIndex extends ParadoxDataFile implements Index {
         return Arrays.stream(fields).filter((Field field) -> filterFields(field, tableFields)).toArray(Field[]::new);
     }
 
+    /**
+     * Gets all fields stored in the index file: the index fields, the primary key fields and the table block number.
+     *
+     * @return the fields stored in the index file.
+     */
+    public Field[] getRecordFields() {
+        return this.fields;
+    }
+
     private static boolean filterFields(final Field field, final Set<Field> tableFields) {
         final Iterator<Field> i = tableFields.iterator();
         while (i.hasNext()) {
@@ -18,12 +18,13 @@ import com.googlecode.paradox.exceptions.ParadoxDataException;
 import com.googlecode.paradox.metadata.*;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Stores a table data file.
@@ -48,8 +49,23 @@ public final class ParadoxTable extends ParadoxDataFile implements Table {
      */
     private long timestamp;
 
+    /**
+     * The table file length when loaded.
+     */
+    private long fileLength;
+
     private ForeignKey[]     foreignKeys = new ForeignKey[0];
 
+    /**
+     * The foreign keys loader, used in the first access to the foreign keys.
+     */
+    private Supplier<ForeignKey[]> foreignKeysLoader;
+
+    /**
+     * The associated blob file (MB), {@code null} if not found yet.
+     */
+    private File blobFile;
+
     /**
      * Creates a new instance.
      *
@@ -61,13 +77,18 @@ public final class ParadoxTable extends ParadoxDataFile implements Table {
     }
 
     /**
-     * Gets the associated blob file (MB).
+     * Gets the associated blob file (MB). The file is searched only once by table.
      *
      * @return the associated blob file (MB).
      * @throws SQLException in case of failures.
      */
-    public FileInputStream openBlobs() throws SQLException {
-        final File[] fileList = file.getParentFile().listFiles(new TableFilter(connectionInfo.getLocale(), name, "mb"));
+    public File getBlobFile() throws SQLException {
+        if (blobFile != null) {
+            return blobFile;
+        }
+
+        final File[] fileList = DirectoryIndex.listFiles(file.getParentFile(),
+                new TableFilter(connectionInfo.getLocale(), name, "mb"), connectionInfo);
         if ((fileList == null) || (fileList.length == 0)) {
             throw new ParadoxDataException(DataError.BLOB_FILE_NOT_FOUND);
         }
@@ -76,12 +97,8 @@ public final class ParadoxTable extends ParadoxDataFile implements Table {
             throw new ParadoxDataException(DataError.TOO_MANY_BLOB_FILES);
         }
 
-        File blobFile = fileList[0];
-        try {
-            return new FileInputStream(blobFile);
-        } catch (final FileNotFoundException e) {
-            throw new ParadoxDataException(DataError.ERROR_OPENING_BLOB_FILE, e);
-        }
+        blobFile = fileList[0];
+        return blobFile;
     }
 
     /**
@@ -122,15 +139,31 @@ public final class ParadoxTable extends ParadoxDataFile implements Table {
         return TableData.loadData(this, fields);
     }
 
-    /**
-     * Return the block size in bytes.
-     *
-     * @return the block size in bytes.
-     */
     @Override
-    public int getBlockSizeBytes() {
-        // The blockSize is always in KiB.
-        return this.blockSize * 1_024;
+    public Collection<Object[]> scan(final Field[] fields) {
+        return new TableRows(this, fields);
+    }
+
+    @Override
+    public Collection<Object[]> scan(final Field[] fields, final Field[] filterFields,
+                                     final Predicate<Object[]> filter, final RawCondition[] conditions) {
+        return new TableRows(this, fields, filterFields, filter, conditions);
+    }
+
+    @Override
+    public Collection<Object[]> scan(final Index index, final Field[] fields, final Field[] filterFields,
+                                     final Predicate<Object[]> filter, final RawCondition[] conditions) {
+        if (index instanceof ParadoxIndex && IndexData.isUsable(this, (ParadoxIndex) index)) {
+            return new TableRows(this, (ParadoxIndex) index, fields, filterFields, filter, conditions);
+        }
+
+        // The index is out of date now.
+        return new TableRows(this, fields, filterFields, filter, conditions);
+    }
+
+    @Override
+    public Index findCoveringIndex(final Field[] fields) {
+        return IndexData.findCoveringIndex(this, fields);
     }
 
     /**
@@ -170,12 +203,45 @@ public final class ParadoxTable extends ParadoxDataFile implements Table {
         this.timestamp = timestamp;
     }
 
+    /**
+     * Gets the table file length when loaded.
+     *
+     * @return the table file length when loaded.
+     */
+    public long getFileLength() {
+        return fileLength;
+    }
+
+    /**
+     * Sets the table file length when loaded.
+     *
+     * @param fileLength the table file length when loaded.
+     */
+    public void setFileLength(final long fileLength) {
+        this.fileLength = fileLength;
+    }
+
     @Override
-    public ForeignKey[] getForeignKeys() {
+    public synchronized ForeignKey[] getForeignKeys() {
+        if (foreignKeysLoader != null) {
+            foreignKeys = foreignKeysLoader.get();
+            foreignKeysLoader = null;
+        }
+
         return foreignKeys;
     }
 
-    public void setForeignKeys(ForeignKey[] foreignKeys) {
+    public synchronized void setForeignKeys(ForeignKey[] foreignKeys) {
         this.foreignKeys = foreignKeys;
+        this.foreignKeysLoader = null;
+    }
+
+    /**
+     * Sets the foreign keys loader, used to resolve the referenced tables only when the foreign keys are needed.
+     *
+     * @param foreignKeysLoader the foreign keys loader.
+     */
+    public synchronized void setForeignKeysLoader(final Supplier<ForeignKey[]> foreignKeysLoader) {
+        this.foreignKeysLoader = foreignKeysLoader;
     }
 }
@@ -11,9 +11,9 @@
 package com.googlecode.paradox.metadata.schema;
 
 import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.data.DirectoryIndex;
 import com.googlecode.paradox.data.TableData;
 import com.googlecode.paradox.data.ValidationField;
-import com.googlecode.paradox.data.filefilters.TableFilter;
 import com.googlecode.paradox.metadata.ForeignKey;
 import com.googlecode.paradox.metadata.Schema;
 import com.googlecode.paradox.metadata.Table;
@@ -24,12 +24,15 @@ import com.googlecode.paradox.metadata.paradox.ParadoxValidation;
 import com.googlecode.paradox.utils.Utils;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * A directory schema.
@@ -43,7 +46,10 @@ public class DirectorySchema implements Schema {
      */
     private final File schemaFile;
 
-    private static final List<Table> TABLE_CACHE = new ArrayList<>();
+    /**
+     * The schema directory canonical path, used in table cache keys.
+     */
+    private final String schemaPath;
 
     /**
      * Create a directory schema.
@@ -52,6 +58,7 @@ public class DirectorySchema implements Schema {
      */
     public DirectorySchema(final File schemaFile) {
         this.schemaFile = schemaFile;
+        this.schemaPath = TableCache.path(schemaFile);
     }
 
     @Override
@@ -59,55 +66,42 @@ public class DirectorySchema implements Schema {
         final List<Table> ret = new ArrayList<>();
         ret.addAll(TableData.listTables(this, tablePattern, connectionInfo));
         ret.addAll(View.listViews(schemaFile, tablePattern, connectionInfo));
-        updateCache(connectionInfo);
-        updateReferences(connectionInfo, ret);
         return ret;
     }
 
-    private void updateReferences(ConnectionInfo connectionInfo, final List<Table> tables) {
-        for (ParadoxTable table : tables.stream().filter(ParadoxTable.class::isInstance).map(t -> (ParadoxTable) t).collect(Collectors.toList())) {
-            ParadoxValidation validation = table.getValidation();
-            List<ForeignKey> foreignKeys = new ArrayList<>();
-
-            // FIXME review this mess
-
-            if (validation != null) {
-                for (ValidationField validationField : validation.getFields()) {
-                    // Dependent table
-                    Arrays.stream(table.getFields()).filter(f -> Objects.equals(f.getName(), validationField.getName())).findFirst().ifPresent(field -> {
-                        if (validationField.getReferencedTableName() != null) {
-                            String destinationTableName = Utils.removeSuffix(validationField.getReferencedTableName(), "DB");
-                            Table referencedTable = TABLE_CACHE.stream().filter(t -> t.getName().equalsIgnoreCase(destinationTableName)).findFirst().orElse(null);
-                            if (referencedTable == null) {
-                                List<Table> newTables = TableData.listTables(this, destinationTableName, connectionInfo);
-                                TABLE_CACHE.addAll(newTables);
-                                referencedTable = newTables.stream().findFirst().orElse(null);
-                            }
-
-                            validationField.setReferencedTable((ParadoxTable) referencedTable);
-                            foreignKeys.add(new ForeignKey(field, validationField));
-                        }
-                    });
-                }
-
-                if (validation.getReferentialIntegrity() != null) {
-                    for (ParadoxReferentialIntegrity fk : validation.getReferentialIntegrity()) {
-                        String destinationTableName = Utils.removeSuffix(fk.getDestinationTableName(), "DB");
-                        Table referencedTable = TABLE_CACHE.stream().filter(t -> t.getName().equalsIgnoreCase(destinationTableName)).findFirst().orElse(null);
-                        if (referencedTable == null) {
-                            List<Table> newTables = TableData.listTables(this, destinationTableName, connectionInfo);
-                            TABLE_CACHE.addAll(newTables);
-                            referencedTable = newTables.stream().findFirst().orElse(null);
-                        }
-                        fk.setDestinationTable((ParadoxTable) referencedTable);
-
-                        foreignKeys.add(new ForeignKey(table, fk));
+    /**
+     * Loads the table foreign keys, resolving only the referenced tables.
+     *
+     * @param table          the table.
+     * @param connectionInfo the connection information.
+     * @return the table foreign keys.
+     */
+    public ForeignKey[] loadForeignKeys(final ParadoxTable table, final ConnectionInfo connectionInfo) {
+        ParadoxValidation validation = table.getValidation();
+        List<ForeignKey> foreignKeys = new ArrayList<>();
+
+        if (validation != null) {
+            for (ValidationField validationField : validation.getFields()) {
+                // Dependent table
+                Arrays.stream(table.getFields()).filter(f -> Objects.equals(f.getName(), validationField.getName())).findFirst().ifPresent(field -> {
+                    if (validationField.getReferencedTableName() != null) {
+                        String destinationTableName = Utils.removeSuffix(validationField.getReferencedTableName(), "DB");
+                        validationField.setReferencedTable(findParadoxTable(connectionInfo, destinationTableName));
+                        foreignKeys.add(new ForeignKey(field, validationField));
                     }
-                }
+                });
             }
 
-            table.setForeignKeys(foreignKeys.toArray(new ForeignKey[0]));
+            if (validation.getReferentialIntegrity() != null) {
+                for (ParadoxReferentialIntegrity fk : validation.getReferentialIntegrity()) {
+                    String destinationTableName = Utils.removeSuffix(fk.getDestinationTableName(), "DB");
+                    fk.setDestinationTable(findParadoxTable(connectionInfo, destinationTableName));
+                    foreignKeys.add(new ForeignKey(table, fk));
+                }
+            }
         }
+
+        return foreignKeys.toArray(new ForeignKey[0]);
     }
 
     @Override
@@ -122,42 +116,135 @@ public class DirectorySchema implements Schema {
 
     @Override
     public Table findTable(final ConnectionInfo connectionInfo, final String tableName) {
-        final List<Table> tables = new ArrayList<>();
-        tables.addAll(TableData.listTables(this, null, connectionInfo));
-        tables.addAll(View.search(connectionInfo, name(), schemaFile));
-        Table ret = tables.stream().filter(table -> tableName.equalsIgnoreCase(table.getName())).findFirst().orElse(null);
-        updateCache(connectionInfo);
-        updateReferences(connectionInfo, tables);
-        return ret;
+        final ParadoxTable table = findParadoxTable(connectionInfo, tableName);
+        if (table != null) {
+            return table;
+        }
+
+        final File file = findFile(connectionInfo, tableName, "sql");
+        if (file != null) {
+            try {
+                return View.load(connectionInfo, name(), file);
+            } catch (final IOException e) {
+                connectionInfo.addWarning(e);
+            }
+        }
+
+        return null;
     }
 
-    public File getSchemaFile() {
-        return schemaFile;
+    /**
+     * Finds a Paradox table reading only its own files.
+     *
+     * @param connectionInfo the connection information.
+     * @param tableName      the table name.
+     * @return the table or {@code null} if not found.
+     */
+    private ParadoxTable findParadoxTable(final ConnectionInfo connectionInfo, final String tableName) {
+        final File file = findFile(connectionInfo, tableName, "db");
+        if (file != null) {
+            try {
+                final ParadoxTable table = TableData.loadTable(this, file, connectionInfo);
+                TableData.saveMetadataCache(this, connectionInfo);
+                return table;
+            } catch (final SQLException e) {
+                connectionInfo.addWarning(e);
+            }
+        }
+
+        return null;
     }
 
-    private void updateCache(ConnectionInfo connectionInfo) {
-        final File[] files = schemaFile.listFiles(new TableFilter(connectionInfo.getLocale(), null));
-        if (files != null) {
-            final List<String> fileList = Arrays.stream(files).map(file -> Utils.removeSuffix(file.getName(), "DB")).collect(Collectors.toList());
-            TABLE_CACHE.removeIf(t -> !fileList.contains(t.getName()));
+    /**
+     * Finds a file in schema directory by name, ignoring case.
+     * <p>
+     * The usual upper and lower case names are tested directly, so the directory is listed only for mixed case
+     * file names. With {@code directory_watch} enabled, the name is searched only in the directory index.
+     *
+     * @param connectionInfo the connection information.
+     * @param name           the file name without extension.
+     * @param extension      the file extension.
+     * @return the file or {@code null} if not found.
+     */
+    private File findFile(final ConnectionInfo connectionInfo, final String name, final String extension) {
+        if (name.indexOf('/') >= 0 || name.indexOf('\\') >= 0) {
+            return null;
+        }
+
+        final String fileName = name + "." + extension;
+        final String[] candidates;
+        if (DirectoryIndex.isEnabled(connectionInfo)) {
+            candidates = new String[0];
         } else {
-            TABLE_CACHE.clear();
+            candidates = new String[]{
+                    name + "." + extension.toUpperCase(Locale.ROOT),
+                    name + "." + extension,
+                    fileName.toUpperCase(Locale.ROOT),
+                    fileName.toLowerCase(Locale.ROOT)
+            };
+        }
+
+        for (final String candidate : candidates) {
+            final File file = new File(schemaFile, candidate);
+            if (file.isFile()) {
+                try {
+                    // Use the name stored in disk in case-insensitive file systems, keeping links as they are.
+                    final Path realPath = file.toPath().toRealPath(LinkOption.NOFOLLOW_LINKS);
+                    return new File(schemaFile, realPath.getFileName().toString());
+                } catch (final IOException e) {
+                    return file;
+                }
+            }
         }
-    }
 
-    public Table getFromCache(File file) {
-        String tableName = Utils.removeSuffix(file.getName(), "DB");
-        Table cachedTable = TABLE_CACHE.stream().filter(table -> table.getName().equals(tableName)).findFirst().orElse(null);
-        if (cachedTable != null && ((ParadoxTable) cachedTable).getTimestamp() >= file.lastModified()) {
-            return cachedTable;
+        final File[] files = DirectoryIndex.listFiles(schemaFile,
+                file -> file.getName().equalsIgnoreCase(fileName) && file.isFile(), connectionInfo);
+        if (files != null && files.length > 0) {
+            Arrays.sort(files);
+            return files[0];
         }
 
         return null;
     }
 
-    public void addCache(ParadoxTable table, long lastModified) {
+    public File getSchemaFile() {
+        return schemaFile;
+    }
+
+    /**
+     * Gets a table from the shared table cache.
+     *
+     * @param file           the table file.
+     * @param connectionInfo the connection information.
+     * @return the cached table or {@code null} if not found or changed.
+     */
+    public ParadoxTable getFromCache(final File file, final ConnectionInfo connectionInfo) {
+        return TableCache.getInstance().get(cachePath(file), file, connectionInfo);
+    }
+
+    /**
+     * Stores a table in the shared table cache.
+     *
+     * @param file           the table file.
+     * @param table          the loaded table.
+     * @param lastModified   the file modification time before the table was loaded.
+     * @param length         the file length before the table was loaded.
+     * @param connectionInfo the connection information.
+     */
+    public void addCache(final File file, final ParadoxTable table, final long lastModified, final long length,
+                         final ConnectionInfo connectionInfo) {
         table.setTimestamp(lastModified);
-        TABLE_CACHE.removeIf(t -> t.getName().equals(table.getName()));
-        TABLE_CACHE.add(table);
+        table.setFileLength(length);
+        TableCache.getInstance().put(cachePath(file), table, lastModified, length, connectionInfo);
+    }
+
+    /**
+     * Gets the table cache key of a file in this schema.
+     *
+     * @param file the table file.
+     * @return the table cache key.
+     */
+    private String cachePath(final File file) {
+        return schemaPath + File.separator + file.getName();
     }
 }
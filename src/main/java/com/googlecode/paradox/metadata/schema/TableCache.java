@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.metadata.schema;
+
+import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+import com.googlecode.paradox.utils.Utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process wide LRU cache of table definitions, shared by all connections.
+ * <p>
+ * The tables are stored by canonical file path with the file modification time and length read before the header
+ * was loaded. A table whose file was changed is discarded and loaded again. The cache size is limited by the
+ * {@code table_cache_size} of the connection that stores the table.
+ * <p>
+ * A table reads the settings of the connection that loaded it, so the key also has these settings: connections with
+ * other settings never share a table.
+ *
+ * @since 1.6.3
+ */
+public final class TableCache {
+
+    /**
+     * The shared instance.
+     */
+    private static final TableCache INSTANCE = new TableCache();
+
+    /**
+     * The cached tables in access order, by path and connection settings.
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(0x10, 0.75F, true);
+
+    /**
+     * Cache hits.
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * Cache misses.
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Tables removed to respect the cache size.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a new instance.
+     */
+    private TableCache() {
+        super();
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the shared instance.
+     */
+    public static TableCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the canonical path of a file to use as cache key.
+     *
+     * @param file the file.
+     * @return the canonical path or the absolute path if it can not be resolved.
+     */
+    public static String path(final File file) {
+        try {
+            return file.getCanonicalPath();
+        } catch (@SuppressWarnings("java:S1166") final IOException e) {
+            return file.getAbsolutePath();
+        }
+    }
+
+    /**
+     * Gets the cache key of a table: the path and the connection settings used by the table.
+     *
+     * @param path           the table file canonical path.
+     * @param connectionInfo the connection information.
+     * @return the cache key.
+     */
+    private static String key(final String path, final ConnectionInfo connectionInfo) {
+        return path + File.pathSeparator + connectionInfo.getTableSettings();
+    }
+
+    /**
+     * Gets a cached table.
+     *
+     * @param path           the table file canonical path.
+     * @param file           the table file.
+     * @param connectionInfo the connection information.
+     * @return the cached table or {@code null} if not found or changed.
+     */
+    public ParadoxTable get(final String path, final File file, final ConnectionInfo connectionInfo) {
+        if (connectionInfo.getTableCacheSize() <= 0) {
+            return null;
+        }
+
+        final String key = key(path, connectionInfo);
+        final long lastModified = file.lastModified();
+        final long length = file.length();
+        synchronized (this) {
+            final Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.lastModified == lastModified && entry.length == length) {
+                    hits.incrementAndGet();
+                    return entry.table;
+                }
+
+                // The file was changed.
+                entries.remove(key);
+            }
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores a table in cache.
+     *
+     * @param path           the table file canonical path.
+     * @param table          the table to store.
+     * @param lastModified   the file modification time before the table was loaded.
+     * @param length         the file length before the table was loaded.
+     * @param connectionInfo the connection information.
+     */
+    public void put(final String path, final ParadoxTable table, final long lastModified, final long length,
+                    final ConnectionInfo connectionInfo) {
+        final int maxSize = connectionInfo.getTableCacheSize();
+        if (maxSize <= 0) {
+            return;
+        }
+
+        synchronized (this) {
+            entries.put(key(path, connectionInfo), new Entry(path, table, lastModified, length));
+
+            final Iterator<Entry> iterator = entries.values().iterator();
+            while (entries.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Removes the cached tables of a directory.
+     *
+     * @param directoryPath the directory canonical path.
+     * @param tableName     the table name to remove or {@code null} to remove all tables in directory.
+     */
+    public synchronized void invalidate(final String directoryPath, final String tableName) {
+        final String prefix = directoryPath + File.separator;
+        entries.values().removeIf(entry -> entry.path.startsWith(prefix) && (tableName == null
+                || tableName.equalsIgnoreCase(Utils.removeSuffix(entry.path.substring(prefix.length())))));
+    }
+
+    /**
+     * Removes all cached tables.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the cache hit count.
+     *
+     * @return the cache hit count.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the cache miss count.
+     *
+     * @return the cache miss count.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the count of tables removed to respect the cache size.
+     *
+     * @return the eviction count.
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Gets the cached table count.
+     *
+     * @return the cached table count.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Cache entry.
+     */
+    private static final class Entry {
+
+        /**
+         * The table file canonical path.
+         */
+        private final String path;
+
+        /**
+         * The cached table.
+         */
+        private final ParadoxTable table;
+
+        /**
+         * The file modification time.
+         */
+        private final long lastModified;
+
+        /**
+         * The file length.
+         */
+        private final long length;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param path         the table file canonical path.
+         * @param table        the cached table.
+         * @param lastModified the file modification time.
+         * @param length       the file length.
+         */
+        private Entry(final String path, final ParadoxTable table, final long lastModified, final long length) {
+            this.path = path;
+            this.table = table;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+    }
+}
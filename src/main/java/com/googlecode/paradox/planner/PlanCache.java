@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.planner;
+
+import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.metadata.Schema;
+import com.googlecode.paradox.metadata.Table;
+import com.googlecode.paradox.metadata.View;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+import com.googlecode.paradox.planner.plan.Plan;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process wide LRU cache of execution plans, shared by all connections.
+ * <p>
+ * The plans are stored by connection URL, table settings, current schema and SQL text. A plan is discarded and planned
+ * again when the modification time or the length of a table or view file used by the plan (or by its views) is not the
+ * one read when the table or view was loaded. The cache size is limited by the {@code plan_cache_size} of the
+ * connection that stores the plan.
+ *
+ * @since 1.6.3
+ */
+public final class PlanCache {
+
+    /**
+     * The shared instance.
+     */
+    private static final PlanCache INSTANCE = new PlanCache();
+
+    /**
+     * The cached plans in access order.
+     */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(0x10, 0.75F, true);
+
+    /**
+     * Cache hits.
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * Cache misses.
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Plans removed to respect the cache size.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Plans removed because the table files were changed.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Creates a new instance.
+     */
+    private PlanCache() {
+        super();
+    }
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return the shared instance.
+     */
+    public static PlanCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets a cached plan.
+     *
+     * @param connectionInfo the connection information.
+     * @param sql            the SQL text.
+     * @return the cached plan or {@code null} if not found or changed.
+     */
+    @SuppressWarnings("java:S1452")
+    public Plan<?, ?> get(final ConnectionInfo connectionInfo, final String sql) {
+        if (connectionInfo.getPlanCacheSize() <= 0) {
+            return null;
+        }
+
+        final Key key = new Key(connectionInfo, sql);
+        final Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+
+        if (entry != null) {
+            if (entry.isValid()) {
+                hits.incrementAndGet();
+                return entry.plan;
+            }
+
+            synchronized (this) {
+                entries.remove(key, entry);
+            }
+
+            invalidations.incrementAndGet();
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores a plan in cache.
+     *
+     * @param connectionInfo the connection information.
+     * @param sql            the SQL text.
+     * @param plan           the plan to store.
+     */
+    public void put(final ConnectionInfo connectionInfo, final String sql, final Plan<?, ?> plan) {
+        final int maxSize = connectionInfo.getPlanCacheSize();
+        if (maxSize <= 0) {
+            return;
+        }
+
+        final List<Dependency> dependencies = new ArrayList<>();
+        addDependencies(plan.getReferencedTables(), dependencies, new HashSet<>());
+
+        final Entry entry = new Entry(plan, dependencies.toArray(new Dependency[0]));
+        synchronized (this) {
+            entries.put(new Key(connectionInfo, sql), entry);
+
+            final Iterator<Entry> iterator = entries.values().iterator();
+            while (entries.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Adds the table and view files used by a list of tables, including the files used by views.
+     *
+     * @param tables       the tables.
+     * @param dependencies the files found.
+     * @param visited      the tables already visited.
+     */
+    private static void addDependencies(final List<Table> tables, final List<Dependency> dependencies,
+                                        final Set<Table> visited) {
+        for (final Table table : tables) {
+            if (!visited.add(table)) {
+                continue;
+            }
+
+            if (table instanceof ParadoxTable) {
+                final ParadoxTable paradoxTable = (ParadoxTable) table;
+                dependencies.add(new Dependency(paradoxTable.getFile(), paradoxTable.getTimestamp(),
+                        paradoxTable.getFileLength()));
+            } else if (table instanceof View) {
+                final View view = (View) table;
+                if (view.getFile() != null) {
+                    dependencies.add(new Dependency(view.getFile(), view.getTimestamp(), view.getFileLength()));
+                }
+
+                addDependencies(view.getReferencedTables(), dependencies, visited);
+            }
+        }
+    }
+
+    /**
+     * Removes all cached plans.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the cache hit count.
+     *
+     * @return the cache hit count.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the cache miss count.
+     *
+     * @return the cache miss count.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the count of plans removed to respect the cache size.
+     *
+     * @return the eviction count.
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Gets the count of plans removed because the table files were changed.
+     *
+     * @return the invalidation count.
+     */
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    /**
+     * Gets the cached plan count.
+     *
+     * @return the cached plan count.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Cache key.
+     */
+    private static final class Key {
+
+        /**
+         * The connection URL.
+         */
+        private final String url;
+
+        /**
+         * The connection table settings.
+         */
+        private final String settings;
+
+        /**
+         * The current catalog name.
+         */
+        private final String catalog;
+
+        /**
+         * The current schema name.
+         */
+        private final String schema;
+
+        /**
+         * The SQL text.
+         */
+        private final String sql;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param connectionInfo the connection information.
+         * @param sql            the SQL text.
+         */
+        private Key(final ConnectionInfo connectionInfo, final String sql) {
+            final Schema currentSchema = connectionInfo.getCurrentSchema();
+            this.url = connectionInfo.getUrl();
+            this.settings = connectionInfo.getTableSettings();
+            if (currentSchema != null) {
+                this.catalog = currentSchema.catalogName();
+                this.schema = currentSchema.name();
+            } else {
+                this.catalog = null;
+                this.schema = null;
+            }
+
+            this.sql = sql;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            final Key key = (Key) o;
+            return sql.equals(key.sql) && Objects.equals(url, key.url) && settings.equals(key.settings)
+                    && Objects.equals(catalog, key.catalog) && Objects.equals(schema, key.schema);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(url, settings, catalog, schema, sql);
+        }
+    }
+
+    /**
+     * Cache entry.
+     */
+    private static final class Entry {
+
+        /**
+         * The cached plan.
+         */
+        private final Plan<?, ?> plan;
+
+        /**
+         * The files used by the plan.
+         */
+        private final Dependency[] dependencies;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param plan         the cached plan.
+         * @param dependencies the files used by the plan.
+         */
+        private Entry(final Plan<?, ?> plan, final Dependency[] dependencies) {
+            this.plan = plan;
+            this.dependencies = dependencies;
+        }
+
+        /**
+         * Checks if the table and view files were not changed.
+         *
+         * @return {@code true} if the table and view files were not changed.
+         */
+        private boolean isValid() {
+            return Arrays.stream(dependencies).allMatch(Dependency::isValid);
+        }
+    }
+
+    /**
+     * A table or view file used by a plan.
+     */
+    private static final class Dependency {
+
+        /**
+         * The file.
+         */
+        private final File file;
+
+        /**
+         * The file modification time when loaded.
+         */
+        private final long lastModified;
+
+        /**
+         * The file length when loaded.
+         */
+        private final long length;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param file         the file.
+         * @param lastModified the file modification time when loaded.
+         * @param length       the file length when loaded.
+         */
+        private Dependency(final File file, final long lastModified, final long length) {
+            this.file = file;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        /**
+         * Checks if the file was not changed.
+         *
+         * @return {@code true} if the file was not changed.
+         */
+        private boolean isValid() {
+            return file.lastModified() == lastModified && file.length() == length;
+        }
+    }
+}
@@ -11,10 +11,14 @@
 package com.googlecode.paradox.planner.context;
 
 import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.results.Column;
 import com.googlecode.paradox.results.ParadoxType;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
- * The SELECT execution context.
+ * The SELECT execution context. Holds the execution state, so the same plan can be executed by many threads.
  *
  * @version 1.0
  * @since 1.6.0
@@ -26,16 +30,23 @@ public class SelectContext extends Context {
      */
     private int maxRows;
 
+    /**
+     * The result set columns of this execution.
+     */
+    private final List<Column> columns;
+
     /**
      * Creates a new SELECT context.
      *
      * @param connectionInfo the connection information.
      * @param parameters     the parameter list.
      * @param parameterTypes the parameter type list.
+     * @param columns        the plan columns to copy for this execution.
      */
     public SelectContext(final ConnectionInfo connectionInfo, final Object[] parameters,
-                         final ParadoxType[] parameterTypes) {
+                         final ParadoxType[] parameterTypes, final List<Column> columns) {
         super(connectionInfo, parameters, parameterTypes);
+        this.columns = columns.stream().map(Column::new).collect(Collectors.toList());
     }
 
     /**
@@ -63,4 +74,13 @@ public class SelectContext extends Context {
     public void setMaxRows(int maxRows) {
         this.maxRows = maxRows;
     }
+
+    /**
+     * Gets the result set columns of this execution. The column types are set in execution.
+     *
+     * @return the result set columns.
+     */
+    public List<Column> getColumns() {
+        return columns;
+    }
 }
@@ -203,6 +203,22 @@ public class FunctionNode extends FieldNode {
      */
     public Object execute(final Context context, final Object[] row, final List<Column> loadedColumns)
             throws SQLException {
+        return execute(context, row, loadedColumns, null);
+    }
+
+    /**
+     * Execute  the function and gets the returned value type. The type may change in each execution based on
+     * parameter values, so it is returned to the caller instead of kept in this node.
+     *
+     * @param context       the execution context.
+     * @param row           the current row values.
+     * @param loadedColumns the list of loaded columns.
+     * @param resultType    an array to store the returned value type in first position or {@code null} to ignore.
+     * @return The function processed value.
+     * @throws SQLException in case of failures.
+     */
+    public Object execute(final Context context, final Object[] row, final List<Column> loadedColumns,
+                          final ParadoxType[] resultType) throws SQLException {
         final Object[] values = new Object[parameters.size()];
         final ParadoxType[] types = new ParadoxType[parameters.size()];
 
@@ -225,8 +241,9 @@ public class FunctionNode extends FieldNode {
                     values[i] = row[index];
                     types[i] = loadedColumns.get(index).getType();
                 } else {
-                    values[i] = functionNode.execute(context, row, loadedColumns);
-                    types[i] = functionNode.getType();
+                    final ParadoxType[] functionType = new ParadoxType[1];
+                    values[i] = functionNode.execute(context, row, loadedColumns, functionType);
+                    types[i] = functionType[0];
                 }
             } else if (param instanceof AsteriskNode) {
                 values[i] = param;
@@ -237,6 +254,10 @@ public class FunctionNode extends FieldNode {
             }
         }
 
+        if (resultType != null) {
+            resultType[0] = function.getFieldType(values, types);
+        }
+
         // Validate null parameter values.
         if (Stream.of(function.getColumns())
                 .filter(c -> c.getColumnType() == AbstractFunction.IN && !c.isNullable())
@@ -171,7 +171,7 @@ public class GroupByNode {
             return stream;
         }
 
-        // Is not possible to group in parallel.
+        // The groups are found by hash in one pass, but it is not possible to group in parallel.
         return stream.filter(FunctionalUtils.groupingByKeys(functionColumns, groupColumns, context.getConnectionInfo()))
                 .collect(Collectors.toList()).stream()
                 .filter(context.getCancelPredicate())
@@ -11,20 +11,27 @@
 package com.googlecode.paradox.planner.nodes;
 
 import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.data.RawCondition;
 import com.googlecode.paradox.exceptions.DataError;
 import com.googlecode.paradox.exceptions.ParadoxDataException;
 import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.metadata.Index;
 import com.googlecode.paradox.metadata.Schema;
 import com.googlecode.paradox.metadata.Table;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
 import com.googlecode.paradox.parser.nodes.*;
 import com.googlecode.paradox.planner.collections.FixedValueCollection;
+import com.googlecode.paradox.planner.plan.SelectUtils;
+import com.googlecode.paradox.planner.sorting.OrderType;
 import com.googlecode.paradox.results.Column;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Stores the execution plan table node.
@@ -57,6 +64,11 @@ public final class PlanTableNode {
      */
     private final Set<Column> columns = new HashSet<>();
 
+    /**
+     * The index storing all columns to load, {@code null} to read the table rows.
+     */
+    private Index index;
+
     /**
      * Creates a new instance.
      *
@@ -122,9 +134,97 @@ public final class PlanTableNode {
     public Collection<Object[]> load() throws SQLException {
         if (this.columns.isEmpty()) {
             return new FixedValueCollection<>(this.table.getRowCount(), new Object[0]);
+        } else if (this.index != null) {
+            // The joins may iterate over it many times.
+            return new ArrayList<>(table.scan(this.index, getFields(), null, null, null));
+        }
+
+        return table.load(getFields());
+    }
+
+    /**
+     * Gets the fields to load.
+     *
+     * @return the fields to load.
+     */
+    private Field[] getFields() {
+        return this.columns.stream().map(Column::getField).toArray(Field[]::new);
+    }
+
+    /**
+     * Uses an index storing all the columns to load, if there is one, so the table rows are never read.
+     */
+    public void useCoveringIndex() {
+        if (!this.columns.isEmpty()) {
+            this.index = table.findCoveringIndex(getFields());
+        }
+    }
+
+    /**
+     * Gets the covering index used to read this table.
+     *
+     * @return the covering index or {@code null} if the table rows are read.
+     */
+    public Index getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the index whose key order is the order of the table scan: the covering index or the Paradox primary key.
+     *
+     * @return the index or {@code null} if the scan order is unknown.
+     */
+    public Index getScanOrder() {
+        Index order = this.index;
+        if (order == null && this.table instanceof ParadoxTable) {
+            order = this.table.getPrimaryKeyIndex();
+        }
+
+        if (order == null || order.getOrder() != OrderType.ASC || order.getFields().length == 0) {
+            return null;
+        }
+
+        return order;
+    }
+
+    /**
+     * Gets the table access path description, used in plan output.
+     *
+     * @return the table access path description.
+     */
+    public String getAccessPath() {
+        if (index != null) {
+            return "INDEX ONLY SCAN " + this + " USING " + index.getName();
+        }
+
+        return "TABLE SCAN " + this;
+    }
+
+    /**
+     * Scans the table data. The rows are read on demand, so the returned collection must be iterated only once if
+     * possible.
+     * <p>
+     * If a filter is used, only the fields used in this table conditions are decoded before filtering. The other
+     * fields are decoded only in accepted rows.
+     *
+     * @param filter     the row filter, or {@code null} to read all rows.
+     * @param conditions the filter conditions that can be tested before decoding the rows.
+     * @return the table data.
+     * @throws SQLException in case of failures.
+     */
+    public Collection<Object[]> scan(final Predicate<Object[]> filter, final RawCondition[] conditions)
+            throws SQLException {
+        if (filter == null) {
+            if (this.columns.isEmpty()) {
+                return new FixedValueCollection<>(this.table.getRowCount(), new Object[0]);
+            }
+
+            return table.scan(this.index, getFields(), null, null, null);
         }
 
-        return table.load(this.columns.stream().map(Column::getField).toArray(Field[]::new));
+        final Field[] filterFields = SelectUtils.getConditionalFields(this, conditionalJoin).stream()
+                .map(Column::getField).toArray(Field[]::new);
+        return table.scan(this.index, getFields(), filterFields, filter, conditions);
     }
 
     /**
@@ -46,6 +46,15 @@ public final class BetweenNode extends AbstractComparableNode {
         this.first = first;
     }
 
+    /**
+     * Gets the first node.
+     *
+     * @return the first node.
+     */
+    public FieldNode getFirst() {
+        return first;
+    }
+
     @Override
     public String toString() {
         return this.field + " BETWEEN " + first + " AND " + last;
@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.planner.plan;
+
+import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.parser.nodes.AbstractConditionalNode;
+import com.googlecode.paradox.parser.nodes.SQLNode;
+import com.googlecode.paradox.planner.nodes.FieldNode;
+import com.googlecode.paradox.planner.nodes.FunctionNode;
+import com.googlecode.paradox.planner.nodes.ParameterNode;
+import com.googlecode.paradox.planner.nodes.ValueNode;
+import com.googlecode.paradox.planner.nodes.comparable.EqualsNode;
+import com.googlecode.paradox.planner.nodes.join.ANDNode;
+import com.googlecode.paradox.results.Column;
+import com.googlecode.paradox.rowset.ValuesComparator;
+import com.googlecode.paradox.rowset.ValuesConverter;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * The equality keys of a join condition, used to join the tables with a hash table instead of comparing all rows.
+ * <p>
+ * Only the {@code FIELD = FIELD} conditions comparing a field of the joined table with a field of the previous tables
+ * are used. The values are converted to keys using the same type rules of
+ * {@link ValuesComparator}, so values equals in the join condition always have the same
+ * key. The rows found by key must still be tested with the full join condition.
+ *
+ * @since 1.6.3
+ */
+final class HashJoin {
+
+    /**
+     * The key field indexes in the previous tables row.
+     */
+    private final int[] leftIndexes;
+
+    /**
+     * The key field indexes in the joined table row.
+     */
+    private final int[] rightIndexes;
+
+    /**
+     * The key types.
+     */
+    private final KeyType[] types;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param leftIndexes  the key field indexes in the previous tables row.
+     * @param rightIndexes the key field indexes in the joined table row.
+     * @param types        the key types.
+     */
+    private HashJoin(final int[] leftIndexes, final int[] rightIndexes, final KeyType[] types) {
+        this.leftIndexes = leftIndexes;
+        this.rightIndexes = rightIndexes;
+        this.types = types;
+    }
+
+    /**
+     * Creates the hash join keys of a join condition.
+     *
+     * @param condition     the join condition.
+     * @param columnsLoaded the columns loaded until the joined table.
+     * @param leftSize      the column count of the previous tables.
+     * @return the hash join keys or {@code null} if there is no equality condition to use.
+     */
+    static HashJoin of(final AbstractConditionalNode condition, final List<Column> columnsLoaded,
+                       final int leftSize) {
+        final List<SQLNode> nodes;
+        if (condition instanceof ANDNode) {
+            nodes = condition.getChildren();
+        } else if (condition != null) {
+            nodes = Collections.singletonList(condition);
+        } else {
+            return null;
+        }
+
+        final List<Integer> left = new ArrayList<>();
+        final List<Integer> right = new ArrayList<>();
+        final List<KeyType> keyTypes = new ArrayList<>();
+        for (final SQLNode node : nodes) {
+            if (!(node instanceof EqualsNode)) {
+                continue;
+            }
+
+            final EqualsNode equals = (EqualsNode) node;
+            int first = getIndex(equals.getField(), columnsLoaded);
+            int last = getIndex(equals.getLast(), columnsLoaded);
+            if (first >= leftSize) {
+                final int temp = first;
+                first = last;
+                last = temp;
+            }
+
+            if (first < 0 || first >= leftSize || last < leftSize) {
+                // Not a field from each side.
+                continue;
+            }
+
+            final KeyType type = KeyType.of(columnsLoaded.get(first).getType().getJavaClass(),
+                    columnsLoaded.get(last).getType().getJavaClass());
+            if (type != null) {
+                left.add(first);
+                right.add(last - leftSize);
+                keyTypes.add(type);
+            }
+        }
+
+        if (keyTypes.isEmpty()) {
+            return null;
+        }
+
+        return new HashJoin(left.stream().mapToInt(Integer::intValue).toArray(),
+                right.stream().mapToInt(Integer::intValue).toArray(), keyTypes.toArray(new KeyType[0]));
+    }
+
+    /**
+     * Gets the loaded column index of a table field node.
+     *
+     * @param node          the node.
+     * @param columnsLoaded the loaded columns.
+     * @return the column index or -1 if it is not a table field.
+     */
+    private static int getIndex(final FieldNode node, final List<Column> columnsLoaded) {
+        if (node == null || node instanceof ValueNode || node instanceof ParameterNode
+                || node instanceof FunctionNode || node.getIndex() >= columnsLoaded.size()) {
+            return -1;
+        }
+
+        return node.getIndex();
+    }
+
+    /**
+     * Gets the key of a row from the previous tables.
+     *
+     * @param row            the row.
+     * @param connectionInfo the connection information.
+     * @return the key or {@code null} if the row can not be joined.
+     */
+    Object getLeftKey(final Object[] row, final ConnectionInfo connectionInfo) {
+        return getKey(row, leftIndexes, connectionInfo);
+    }
+
+    /**
+     * Gets the key of a row from the joined table.
+     *
+     * @param row            the row.
+     * @param connectionInfo the connection information.
+     * @return the key or {@code null} if the row can not be joined.
+     */
+    Object getRightKey(final Object[] row, final ConnectionInfo connectionInfo) {
+        return getKey(row, rightIndexes, connectionInfo);
+    }
+
+    /**
+     * Gets a row key.
+     *
+     * @param row            the row.
+     * @param indexes        the key field indexes.
+     * @param connectionInfo the connection information.
+     * @return the key or {@code null} if some value is null.
+     */
+    private Object getKey(final Object[] row, final int[] indexes, final ConnectionInfo connectionInfo) {
+        if (indexes.length == 1) {
+            return types[0].toKey(row[indexes[0]], connectionInfo);
+        }
+
+        final Object[] key = new Object[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            key[i] = types[i].toKey(row[indexes[i]], connectionInfo);
+            if (key[i] == null) {
+                // Null values are never equals.
+                return null;
+            }
+        }
+
+        return Arrays.asList(key);
+    }
+
+    /**
+     * Gets a merge join on one of these keys.
+     *
+     * @param leftIndex  the key field index in the previous tables row.
+     * @param rightIndex the key field index in the joined table row.
+     * @return the merge join or {@code null} if these fields are not a join key.
+     */
+    MergeJoin getMergeJoin(final int leftIndex, final int rightIndex) {
+        for (int i = 0; i < types.length; i++) {
+            if (leftIndexes[i] == leftIndex && rightIndexes[i] == rightIndex) {
+                return new MergeJoin(leftIndex, rightIndex, types[i]);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * The key value types. All keys of the same type are comparable and the conversion keeps the value order.
+     */
+    enum KeyType {
+
+        /**
+         * Double values, compared with the values comparator epsilon.
+         */
+        DOUBLE {
+            @Override
+            Object convert(final Object value, final ConnectionInfo connectionInfo) {
+                return ValuesComparator.doubleKey(ValuesConverter.getDouble(value, connectionInfo));
+            }
+        },
+
+        /**
+         * Decimal values, compared without scale.
+         */
+        DECIMAL {
+            @Override
+            Object convert(final Object value, final ConnectionInfo connectionInfo) {
+                return ValuesComparator.decimalKey(ValuesConverter.getBigDecimal(value, connectionInfo));
+            }
+        },
+
+        /**
+         * Integer values.
+         */
+        LONG {
+            @Override
+            Object convert(final Object value, final ConnectionInfo connectionInfo) {
+                return ValuesConverter.getLong(value, connectionInfo);
+            }
+        },
+
+        /**
+         * String values.
+         */
+        STRING {
+            @Override
+            Object convert(final Object value, final ConnectionInfo connectionInfo) {
+                return ValuesConverter.getString(value, connectionInfo);
+            }
+        },
+
+        /**
+         * Boolean values.
+         */
+        BOOLEAN {
+            @Override
+            Object convert(final Object value, final ConnectionInfo connectionInfo) {
+                return ValuesConverter.getBoolean(value, connectionInfo);
+            }
+        },
+
+        /**
+         * Date values.
+         */
+        DATE {
+            @Override
+            Object convert(final Object value, final ConnectionInfo connectionInfo) {
+                return ValuesConverter.getDate(value, connectionInfo);
+            }
+        },
+
+        /**
+         * Time values.
+         */
+        TIME {
+            @Override
+            Object convert(final Object value, final ConnectionInfo connectionInfo) {
+                return ValuesConverter.getTime(value, connectionInfo);
+            }
+        },
+
+        /**
+         * Timestamp values.
+         */
+        TIMESTAMP {
+            @Override
+            Object convert(final Object value, final ConnectionInfo connectionInfo) {
+                return ValuesConverter.getTimestamp(value, connectionInfo);
+            }
+        };
+
+        /**
+         * Gets the key type to compare two field types.
+         *
+         * @param first  the first field class.
+         * @param second the second field class.
+         * @return the key type or {@code null} if these types can not be compared by key.
+         */
+        static KeyType of(final Class<?> first, final Class<?> second) {
+            if (isNumber(first) && isNumber(second)) {
+                // The same precedence of values comparator.
+                if (first == Double.class || second == Double.class) {
+                    return DOUBLE;
+                } else if (first == BigDecimal.class || second == BigDecimal.class) {
+                    return DECIMAL;
+                }
+
+                return LONG;
+            } else if (first != second) {
+                return null;
+            } else if (first == String.class) {
+                return STRING;
+            } else if (first == Boolean.class) {
+                return BOOLEAN;
+            } else if (first == Date.class) {
+                return DATE;
+            } else if (first == Time.class) {
+                return TIME;
+            } else if (first == Timestamp.class) {
+                return TIMESTAMP;
+            }
+
+            return null;
+        }
+
+        /**
+         * Checks for numeric field class.
+         *
+         * @param type the field class.
+         * @return {@code true} if the class is numeric.
+         */
+        private static boolean isNumber(final Class<?> type) {
+            return type == Integer.class || type == Double.class || type == BigDecimal.class;
+        }
+
+        /**
+         * Converts a value to key.
+         *
+         * @param value          the value.
+         * @param connectionInfo the connection information.
+         * @return the key or {@code null} if the value is null or can not be converted.
+         */
+        Object toKey(final Object value, final ConnectionInfo connectionInfo) {
+            if (value == null) {
+                return null;
+            }
+
+            try {
+                return convert(value, connectionInfo);
+            } catch (@SuppressWarnings("java:S1166") final IllegalArgumentException e) {
+                // Not equals to any value in values comparator.
+                return null;
+            }
+        }
+
+        /**
+         * Converts a not null value to key.
+         *
+         * @param value          the value.
+         * @param connectionInfo the connection information.
+         * @return the key.
+         */
+        abstract Object convert(final Object value, final ConnectionInfo connectionInfo);
+    }
+}
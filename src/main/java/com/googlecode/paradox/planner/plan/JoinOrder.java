@@ -0,0 +1,570 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.planner.plan;
+
+import com.googlecode.paradox.metadata.Table;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+import com.googlecode.paradox.parser.nodes.AbstractConditionalNode;
+import com.googlecode.paradox.parser.nodes.AsteriskNode;
+import com.googlecode.paradox.parser.nodes.JoinType;
+import com.googlecode.paradox.parser.nodes.SQLNode;
+import com.googlecode.paradox.planner.nodes.FieldNode;
+import com.googlecode.paradox.planner.nodes.FunctionNode;
+import com.googlecode.paradox.planner.nodes.ParameterNode;
+import com.googlecode.paradox.planner.nodes.PlanTableNode;
+import com.googlecode.paradox.planner.nodes.ValueNode;
+import com.googlecode.paradox.planner.nodes.comparable.AbstractComparableNode;
+import com.googlecode.paradox.planner.nodes.comparable.EqualsNode;
+import com.googlecode.paradox.planner.nodes.join.ANDNode;
+
+import java.util.*;
+
+/**
+ * Chooses the join order of the tables with a cost model.
+ * <p>
+ * Only the first tables joined by INNER or CROSS joins are reordered, so the outer joins are always processed after
+ * the same tables. These tables must be Paradox tables: the row count of views and system tables is found by running
+ * their queries. The estimates use the table row count, used blocks and record size: the first table is filtered
+ * while read, and the other tables are fully decoded and compared with the previous rows, by hash when there is a
+ * field equality. Each condition is moved to the last of its tables in the new order, or to the last reordered
+ * table if its fields are not found in the tables before it.
+ *
+ * @since 1.6.3
+ */
+final class JoinOrder {
+
+    /**
+     * Max table count to search all join orders. Above it, the next table is chosen by the lowest cost.
+     */
+    private static final int EXHAUSTIVE_LIMIT = 8;
+
+    /**
+     * Max table count to reorder.
+     */
+    private static final int MAX_TABLES = Integer.SIZE - 2;
+
+    /**
+     * The estimates are rough, so the FROM order (and its row order) is kept unless the cost is reduced by this factor.
+     */
+    private static final double REORDER_FACTOR = 0.5;
+
+    /**
+     * Record size processed as one row cost.
+     */
+    private static final double ROW_BYTES = 64;
+
+    /**
+     * Cost to add a row in a hash table, compared to probe it.
+     */
+    private static final double BUILD_COST = 2;
+
+    /**
+     * Selectivity of a field compared by equality with a value.
+     */
+    private static final double EQUALS_SELECTIVITY = 0.1;
+
+    /**
+     * Selectivity of other comparisons.
+     */
+    private static final double COMPARISON_SELECTIVITY = 1D / 3;
+
+    /**
+     * Selectivity of any other condition.
+     */
+    private static final double DEFAULT_SELECTIVITY = 0.5;
+
+    /**
+     * The estimated row count of each table.
+     */
+    private final double[] rows;
+
+    /**
+     * The cost to read the blocks of each table.
+     */
+    private final double[] readCost;
+
+    /**
+     * The cost to decode a row of each table.
+     */
+    private final double[] decodeCost;
+
+    /**
+     * The conditions of the tables to reorder.
+     */
+    private final List<Clause> clauses;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param tables  the tables to reorder.
+     * @param clauses the conditions of the tables.
+     */
+    private JoinOrder(final List<PlanTableNode> tables, final List<Clause> clauses) {
+        this.clauses = clauses;
+        this.rows = new double[tables.size()];
+        this.readCost = new double[tables.size()];
+        this.decodeCost = new double[tables.size()];
+        for (int i = 0; i < tables.size(); i++) {
+            final ParadoxTable table = (ParadoxTable) tables.get(i).getTable();
+            this.rows[i] = Math.max(1, table.getRowCount());
+            this.readCost[i] = table.getUsedBlocks();
+            this.decodeCost[i] = Math.max(1, table.getRecordSize() / ROW_BYTES);
+        }
+
+        for (final Clause clause : clauses) {
+            clause.selectivity = getSelectivity(clause);
+        }
+    }
+
+    /**
+     * Reorders the first INNER or CROSS joined tables in the cheapest estimated order.
+     *
+     * @param tables the plan tables.
+     */
+    static void optimize(final List<PlanTableNode> tables) {
+        int size = 1;
+        while (size < tables.size() && size < MAX_TABLES && isInner(tables.get(size).getJoinType())) {
+            size++;
+        }
+
+        if (size < 2) {
+            return;
+        }
+
+        final List<PlanTableNode> inner = tables.subList(0, size);
+        if (!isParadoxTables(inner)) {
+            return;
+        }
+
+        final List<Clause> clauses = getClauses(inner, tables);
+        if (clauses == null) {
+            return;
+        }
+
+        final JoinOrder joinOrder = new JoinOrder(inner, clauses);
+        final int[] order;
+        if (size <= EXHAUSTIVE_LIMIT) {
+            order = joinOrder.search();
+        } else {
+            order = joinOrder.greedy();
+        }
+
+        final int[] original = new int[size];
+        for (int i = 0; i < size; i++) {
+            original[i] = i;
+        }
+
+        if (joinOrder.getCost(order) < joinOrder.getCost(original) * REORDER_FACTOR) {
+            apply(inner, clauses, order);
+        }
+    }
+
+    /**
+     * Checks for joins that can be reordered.
+     *
+     * @param joinType the join type.
+     * @return {@code true} for INNER and CROSS joins.
+     */
+    private static boolean isInner(final JoinType joinType) {
+        return joinType == JoinType.INNER || joinType == JoinType.CROSS;
+    }
+
+    /**
+     * Checks for distinct Paradox tables. The fields of the same table joined twice can not be told apart by table.
+     *
+     * @param tables the tables to check.
+     * @return {@code true} if all tables are distinct Paradox tables.
+     */
+    private static boolean isParadoxTables(final List<PlanTableNode> tables) {
+        final Set<Table> found = new HashSet<>();
+        for (final PlanTableNode table : tables) {
+            if (!(table.getTable() instanceof ParadoxTable) || !found.add(table.getTable())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the conditions of the tables to reorder.
+     *
+     * @param inner  the tables to reorder.
+     * @param tables all plan tables.
+     * @return the conditions or {@code null} if some condition uses a field not found in these tables.
+     */
+    private static List<Clause> getClauses(final List<PlanTableNode> inner, final List<PlanTableNode> tables) {
+        final List<Clause> clauses = new ArrayList<>();
+        for (int i = 0; i < inner.size(); i++) {
+            final AbstractConditionalNode condition = inner.get(i).getConditionalJoin();
+            final List<SQLNode> nodes;
+            if (condition instanceof ANDNode) {
+                nodes = condition.getChildren();
+            } else if (condition != null) {
+                nodes = Collections.singletonList(condition);
+            } else {
+                continue;
+            }
+
+            for (final SQLNode node : nodes) {
+                final int mask = getTableMask(node.getClauseFields(), inner.size(), tables);
+                if (mask == -1) {
+                    return null;
+                }
+
+                clauses.add(new Clause(node, mask, i));
+            }
+        }
+
+        return clauses;
+    }
+
+    /**
+     * Gets the tables used in a condition. The fields are found as in the plan compilation: the table name is
+     * replaced by the table of the same alias, if any.
+     *
+     * @param fields the condition fields.
+     * @param size   the count of tables to reorder.
+     * @param tables all plan tables.
+     * @return the bit set of tables used or -1 if some field is not from the tables to reorder.
+     */
+    private static int getTableMask(final Set<FieldNode> fields, final int size, final List<PlanTableNode> tables) {
+        int mask = 0;
+        for (final FieldNode field : fields) {
+            if (field instanceof FunctionNode) {
+                final int functionMask = getTableMask(field.getClauseFields(), size, tables);
+                if (functionMask == -1) {
+                    return -1;
+                }
+
+                mask |= functionMask;
+            } else if (!(field instanceof ValueNode) && !(field instanceof ParameterNode)
+                    && !(field instanceof AsteriskNode)) {
+                final String tableName = tables.stream()
+                        .filter(t -> t.getAlias().equalsIgnoreCase(field.getTableName()))
+                        .map(t -> t.getTable().getName())
+                        .findFirst().orElse(field.getTableName());
+
+                boolean found = false;
+                for (int i = 0; i < tables.size(); i++) {
+                    final PlanTableNode table = tables.get(i);
+                    if ((tableName == null || tableName.equalsIgnoreCase(table.getTable().getName()))
+                            && table.findField(field) != null) {
+                        if (i >= size) {
+                            return -1;
+                        }
+
+                        mask |= 1 << i;
+                        found = true;
+                    }
+                }
+
+                if (!found) {
+                    return -1;
+                }
+            }
+        }
+
+        return mask;
+    }
+
+    /**
+     * Changes the table order and moves each condition to the last of its tables.
+     *
+     * @param tables  the tables to reorder.
+     * @param clauses the table conditions.
+     * @param order   the new table order.
+     */
+    private static void apply(final List<PlanTableNode> tables, final List<Clause> clauses, final int[] order) {
+        final int[] position = new int[order.length];
+        final List<PlanTableNode> ordered = new ArrayList<>(order.length);
+        for (int i = 0; i < order.length; i++) {
+            position[order[i]] = i;
+            ordered.add(tables.get(order[i]));
+        }
+
+        tables.forEach(table -> table.setConditionalJoin(null));
+        for (final Clause clause : clauses) {
+            int last = position[clause.table];
+            if (clause.mask != 0) {
+                last = 0;
+                for (int i = 0; i < order.length; i++) {
+                    if ((clause.mask & (1 << i)) != 0) {
+                        last = Math.max(last, position[i]);
+                    }
+                }
+
+                // Keep the condition on the last table if it refers to tables not loaded yet in the new order.
+                if (getTableMask(clause.node.getClauseFields(), last + 1, ordered) == -1) {
+                    last = order.length - 1;
+                }
+            }
+
+            SelectUtils.addAndClause(ordered.get(last), clause.node);
+        }
+
+        for (int i = 0; i < order.length; i++) {
+            tables.set(i, ordered.get(i));
+        }
+    }
+
+    /**
+     * Gets the condition selectivity.
+     *
+     * @param clause the condition.
+     * @return the condition selectivity.
+     */
+    private double getSelectivity(final Clause clause) {
+        if (clause.isEquality()) {
+            // FIELD = FIELD: each row is joined to few rows of the largest table.
+            double max = 1;
+            for (int i = 0; i < rows.length; i++) {
+                if ((clause.mask & (1 << i)) != 0) {
+                    max = Math.max(max, rows[i]);
+                }
+            }
+
+            return 1 / max;
+        } else if (clause.node instanceof EqualsNode) {
+            return EQUALS_SELECTIVITY;
+        } else if (clause.node instanceof AbstractComparableNode) {
+            return COMPARISON_SELECTIVITY;
+        }
+
+        return DEFAULT_SELECTIVITY;
+    }
+
+    /**
+     * Gets the estimated row count of joined tables.
+     *
+     * @param mask the bit set of joined tables.
+     * @return the estimated row count.
+     */
+    private double getRowCount(final int mask) {
+        double count = 1;
+        for (int i = 0; i < rows.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                count *= rows[i];
+            }
+        }
+
+        for (final Clause clause : clauses) {
+            if (clause.mask != 0 && (clause.mask & ~mask) == 0) {
+                count *= clause.selectivity;
+            }
+        }
+
+        return Math.max(1, count);
+    }
+
+    /**
+     * Gets the cost to read the first table. Only the rows accepted by the table conditions are decoded.
+     *
+     * @param table the table.
+     * @return the estimated cost.
+     */
+    private double getFirstCost(final int table) {
+        return readCost[table] + getRowCount(1 << table) * decodeCost[table];
+    }
+
+    /**
+     * Gets the cost to join a table to the previous tables. The table is fully decoded and compared with the
+     * previous rows.
+     *
+     * @param mask  the bit set of previous tables.
+     * @param table the table to join.
+     * @return the estimated cost.
+     */
+    private double getJoinCost(final int mask, final int table) {
+        final double left = getRowCount(mask);
+        final double compare;
+        if (isHashJoin(mask, table)) {
+            compare = BUILD_COST * rows[table] + left;
+        } else {
+            compare = left * rows[table];
+        }
+
+        return readCost[table] + rows[table] * decodeCost[table] + compare + getRowCount(mask | (1 << table));
+    }
+
+    /**
+     * Checks for a field equality between the previous tables and the table to join.
+     *
+     * @param mask  the bit set of previous tables.
+     * @param table the table to join.
+     * @return {@code true} if the tables are joined by hash.
+     */
+    private boolean isHashJoin(final int mask, final int table) {
+        final int bit = 1 << table;
+        for (final Clause clause : clauses) {
+            if (clause.isEquality() && (clause.mask & bit) != 0 && (clause.mask & mask) != 0
+                    && (clause.mask & ~(mask | bit)) == 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the cost of a join order.
+     *
+     * @param order the table order.
+     * @return the estimated cost.
+     */
+    private double getCost(final int[] order) {
+        double cost = getFirstCost(order[0]);
+        int mask = 1 << order[0];
+        for (int i = 1; i < order.length; i++) {
+            cost += getJoinCost(mask, order[i]);
+            mask |= 1 << order[i];
+        }
+
+        return cost;
+    }
+
+    /**
+     * Finds the cheapest order by dynamic programming over the sets of joined tables.
+     *
+     * @return the table order.
+     */
+    private int[] search() {
+        final int size = rows.length;
+        final int full = (1 << size) - 1;
+        final double[] costs = new double[full + 1];
+        final int[] last = new int[full + 1];
+        Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < size; i++) {
+            costs[1 << i] = getFirstCost(i);
+            last[1 << i] = i;
+        }
+
+        // Subsets are always processed before the sets that contain them.
+        for (int mask = 1; mask < full; mask++) {
+            if (Double.isInfinite(costs[mask])) {
+                continue;
+            }
+
+            for (int i = 0; i < size; i++) {
+                final int next = mask | (1 << i);
+                if (next != mask) {
+                    final double cost = costs[mask] + getJoinCost(mask, i);
+                    if (cost < costs[next]) {
+                        costs[next] = cost;
+                        last[next] = i;
+                    }
+                }
+            }
+        }
+
+        final int[] order = new int[size];
+        int mask = full;
+        for (int i = size - 1; i >= 0; i--) {
+            order[i] = last[mask];
+            mask &= ~(1 << order[i]);
+        }
+
+        return order;
+    }
+
+    /**
+     * Finds a cheap order choosing the cheapest table at each step.
+     *
+     * @return the table order.
+     */
+    private int[] greedy() {
+        final int size = rows.length;
+        final int[] order = new int[size];
+        int mask = 0;
+        for (int position = 0; position < size; position++) {
+            double best = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < size; i++) {
+                if ((mask & (1 << i)) == 0) {
+                    final double cost;
+                    if (position == 0) {
+                        cost = getFirstCost(i);
+                    } else {
+                        cost = getJoinCost(mask, i);
+                    }
+
+                    if (cost < best) {
+                        best = cost;
+                        order[position] = i;
+                    }
+                }
+            }
+
+            mask |= 1 << order[position];
+        }
+
+        return order;
+    }
+
+    /**
+     * A table condition.
+     */
+    private static final class Clause {
+
+        /**
+         * The condition node.
+         */
+        private final SQLNode node;
+
+        /**
+         * The bit set of tables used.
+         */
+        private final int mask;
+
+        /**
+         * The original table of this condition.
+         */
+        private final int table;
+
+        /**
+         * The estimated selectivity.
+         */
+        private double selectivity;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param node  the condition node.
+         * @param mask  the bit set of tables used.
+         * @param table the original table of this condition.
+         */
+        Clause(final SQLNode node, final int mask, final int table) {
+            this.node = node;
+            this.mask = mask;
+            this.table = table;
+        }
+
+        /**
+         * Checks for a {@code FIELD = FIELD} condition of two tables.
+         *
+         * @return {@code true} if this condition is a field equality of two tables.
+         */
+        boolean isEquality() {
+            return node instanceof EqualsNode && Integer.bitCount(mask) == 2
+                    && isField(((EqualsNode) node).getField()) && isField(((EqualsNode) node).getLast());
+        }
+
+        /**
+         * Checks for a table field node.
+         *
+         * @param field the node to check.
+         * @return {@code true} if the node is a table field.
+         */
+        private static boolean isField(final FieldNode field) {
+            return field != null && !(field instanceof ValueNode) && !(field instanceof ParameterNode)
+                    && !(field instanceof FunctionNode);
+        }
+    }
+}
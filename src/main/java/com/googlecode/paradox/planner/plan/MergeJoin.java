@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.planner.plan;
+
+import com.googlecode.paradox.ConnectionInfo;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * The key of a merge join, used when both join sides are read in the order of this key.
+ * <p>
+ * The table scan order comes from the Paradox index or primary key, so it may not be the order of the values
+ * comparator (text sort orders, for instance). The key order is always checked before merging.
+ *
+ * @since 1.6.3
+ */
+final class MergeJoin {
+
+    /**
+     * The key field index in the previous tables row.
+     */
+    private final int leftIndex;
+
+    /**
+     * The key field index in the joined table row.
+     */
+    private final int rightIndex;
+
+    /**
+     * The key type.
+     */
+    private final HashJoin.KeyType type;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param leftIndex  the key field index in the previous tables row.
+     * @param rightIndex the key field index in the joined table row.
+     * @param type       the key type.
+     */
+    MergeJoin(final int leftIndex, final int rightIndex, final HashJoin.KeyType type) {
+        this.leftIndex = leftIndex;
+        this.rightIndex = rightIndex;
+        this.type = type;
+    }
+
+    /**
+     * Gets the keys of the rows from the previous tables.
+     *
+     * @param rows           the rows.
+     * @param connectionInfo the connection information.
+     * @return the row keys, {@code null} for the rows that can not be joined.
+     */
+    Object[] getLeftKeys(final List<Object[]> rows, final ConnectionInfo connectionInfo) {
+        return rows.stream().map(row -> type.toKey(row[leftIndex], connectionInfo)).toArray();
+    }
+
+    /**
+     * Gets the keys of the rows from the joined table.
+     *
+     * @param rows           the rows.
+     * @param connectionInfo the connection information.
+     * @return the row keys, {@code null} for the rows that can not be joined.
+     */
+    Object[] getRightKeys(final List<Object[]> rows, final ConnectionInfo connectionInfo) {
+        return rows.stream().map(row -> type.toKey(row[rightIndex], connectionInfo)).toArray();
+    }
+
+    /**
+     * Compares two not null keys.
+     *
+     * @param key1 the first key.
+     * @param key2 the second key.
+     * @return the key comparison.
+     */
+    @SuppressWarnings("unchecked")
+    static int compare(final Object key1, final Object key2) {
+        return ((Comparable<Object>) key1).compareTo(key2);
+    }
+
+    /**
+     * Checks if the keys are in ascending order. The null keys are ignored.
+     *
+     * @param keys the keys.
+     * @return {@code true} if the keys are in ascending order.
+     */
+    static boolean isSorted(final Object[] keys) {
+        Object last = null;
+        for (final Object key : keys) {
+            if (key != null) {
+                if (last != null && compare(last, key) > 0) {
+                    return false;
+                }
+
+                last = key;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the positions of the not null keys in key order. Equal keys are kept in row order.
+     *
+     * @param keys the keys.
+     * @return the key positions.
+     */
+    static int[] sortedPositions(final Object[] keys) {
+        final IntStream positions = IntStream.range(0, keys.length).filter(i -> keys[i] != null);
+        if (isSorted(keys)) {
+            return positions.toArray();
+        }
+
+        // A stable sort.
+        return positions.boxed().sorted((i, j) -> compare(keys[i], keys[j])).mapToInt(Integer::intValue).toArray();
+    }
+}
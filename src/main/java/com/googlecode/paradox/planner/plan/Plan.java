@@ -11,10 +11,13 @@
 package com.googlecode.paradox.planner.plan;
 
 import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.metadata.Table;
 import com.googlecode.paradox.planner.context.Context;
 import com.googlecode.paradox.results.ParadoxType;
 
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Used to creates and execute SQL plans.
@@ -57,4 +60,13 @@ public interface Plan<T, C extends Context> {
      * @return the parameters count.
      */
     int getParameterCount();
+
+    /**
+     * Gets the tables used by this plan.
+     *
+     * @return the tables used by this plan.
+     */
+    default List<Table> getReferencedTables() {
+        return Collections.emptyList();
+    }
 }
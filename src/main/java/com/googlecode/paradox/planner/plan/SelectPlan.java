@@ -11,8 +11,10 @@
 package com.googlecode.paradox.planner.plan;
 
 import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.data.RawCondition;
 import com.googlecode.paradox.exceptions.*;
 import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.metadata.Index;
 import com.googlecode.paradox.metadata.Table;
 import com.googlecode.paradox.parser.nodes.*;
 import com.googlecode.paradox.planner.FieldValueUtils;
@@ -23,6 +25,7 @@ import com.googlecode.paradox.planner.nodes.join.ORNode;
 import com.googlecode.paradox.results.Column;
 import com.googlecode.paradox.results.ParadoxType;
 import com.googlecode.paradox.utils.FunctionalUtils;
+import com.googlecode.paradox.utils.ParallelUtils;
 
 import java.sql.SQLException;
 import java.util.*;
@@ -34,6 +37,9 @@ import static com.googlecode.paradox.utils.FunctionalUtils.predicateWrapper;
 
 /**
  * Creates a SELECT plan for execution.
+ * <p>
+ * The plan is compiled in {@link #optimize()} and is not changed in execution: all execution state is kept in
+ * {@link SelectContext}, so the same plan can be executed by many threads.
  *
  * @since 1.1
  */
@@ -89,6 +95,31 @@ public final class SelectPlan implements Plan<List<Object[]>, SelectContext> {
      */
     private final Integer offset;
 
+    /**
+     * The columns loaded from all tables, set in plan compilation.
+     */
+    private List<Column> columnsLoaded = Collections.emptyList();
+
+    /**
+     * The loaded column count after each table, set in plan compilation.
+     */
+    private int[] tableColumnCount = new int[0];
+
+    /**
+     * The SELECT column positions in loaded columns, set in plan compilation.
+     */
+    private int[] mapColumns = new int[0];
+
+    /**
+     * The hash join keys of each table, {@code null} to compare all rows. Set in plan compilation.
+     */
+    private HashJoin[] hashJoins = new HashJoin[0];
+
+    /**
+     * The merge join keys of each table, {@code null} to use the hash join. Set in plan compilation.
+     */
+    private MergeJoin[] mergeJoins = new MergeJoin[0];
+
     /**
      * Creates a SELECT plan.
      *
@@ -153,12 +184,107 @@ public final class SelectPlan implements Plan<List<Object[]>, SelectContext> {
         for (final PlanTableNode table : this.tables) {
             table.setConditionalJoin(SelectUtils.joinClauses(table.getConditionalJoin()));
         }
+
+        // Join the tables in the cheapest order.
+        JoinOrder.optimize(this.tables);
+
+        for (final PlanTableNode table : this.tables) {
+            table.useCoveringIndex();
+        }
+
+        try {
+            compile();
+        } catch (final SQLException e) {
+            throw new InternalException(e);
+        }
+    }
+
+    /**
+     * Sets the field indexes of all nodes in this plan. The loaded columns only depends on plan, so the indexes are
+     * set once instead of in each execution.
+     *
+     * @throws SQLException in case of column not found.
+     */
+    private void compile() throws SQLException {
+        final List<Column> loaded = new ArrayList<>();
+        this.tableColumnCount = new int[this.tables.size()];
+        for (int i = 0; i < this.tables.size(); i++) {
+            loaded.addAll(this.tables.get(i).getColumns());
+            this.tableColumnCount[i] = loaded.size();
+        }
+
+        this.columnsLoaded = Collections.unmodifiableList(loaded);
+
+        processIndexes(this.columnsLoaded);
+        processFunctionIndexes(this.columnsLoaded);
+
+        // Use hash joins in field equalities.
+        this.hashJoins = new HashJoin[this.tables.size()];
+        this.mergeJoins = new MergeJoin[this.tables.size()];
+        for (int i = 1; i < this.tables.size(); i++) {
+            this.hashJoins[i] = HashJoin.of(this.tables.get(i).getConditionalJoin(),
+                    this.columnsLoaded.subList(0, this.tableColumnCount[i]), this.tableColumnCount[i - 1]);
+
+            // Merge the rows if both sides are read in join key order.
+            if (this.hashJoins[i] != null && isOrderPreserved(i)) {
+                final int leftIndex = getOrderColumn(0);
+                final int rightIndex = getOrderColumn(i);
+                if (leftIndex != -1 && rightIndex != -1) {
+                    this.mergeJoins[i] = this.hashJoins[i].getMergeJoin(leftIndex,
+                            rightIndex - this.tableColumnCount[i - 1]);
+                }
+            }
+        }
+
+        // Find column indexes.
+        this.mapColumns = mapColumnIndexes(this.columnsLoaded);
+    }
+
+    /**
+     * Checks if the previous rows of a join are still in the first table order.
+     *
+     * @param tableIndex the joined table index.
+     * @return {@code true} if no previous join changes the first table order.
+     */
+    private boolean isOrderPreserved(final int tableIndex) {
+        for (int i = 1; i < tableIndex; i++) {
+            final JoinType joinType = this.tables.get(i).getJoinType();
+            if (joinType == JoinType.RIGHT || joinType == JoinType.FULL) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the loaded column of the first field in table scan order.
+     *
+     * @param tableIndex the table index.
+     * @return the loaded column index or -1 if the table scan order is unknown or the field is not loaded.
+     */
+    private int getOrderColumn(final int tableIndex) {
+        final Index order = this.tables.get(tableIndex).getScanOrder();
+        if (order == null) {
+            return -1;
+        }
+
+        final String name = order.getFields()[0].getName();
+        final int start = tableIndex == 0 ? 0 : this.tableColumnCount[tableIndex - 1];
+        for (int i = start; i < this.tableColumnCount[tableIndex]; i++) {
+            final Field field = this.columnsLoaded.get(i).getField();
+            if (field != null && name.equalsIgnoreCase(field.getName())) {
+                return i;
+            }
+        }
+
+        return -1;
     }
 
     @Override
     public SelectContext createContext(final ConnectionInfo connectionInfo, final Object[] parameters,
                                        final ParadoxType[] parameterTypes) {
-        return new SelectContext(connectionInfo, parameters, parameterTypes);
+        return new SelectContext(connectionInfo, parameters, parameterTypes, this.columns);
     }
 
     /**
@@ -184,7 +310,11 @@ public final class SelectPlan implements Plan<List<Object[]>, SelectContext> {
 
         // Sets the column indexes.
         for (int i = 0; i < ret.size(); i++) {
-            ret.get(i).setIndex(i);
+            final Column column = ret.get(i);
+            column.setIndex(i);
+            if (column.getFunction() != null) {
+                column.getFunction().setIndex(i);
+            }
         }
 
         return ret;
@@ -338,33 +468,21 @@ public final class SelectPlan implements Plan<List<Object[]>, SelectContext> {
             return Collections.emptyList();
         }
 
-        final List<Column> columnsLoaded = new ArrayList<>();
         Collection<Object[]> rawData = Collections.emptyList();
 
         for (int tableIndex = 0; tableIndex < this.tables.size(); tableIndex++) {
-            PlanTableNode table = this.tables.get(tableIndex);
+            final PlanTableNode table = this.tables.get(tableIndex);
             context.checkCancelState();
 
-            final Collection<Object[]> tableData = table.load();
-            columnsLoaded.addAll(table.getColumns());
-
-            if (table.getConditionalJoin() != null) {
-                table.getConditionalJoin().setFieldIndexes(columnsLoaded, this.tables);
-            }
+            // The columns loaded until this table.
+            final List<Column> tableColumns = this.columnsLoaded.subList(0, this.tableColumnCount[tableIndex]);
 
             // First table?
             if (tableIndex == 0) {
-                if (table.getConditionalJoin() != null) {
-                    rawData = tableData.stream()
-                            .filter(context.getCancelPredicate())
-                            .filter(predicateWrapper(tableRow -> table.getConditionalJoin().evaluate(context, tableRow, columnsLoaded)))
-                            .collect(Collectors.toList());
-                } else {
-                    // No conditions to process. Just use it.
-                    rawData = tableData;
-                }
+                rawData = scanFirstTable(context, table, tableColumns);
             } else {
-                rawData = TableJoiner.processJoinByType(context, columnsLoaded, rawData, table, tableData);
+                rawData = TableJoiner.processJoinByType(context, tableColumns, rawData, table, table.load(),
+                        this.hashJoins[tableIndex], this.mergeJoins[tableIndex]);
             }
         }
 
@@ -388,19 +506,55 @@ public final class SelectPlan implements Plan<List<Object[]>, SelectContext> {
             return Collections.singletonList(row);
         }
 
-        processIndexes(columnsLoaded);
-        processFunctionIndexes(columnsLoaded);
-
         // Process parameter types.
-        columns.stream()
+        context.getColumns().stream()
                 .filter(column -> column.getParameter() != null)
                 .forEach(column -> column.setType(
                         context.getParameterTypes()[column.getParameter().getParameterIndex()]));
 
-        // Find column indexes.
-        final int[] mapColumns = mapColumnIndexes(columnsLoaded);
+        return filter(context, rawData);
+    }
 
-        return filter(context, rawData, mapColumns, columnsLoaded);
+    /**
+     * Reads the first table. This table is read only once, so there is no need to keep it in memory unless there are
+     * joins to process.
+     *
+     * @param context       the execution context.
+     * @param table         the first table.
+     * @param columnsLoaded the loaded columns.
+     * @return the table rows.
+     * @throws SQLException in case of failures.
+     */
+    private Collection<Object[]> scanFirstTable(final SelectContext context, final PlanTableNode table,
+                                                final List<Column> columnsLoaded) throws SQLException {
+        final int parallelism = context.getConnectionInfo().getScanParallelism();
+        final AbstractConditionalNode conditionalJoin = table.getConditionalJoin();
+        if (conditionalJoin != null) {
+            // Only the rows accepted by the table conditions are fully decoded.
+            // Simple comparisons are tested in raw data first, so most of the rejected rows are never decoded.
+            final RawCondition[] conditions = SelectUtils.getRawConditions(context, conditionalJoin, columnsLoaded);
+            final Collection<Object[]> tableData = table.scan(context.<Object[]>getCancelPredicate()
+                    .and(predicateWrapper(tableRow -> conditionalJoin.evaluate(context, tableRow, columnsLoaded))),
+                    conditions);
+
+            if (parallelism > 1) {
+                return ParallelUtils.collect(parallelism, tableData.parallelStream());
+            }
+
+            return ParallelUtils.collect(parallelism, tableData.stream());
+        }
+
+        final Collection<Object[]> tableData = table.scan(null, null);
+        if (parallelism > 1) {
+            // Decode all blocks in parallel.
+            return ParallelUtils.collect(parallelism, tableData.parallelStream());
+        } else if (this.tables.size() > 1) {
+            // The joins may iterate over it many times.
+            return new ArrayList<>(tableData);
+        }
+
+        // No conditions to process. Just use it.
+        return tableData;
     }
 
     /**
@@ -432,10 +586,11 @@ public final class SelectPlan implements Plan<List<Object[]>, SelectContext> {
             this.condition.setFieldIndexes(columns, tables);
         }
 
-        // Set table join indexes.
-        for (final PlanTableNode table : this.tables) {
-            if (table.getConditionalJoin() != null) {
-                table.getConditionalJoin().setFieldIndexes(columns, tables);
+        // Set table join indexes, using only the columns loaded until each table.
+        for (int i = 0; i < this.tables.size(); i++) {
+            final AbstractConditionalNode conditionalJoin = this.tables.get(i).getConditionalJoin();
+            if (conditionalJoin != null) {
+                conditionalJoin.setFieldIndexes(columns.subList(0, this.tableColumnCount[i]), tables);
             }
         }
     }
@@ -464,9 +619,8 @@ public final class SelectPlan implements Plan<List<Object[]>, SelectContext> {
         return mapColumns;
     }
 
-    private Object[] mapRow(final SelectContext context, final Object[] tableRow, final int[] mapColumns,
-                            final List<Column> columnsLoaded) throws SQLException {
-
+    private Object[] mapRow(final SelectContext context, final Object[] tableRow) throws SQLException {
+        final List<Column> contextColumns = context.getColumns();
         final Object[] finalRow = new Object[mapColumns.length];
         for (int i = 0; i < mapColumns.length; i++) {
             int index = mapColumns[i];
@@ -474,19 +628,21 @@ public final class SelectPlan implements Plan<List<Object[]>, SelectContext> {
                 // A field mapped value.
                 finalRow[i] = tableRow[index];
             } else {
-                final ParameterNode parameterNode = this.columns.get(i).getParameter();
-                final FunctionNode functionNode = this.columns.get(i).getFunction();
+                final Column column = contextColumns.get(i);
+                final ParameterNode parameterNode = column.getParameter();
+                final FunctionNode functionNode = column.getFunction();
                 if (parameterNode != null) {
                     // A parameter value.
                     finalRow[i] = context.getParameters()[parameterNode.getParameterIndex()];
                 } else if (functionNode == null) {
                     // A fixed value.
-                    finalRow[i] = this.columns.get(i).getValue();
-                } else if (!this.columns.get(i).isSecondPass()) {
+                    finalRow[i] = column.getValue();
+                } else if (!column.isSecondPass()) {
                     // A function processed value.
-                    finalRow[i] = functionNode.execute(context, tableRow, columnsLoaded);
+                    final ParadoxType[] type = new ParadoxType[1];
+                    finalRow[i] = functionNode.execute(context, tableRow, columnsLoaded, type);
                     // The function may change the result type in execution based on parameters values.
-                    this.columns.get(i).setType(functionNode.getType());
+                    column.setType(type[0]);
                 }
             }
         }
@@ -494,47 +650,47 @@ public final class SelectPlan implements Plan<List<Object[]>, SelectContext> {
         return finalRow;
     }
 
-    private List<Object[]> filter(final SelectContext context, final Collection<Object[]> rowValues,
-                                  final int[] mapColumns, final List<Column> columnsLoaded) {
+    private List<Object[]> filter(final SelectContext context, final Collection<Object[]> rowValues) {
+        // The lazy table scans keep the file open until the stream is closed.
+        try (final Stream<Object[]> rows = rowValues.stream()) {
+            Stream<Object[]> stream = rows.filter(context.getCancelPredicate());
 
-        Stream<Object[]> stream = rowValues.stream()
-                .filter(context.getCancelPredicate());
+            if (condition != null) {
+                stream = stream.filter(predicateWrapper((Object[] tableRow) ->
+                        condition.evaluate(context, tableRow, columnsLoaded)
+                ));
+            }
 
-        if (condition != null) {
-            stream = stream.filter(predicateWrapper((Object[] tableRow) ->
-                    condition.evaluate(context, tableRow, columnsLoaded)
+            stream = stream.map(functionWrapper((Object[] tableRow) ->
+                    mapRow(context, tableRow)
             ));
-        }
 
-        stream = stream.map(functionWrapper((Object[] tableRow) ->
-                mapRow(context, tableRow, mapColumns, columnsLoaded)
-        ));
+            // Group by.
+            stream = this.groupBy.processStream(context, stream, context.getColumns());
 
-        // Group by.
-        stream = this.groupBy.processStream(context, stream, this.columns);
+            // Order by.
+            stream = this.orderBy.processStream(stream, this.columns, context.getConnectionInfo());
 
-        // Order by.
-        stream = this.orderBy.processStream(stream, this.columns, context.getConnectionInfo());
+            // Distinct
+            if (distinct) {
+                stream = stream.filter(FunctionalUtils.distinctByKey(this.columns, context.getConnectionInfo()));
+            }
 
-        // Distinct
-        if (distinct) {
-            stream = stream.filter(FunctionalUtils.distinctByKey(this.columns, context.getConnectionInfo()));
-        }
+            // Offset position.
+            if (offset != null) {
+                stream = stream.skip(offset);
+            }
 
-        // Offset position.
-        if (offset != null) {
-            stream = stream.skip(offset);
-        }
+            if (limit != null) {
+                stream = stream.limit(limit);
+            }
 
-        if (limit != null) {
-            stream = stream.limit(limit);
-        }
+            if (context.getMaxRows() != 0) {
+                stream = stream.limit(context.getMaxRows());
+            }
 
-        if (context.getMaxRows() != 0) {
-            stream = stream.limit(context.getMaxRows());
+            return stream.collect(Collectors.toList());
         }
-
-        return stream.collect(Collectors.toList());
     }
 
     /**
@@ -564,6 +720,11 @@ public final class SelectPlan implements Plan<List<Object[]>, SelectContext> {
         return tables;
     }
 
+    @Override
+    public List<Table> getReferencedTables() {
+        return tables.stream().map(PlanTableNode::getTable).collect(Collectors.toList());
+    }
+
     /**
      * Gets the group by node.
      *
@@ -595,4 +756,32 @@ public final class SelectPlan implements Plan<List<Object[]>, SelectContext> {
     public int hashCode() {
         return Objects.hash(columns, tables, distinct, condition);
     }
+
+    /**
+     * Gets the plan description, with the access path of each table.
+     *
+     * @return the plan description.
+     */
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("SELECT");
+        for (int i = 0; i < this.tables.size(); i++) {
+            final PlanTableNode table = this.tables.get(i);
+            builder.append("\n  ");
+            if (i > 0) {
+                builder.append(table.getJoinType());
+                if (i < this.mergeJoins.length && this.mergeJoins[i] != null) {
+                    builder.append(" MERGE");
+                } else if (i < this.hashJoins.length && this.hashJoins[i] != null) {
+                    builder.append(" HASH");
+                }
+
+                builder.append(" JOIN ");
+            }
+
+            builder.append(table.getAccessPath());
+        }
+
+        return builder.toString();
+    }
 }
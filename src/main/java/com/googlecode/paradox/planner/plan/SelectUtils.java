@@ -11,14 +11,19 @@
 
 package com.googlecode.paradox.planner.plan;
 
+import com.googlecode.paradox.data.RawCondition;
 import com.googlecode.paradox.exceptions.ParadoxException;
+import com.googlecode.paradox.metadata.Field;
 import com.googlecode.paradox.parser.nodes.AbstractConditionalNode;
 import com.googlecode.paradox.parser.nodes.AsteriskNode;
 import com.googlecode.paradox.parser.nodes.SQLNode;
+import com.googlecode.paradox.planner.context.Context;
 import com.googlecode.paradox.planner.nodes.*;
+import com.googlecode.paradox.planner.nodes.comparable.*;
 import com.googlecode.paradox.planner.nodes.join.ANDNode;
 import com.googlecode.paradox.planner.nodes.join.AbstractJoinNode;
 import com.googlecode.paradox.results.Column;
+import com.googlecode.paradox.results.ParadoxType;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -165,4 +170,133 @@ public final class SelectUtils {
 
         return ret;
     }
+
+    /**
+     * Gets the table conditions that can be tested in raw row data, before decoding the row.
+     *
+     * @param context       the execution context.
+     * @param condition     the table conditional clause.
+     * @param columnsLoaded the loaded columns.
+     * @return the raw conditions.
+     */
+    public static RawCondition[] getRawConditions(final Context context, final AbstractConditionalNode condition,
+                                                  final List<Column> columnsLoaded) {
+        final List<SQLNode> nodes;
+        if (condition instanceof ANDNode) {
+            nodes = condition.getChildren();
+        } else {
+            nodes = Collections.singletonList(condition);
+        }
+
+        final List<RawCondition> conditions = new ArrayList<>();
+        for (final SQLNode node : nodes) {
+            if (node instanceof BetweenNode) {
+                final BetweenNode between = (BetweenNode) node;
+                addRawCondition(context, between.getField(), between.getFirst(),
+                        RawCondition.Operator.GREATER_THAN_OR_EQUALS, columnsLoaded, conditions);
+                addRawCondition(context, between.getField(), between.getLast(),
+                        RawCondition.Operator.LESS_THAN_OR_EQUALS, columnsLoaded, conditions);
+            } else if (node instanceof IsNullNode || node instanceof IsNotNullNode) {
+                final Field field = getTableField(((AbstractConditionalNode) node).getField(), columnsLoaded);
+                if (field != null) {
+                    Optional.ofNullable(RawCondition.of(field, getOperator(node))).ifPresent(conditions::add);
+                }
+            } else if (getOperator(node) != null) {
+                final AbstractComparableNode comparable = (AbstractComparableNode) node;
+                final RawCondition.Operator operator = getOperator(node);
+                if (getTableField(comparable.getField(), columnsLoaded) != null) {
+                    addRawCondition(context, comparable.getField(), comparable.getLast(), operator, columnsLoaded,
+                            conditions);
+                } else {
+                    addRawCondition(context, comparable.getLast(), comparable.getField(), operator.reverse(),
+                            columnsLoaded, conditions);
+                }
+            }
+        }
+
+        return conditions.toArray(new RawCondition[0]);
+    }
+
+    /**
+     * Adds a raw condition comparing a table field with a constant value, if possible.
+     *
+     * @param context       the execution context.
+     * @param fieldNode     the table field node.
+     * @param valueNode     the value node.
+     * @param operator      the condition operator.
+     * @param columnsLoaded the loaded columns.
+     * @param conditions    the condition list to add to.
+     */
+    private static void addRawCondition(final Context context, final FieldNode fieldNode, final FieldNode valueNode,
+                                        final RawCondition.Operator operator, final List<Column> columnsLoaded,
+                                        final List<RawCondition> conditions) {
+        final Field field = getTableField(fieldNode, columnsLoaded);
+        final Object value = getConstantValue(context, valueNode);
+        if (field != null && value != null) {
+            Optional.ofNullable(RawCondition.of(field, operator, value, context.getConnectionInfo()))
+                    .ifPresent(conditions::add);
+        }
+    }
+
+    /**
+     * Gets the raw condition operator by node type.
+     *
+     * @param node the conditional node.
+     * @return the raw condition operator or {@code null} if not supported.
+     */
+    private static RawCondition.Operator getOperator(final SQLNode node) {
+        if (node instanceof EqualsNode) {
+            return RawCondition.Operator.EQUALS;
+        } else if (node instanceof GreaterThanNode) {
+            return RawCondition.Operator.GREATER_THAN;
+        } else if (node instanceof GreaterThanOrEqualsNode) {
+            return RawCondition.Operator.GREATER_THAN_OR_EQUALS;
+        } else if (node instanceof LessThanNode) {
+            return RawCondition.Operator.LESS_THAN;
+        } else if (node instanceof LessThanOrEqualsNode) {
+            return RawCondition.Operator.LESS_THAN_OR_EQUALS;
+        } else if (node instanceof IsNullNode) {
+            return RawCondition.Operator.IS_NULL;
+        } else if (node instanceof IsNotNullNode) {
+            return RawCondition.Operator.IS_NOT_NULL;
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the table field referenced by a node.
+     *
+     * @param node          the field node.
+     * @param columnsLoaded the loaded columns.
+     * @return the table field or {@code null} if this node is not a table field.
+     */
+    private static Field getTableField(final FieldNode node, final List<Column> columnsLoaded) {
+        if (node == null || node instanceof ValueNode || node instanceof ParameterNode
+                || node instanceof FunctionNode || node.getIndex() < 0 || node.getIndex() >= columnsLoaded.size()) {
+            return null;
+        }
+
+        return columnsLoaded.get(node.getIndex()).getField();
+    }
+
+    /**
+     * Gets a constant value of a node.
+     *
+     * @param context the execution context.
+     * @param node    the value node.
+     * @return the constant value or {@code null} if this node is not a constant.
+     */
+    private static Object getConstantValue(final Context context, final FieldNode node) {
+        if (node instanceof ParameterNode) {
+            return ((ParameterNode) node).getValue(context.getParameters());
+        } else if (node instanceof ValueNode) {
+            final ParadoxType type = ((ValueNode) node).getType();
+            if (type == ParadoxType.NUMBER || type == ParadoxType.VARCHAR) {
+                return node.getName();
+            }
+        }
+
+        return null;
+    }
 }
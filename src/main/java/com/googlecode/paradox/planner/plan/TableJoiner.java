@@ -10,6 +10,8 @@
  */
 package com.googlecode.paradox.planner.plan;
 
+import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.parser.nodes.JoinType;
 import com.googlecode.paradox.planner.collections.FixedValueCollection;
 import com.googlecode.paradox.planner.context.Context;
 import com.googlecode.paradox.planner.nodes.PlanTableNode;
@@ -17,11 +19,16 @@ import com.googlecode.paradox.results.Column;
 
 import java.sql.SQLException;
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * Table joiner.
+ * <p>
+ * If the join condition has field equalities, the joined rows are found by a hash table of the join keys, or by
+ * merging the rows when both sides are read in key order. Otherwise, all rows are compared. In all cases, the rows
+ * are returned in the same order.
  *
- * @version 1.2
+ * @version 1.4
  * @since 1.6.0
  */
 final class TableJoiner {
@@ -33,9 +40,33 @@ final class TableJoiner {
         // Not used.
     }
 
+    /**
+     * Joins the table data.
+     *
+     * @param context       the execution context.
+     * @param columnsLoaded the columns loaded until this table.
+     * @param rawData       the rows of the previous tables.
+     * @param table         the table to join.
+     * @param tableData     the table rows.
+     * @param hashJoin      the join keys or {@code null} to compare all rows.
+     * @param mergeJoin     the merge join key or {@code null} to use the hash join.
+     * @return the joined rows.
+     * @throws SQLException in case of failures.
+     */
     public static Collection<Object[]> processJoinByType(final Context context, final List<Column> columnsLoaded,
                                                    final Collection<Object[]> rawData, final PlanTableNode table,
-                                                   final Collection<Object[]> tableData) throws SQLException {
+                                                   final Collection<Object[]> tableData, final HashJoin hashJoin,
+                                                   final MergeJoin mergeJoin) throws SQLException {
+        if (mergeJoin != null) {
+            return processMergeJoin(context, columnsLoaded, rawData, table, tableData, hashJoin, mergeJoin);
+        } else if (hashJoin != null) {
+            if (table.getJoinType() == JoinType.RIGHT) {
+                return processHashRightJoin(context, columnsLoaded, rawData, table, tableData, hashJoin);
+            }
+
+            return processHashJoin(context, columnsLoaded, rawData, table, tableData, hashJoin);
+        }
+
         Collection<Object[]> localValues;
         switch (table.getJoinType()) {
             case RIGHT:
@@ -181,11 +212,11 @@ final class TableJoiner {
         int initialCapacity;
 
         // Is this a cartesian merge?
-        if (table.getConditionalJoin() != null) {
+        if (table.getConditionalJoin() == null) {
             // Start with the final size.
             initialCapacity = rawData.size() * tableData.size();
         } else {
-            // If not, start with 100% of the total size.
+            // If not, the final size is unknown.
             initialCapacity = 0x7F;
         }
 
@@ -215,4 +246,270 @@ final class TableJoiner {
 
         return localValues;
     }
+
+    /**
+     * Joins the table rows by key, for INNER, CROSS, LEFT and FULL joins. The table rows are stored in a hash table
+     * and each previous row reads only the table rows with the same key.
+     *
+     * @param context       the execution context.
+     * @param columnsLoaded the columns loaded until this table.
+     * @param rawData       the rows of the previous tables.
+     * @param table         the table to join.
+     * @param tableData     the table rows.
+     * @param hashJoin      the join keys.
+     * @return the joined rows.
+     * @throws SQLException in case of failures.
+     */
+    private static List<Object[]> processHashJoin(final Context context, final List<Column> columnsLoaded,
+                                                  final Collection<Object[]> rawData, final PlanTableNode table,
+                                                  final Collection<Object[]> tableData, final HashJoin hashJoin)
+            throws SQLException {
+        final boolean leftOuter = table.getJoinType() == JoinType.LEFT || table.getJoinType() == JoinType.FULL;
+        final boolean rightOuter = table.getJoinType() == JoinType.FULL;
+        final ConnectionInfo connectionInfo = context.getConnectionInfo();
+
+        final List<Object[]> tableRows = new ArrayList<>(tableData);
+        final Map<Object, List<Integer>> hashTable = createHashTable(context, tableRows,
+                row -> hashJoin.getRightKey(row, connectionInfo));
+        final boolean[] used = new boolean[tableRows.size()];
+
+        final Object[] column = new Object[columnsLoaded.size()];
+        final List<Object[]> localValues = new ArrayList<>(0x7F);
+        for (final Object[] cols : rawData) {
+            context.checkCancelState();
+            System.arraycopy(cols, 0, column, 0, cols.length);
+
+            boolean changed = false;
+            final Object key = hashJoin.getLeftKey(cols, connectionInfo);
+            for (final Integer index : hashTable.getOrDefault(key, Collections.emptyList())) {
+                final Object[] newCols = tableRows.get(index);
+                System.arraycopy(newCols, 0, column, cols.length, newCols.length);
+
+                if (table.getConditionalJoin().evaluate(context, column, columnsLoaded)) {
+                    used[index] = true;
+                    changed = true;
+                    localValues.add(column.clone());
+                }
+            }
+
+            if (!changed && leftOuter) {
+                Arrays.fill(column, cols.length, column.length, null);
+                localValues.add(column.clone());
+            }
+        }
+
+        if (rightOuter) {
+            // Itens not used in left join.
+            Arrays.fill(column, 0, column.length, null);
+            for (int i = 0; i < tableRows.size(); i++) {
+                if (!used[i]) {
+                    final Object[] newCols = tableRows.get(i);
+                    System.arraycopy(newCols, 0, column, column.length - newCols.length, newCols.length);
+                    localValues.add(column.clone());
+                }
+            }
+        }
+
+        return localValues;
+    }
+
+    /**
+     * Joins the table rows by key, for RIGHT joins. The previous rows are stored in a hash table and each table row
+     * reads only the previous rows with the same key.
+     *
+     * @param context       the execution context.
+     * @param columnsLoaded the columns loaded until this table.
+     * @param rawData       the rows of the previous tables.
+     * @param table         the table to join.
+     * @param tableData     the table rows.
+     * @param hashJoin      the join keys.
+     * @return the joined rows.
+     * @throws SQLException in case of failures.
+     */
+    private static List<Object[]> processHashRightJoin(final Context context, final List<Column> columnsLoaded,
+                                                       final Collection<Object[]> rawData, final PlanTableNode table,
+                                                       final Collection<Object[]> tableData, final HashJoin hashJoin)
+            throws SQLException {
+        final ConnectionInfo connectionInfo = context.getConnectionInfo();
+
+        final List<Object[]> rows = new ArrayList<>(rawData);
+        final Map<Object, List<Integer>> hashTable = createHashTable(context, rows,
+                row -> hashJoin.getLeftKey(row, connectionInfo));
+
+        final Object[] column = new Object[columnsLoaded.size()];
+        final List<Object[]> localValues = new ArrayList<>(0x7F);
+        for (final Object[] newCols : tableData) {
+            context.checkCancelState();
+            System.arraycopy(newCols, 0, column, column.length - newCols.length, newCols.length);
+
+            boolean changed = false;
+            final Object key = hashJoin.getRightKey(newCols, connectionInfo);
+            for (final Integer index : hashTable.getOrDefault(key, Collections.emptyList())) {
+                final Object[] cols = rows.get(index);
+                System.arraycopy(cols, 0, column, 0, cols.length);
+
+                if (table.getConditionalJoin().evaluate(context, column, columnsLoaded)) {
+                    changed = true;
+                    localValues.add(column.clone());
+                }
+            }
+
+            if (!changed) {
+                Arrays.fill(column, 0, column.length - newCols.length, null);
+                localValues.add(column.clone());
+            }
+        }
+
+        return localValues;
+    }
+
+    /**
+     * Joins the rows sorted by key. The driving side (the previous rows or the table rows in RIGHT joins) is read in
+     * its order, so the rows are returned in the same order of the other joins. If the driving side is not in key
+     * order, the hash join is used. The other side is sorted if needed, using only the row positions.
+     *
+     * @param context       the execution context.
+     * @param columnsLoaded the columns loaded until this table.
+     * @param rawData       the rows of the previous tables.
+     * @param table         the table to join.
+     * @param tableData     the table rows.
+     * @param hashJoin      the hash join keys.
+     * @param mergeJoin     the merge join key.
+     * @return the joined rows.
+     * @throws SQLException in case of failures.
+     */
+    @SuppressWarnings("java:S3776")
+    private static List<Object[]> processMergeJoin(final Context context, final List<Column> columnsLoaded,
+                                                   final Collection<Object[]> rawData, final PlanTableNode table,
+                                                   final Collection<Object[]> tableData, final HashJoin hashJoin,
+                                                   final MergeJoin mergeJoin) throws SQLException {
+        final JoinType joinType = table.getJoinType();
+        final ConnectionInfo connectionInfo = context.getConnectionInfo();
+        final List<Object[]> rows = new ArrayList<>(rawData);
+        final List<Object[]> tableRows = new ArrayList<>(tableData);
+
+        // The driving side in RIGHT joins is the table.
+        final boolean right = joinType == JoinType.RIGHT;
+        final List<Object[]> outer;
+        final Object[] outerKeys;
+        final List<Object[]> inner;
+        final Object[] innerKeys;
+        if (right) {
+            outer = tableRows;
+            outerKeys = mergeJoin.getRightKeys(tableRows, connectionInfo);
+            inner = rows;
+            innerKeys = mergeJoin.getLeftKeys(rows, connectionInfo);
+        } else {
+            outer = rows;
+            outerKeys = mergeJoin.getLeftKeys(rows, connectionInfo);
+            inner = tableRows;
+            innerKeys = mergeJoin.getRightKeys(tableRows, connectionInfo);
+        }
+
+        if (!MergeJoin.isSorted(outerKeys)) {
+            if (right) {
+                return processHashRightJoin(context, columnsLoaded, rows, table, tableRows, hashJoin);
+            }
+
+            return processHashJoin(context, columnsLoaded, rows, table, tableRows, hashJoin);
+        }
+
+        final int[] innerOrder = MergeJoin.sortedPositions(innerKeys);
+        final boolean outerJoin = joinType == JoinType.LEFT || joinType == JoinType.RIGHT
+                || joinType == JoinType.FULL;
+        final boolean[] used = new boolean[inner.size()];
+
+        final Object[] column = new Object[columnsLoaded.size()];
+        final List<Object[]> localValues = new ArrayList<>(0x7F);
+        int start = 0;
+        for (int i = 0; i < outer.size(); i++) {
+            context.checkCancelState();
+            final Object[] outerRow = outer.get(i);
+            copyRow(column, outerRow, right);
+
+            boolean changed = false;
+            final Object key = outerKeys[i];
+            if (key != null) {
+                while (start < innerOrder.length && MergeJoin.compare(innerKeys[innerOrder[start]], key) < 0) {
+                    start++;
+                }
+
+                for (int j = start; j < innerOrder.length
+                        && MergeJoin.compare(innerKeys[innerOrder[j]], key) == 0; j++) {
+                    final int index = innerOrder[j];
+                    copyRow(column, inner.get(index), !right);
+
+                    if (table.getConditionalJoin().evaluate(context, column, columnsLoaded)) {
+                        used[index] = true;
+                        changed = true;
+                        localValues.add(column.clone());
+                    }
+                }
+            }
+
+            if (!changed && outerJoin) {
+                if (right) {
+                    Arrays.fill(column, 0, column.length - outerRow.length, null);
+                } else {
+                    Arrays.fill(column, outerRow.length, column.length, null);
+                }
+
+                localValues.add(column.clone());
+            }
+        }
+
+        if (joinType == JoinType.FULL) {
+            // Itens not used in left join.
+            Arrays.fill(column, 0, column.length, null);
+            for (int i = 0; i < inner.size(); i++) {
+                if (!used[i]) {
+                    copyRow(column, inner.get(i), true);
+                    localValues.add(column.clone());
+                }
+            }
+        }
+
+        return localValues;
+    }
+
+    /**
+     * Copies a row to the joined row.
+     *
+     * @param column   the joined row.
+     * @param row      the row to copy.
+     * @param tableRow {@code true} if the row is from the joined table, stored in the end of the joined row.
+     */
+    private static void copyRow(final Object[] column, final Object[] row, final boolean tableRow) {
+        if (tableRow) {
+            System.arraycopy(row, 0, column, column.length - row.length, row.length);
+        } else {
+            System.arraycopy(row, 0, column, 0, row.length);
+        }
+    }
+
+    /**
+     * Creates a hash table of row positions by key. The positions are kept in row order.
+     *
+     * @param context the execution context.
+     * @param rows    the rows to store.
+     * @param keys    the row key function.
+     * @return the hash table.
+     * @throws SQLException in case of cancellation.
+     */
+    private static Map<Object, List<Integer>> createHashTable(final Context context, final List<Object[]> rows,
+                                                              final Function<Object[], Object> keys)
+            throws SQLException {
+        final Map<Object, List<Integer>> hashTable = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            context.checkCancelState();
+
+            final Object key = keys.apply(rows.get(i));
+            if (key != null) {
+                // Null keys never join.
+                hashTable.computeIfAbsent(key, k -> new ArrayList<>(1)).add(i);
+            }
+        }
+
+        return hashTable;
+    }
 }
@@ -158,6 +158,29 @@ public final class Column {
         this.readonly = true;
     }
 
+    /**
+     * Creates a copy of a column. The field, function and parameter nodes are shared.
+     *
+     * @param column the column to copy.
+     */
+    public Column(final Column column) {
+        this.readonly = column.readonly;
+        this.nullable = column.nullable;
+        this.field = column.field;
+        this.index = column.index;
+        this.name = column.name;
+        this.precision = column.precision;
+        this.scale = column.scale;
+        this.size = column.size;
+        this.type = column.type;
+        this.remarks = column.remarks;
+        this.columnType = column.columnType;
+        this.hidden = column.hidden;
+        this.value = column.value;
+        this.function = column.function;
+        this.parameter = column.parameter;
+    }
+
     /**
      * Creates a new instance.
      *
@@ -231,10 +254,6 @@ public final class Column {
      */
     public void setIndex(final int index) {
         this.index = index;
-
-        if (this.function != null) {
-            this.function.setIndex(index);
-        }
     }
 
     /**
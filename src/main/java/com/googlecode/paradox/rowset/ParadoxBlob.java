@@ -10,6 +10,7 @@
  */
 package com.googlecode.paradox.rowset;
 
+import com.googlecode.paradox.exceptions.InternalException;
 import com.googlecode.paradox.exceptions.ParadoxException;
 
 import java.io.*;
@@ -19,6 +20,8 @@ import java.util.Arrays;
 
 /**
  * BLOB for paradox file (MB).
+ * <p>
+ * The values stored in the blob file are read only when the data is used for the first time.
  *
  * @since 1.5.0
  */
@@ -30,10 +33,20 @@ public final class ParadoxBlob implements Blob {
     private static final byte[] EMPTY_BLOB = new byte[0];
 
     /**
-     * The clob data.
+     * The clob data, {@code null} if not loaded yet.
      */
     private byte[] value;
 
+    /**
+     * The blob data loader, {@code null} if already loaded.
+     */
+    private Loader loader;
+
+    /**
+     * The blob size before load.
+     */
+    private final long size;
+
     /**
      * Create a new instance.
      *
@@ -41,6 +54,55 @@ public final class ParadoxBlob implements Blob {
      */
     public ParadoxBlob(final byte[] value) {
         this.value = value;
+        this.size = value.length;
+    }
+
+    /**
+     * Create a new instance loaded on first use.
+     *
+     * @param size   the blob size.
+     * @param loader the blob data loader.
+     */
+    public ParadoxBlob(final long size, final Loader loader) {
+        this.size = size;
+        this.loader = loader;
+    }
+
+    /**
+     * Gets the blob data, reading it on first use. The returned data is not a copy.
+     *
+     * @return the blob data.
+     * @throws SQLException in case of read failures.
+     */
+    public synchronized byte[] getValue() throws SQLException {
+        if (loader != null) {
+            value = loader.load();
+            loader = null;
+        }
+
+        return value;
+    }
+
+    /**
+     * Checks if the blob data is already loaded.
+     *
+     * @return {@code true} if the blob data is already loaded.
+     */
+    public synchronized boolean isLoaded() {
+        return loader == null;
+    }
+
+    /**
+     * Creates an independent blob with the same data. The data is not read if not loaded yet.
+     *
+     * @return the new blob.
+     */
+    public synchronized ParadoxBlob copy() {
+        if (loader != null) {
+            return new ParadoxBlob(size, loader);
+        }
+
+        return new ParadoxBlob(value.clone());
     }
 
     private static int areEquals(byte[] array1, int offset, byte[] array2) {
@@ -62,43 +124,49 @@ public final class ParadoxBlob implements Blob {
     }
 
     @Override
-    public void free() {
+    public synchronized void free() {
+        this.loader = null;
         this.value = EMPTY_BLOB;
     }
 
     @Override
-    public InputStream getBinaryStream(long pos, long length) {
+    public InputStream getBinaryStream(long pos, long length) throws SQLException {
         return new ByteArrayInputStream(getBytes(pos, (int) length));
     }
 
     @Override
-    public long length() {
+    public synchronized long length() {
+        if (loader != null) {
+            return size;
+        }
+
         return this.value.length;
     }
 
     @Override
-    public InputStream getBinaryStream() {
-        return new ByteArrayInputStream(this.value);
+    public InputStream getBinaryStream() throws SQLException {
+        return new ByteArrayInputStream(getValue());
     }
 
     @Override
-    public byte[] getBytes(long pos, int length) {
+    public byte[] getBytes(long pos, int length) throws SQLException {
         if (pos <= 0) {
             pos = 1;
         }
 
         final int endPos = (int) (pos - 1 + length);
-        return Arrays.copyOfRange(this.value, (int) pos - 1, endPos);
+        return Arrays.copyOfRange(getValue(), (int) pos - 1, endPos);
     }
 
     @Override
-    public long position(final byte[] pattern, final long start) throws ParadoxException {
+    public long position(final byte[] pattern, final long start) throws SQLException {
         if (start <= 0) {
             throw new ParadoxException(ParadoxException.Error.INVALID_POSITION_SPECIFIED);
         }
 
-        for (int loop = (int) start - 1; loop <= this.value.length - pattern.length; loop++) {
-            int pos = areEquals(this.value, loop, pattern);
+        final byte[] data = getValue();
+        for (int loop = (int) start - 1; loop <= data.length - pattern.length; loop++) {
+            int pos = areEquals(data, loop, pattern);
             if (pos != -1) {
                 return pos + 1L;
             }
@@ -113,11 +181,12 @@ public final class ParadoxBlob implements Blob {
     }
 
     @Override
-    public int setBytes(long pos, byte[] bytes) throws ParadoxException {
+    public synchronized int setBytes(long pos, byte[] bytes) throws SQLException {
         if (pos <= 0) {
             throw new ParadoxException(ParadoxException.Error.INVALID_POSITION_SPECIFIED);
         }
 
+        getValue();
         if (this.value.length < pos - 1 + bytes.length) {
             this.value = Arrays.copyOf(this.value, (int) pos - 1 + bytes.length);
         }
@@ -137,7 +206,8 @@ public final class ParadoxBlob implements Blob {
     }
 
     @Override
-    public void truncate(final long length) throws SQLException {
+    public synchronized void truncate(final long length) throws SQLException {
+        getValue();
         if (length > this.value.length) {
             throw new ParadoxException(ParadoxException.Error.INVALID_LENGTH_SPECIFIED);
         }
@@ -157,12 +227,37 @@ public final class ParadoxBlob implements Blob {
             return false;
         }
         ParadoxBlob that = (ParadoxBlob) o;
-        return Arrays.equals(value, that.value);
+        try {
+            return Arrays.equals(getValue(), that.getValue());
+        } catch (final SQLException e) {
+            throw new InternalException(e);
+        }
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(value);
+        try {
+            return Arrays.hashCode(getValue());
+        } catch (final SQLException e) {
+            throw new InternalException(e);
+        }
+    }
+
+    /**
+     * Reads the blob data.
+     *
+     * @since 1.6.3
+     */
+    @FunctionalInterface
+    public interface Loader {
+
+        /**
+         * Reads the blob data.
+         *
+         * @return the blob data.
+         * @throws SQLException in case of read failures.
+         */
+        byte[] load() throws SQLException;
     }
 
     private static class BlobStream extends ByteArrayOutputStream {
@@ -174,7 +269,11 @@ public final class ParadoxBlob implements Blob {
 
         @Override
         public void close() throws IOException {
-            parent.value = toByteArray();
+            synchronized (parent) {
+                parent.loader = null;
+                parent.value = toByteArray();
+            }
+
             super.close();
         }
     }
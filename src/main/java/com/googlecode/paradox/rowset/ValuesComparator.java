@@ -32,6 +32,11 @@ public final class ValuesComparator {
      */
     private static final double EPSILON = Double.MIN_VALUE * 8;
 
+    /**
+     * Smallest double value with its own key. Smaller values may be equals to zero in {@link #equals}.
+     */
+    private static final double MIN_DOUBLE_KEY = Double.MIN_NORMAL * 0x10;
+
     /**
      * Creates a new instance.
      */
@@ -56,6 +61,53 @@ public final class ValuesComparator {
         return condition.test(compare(o1, o2, connectionInfo));
     }
 
+    /**
+     * Gets the key of a double value. Values equals in {@link #equals} have the same key.
+     *
+     * @param value the value.
+     * @return the key.
+     */
+    public static Double doubleKey(final double value) {
+        if (Math.abs(value) < MIN_DOUBLE_KEY) {
+            // Also the negative zero.
+            return 0D;
+        }
+
+        return value;
+    }
+
+    /**
+     * Gets the key of a decimal value, without scale. Values equals in {@link #equals} have the same key.
+     *
+     * @param value the value.
+     * @return the key.
+     */
+    public static BigDecimal decimalKey(final BigDecimal value) {
+        if (value.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+
+        return value.stripTrailingZeros();
+    }
+
+    /**
+     * Gets the hash of a value. Values of the same kind (number, string, date...) equals in {@link #equals} have the
+     * same hash.
+     *
+     * @param value          the not null value.
+     * @param connectionInfo the connection info.
+     * @return the hash.
+     */
+    public static int hash(final Object value, final ConnectionInfo connectionInfo) {
+        if (value instanceof Number) {
+            return doubleKey(((Number) value).doubleValue()).hashCode();
+        } else if (value instanceof byte[] || value instanceof ParadoxBlob) {
+            return Arrays.hashCode(ValuesConverter.getByteArray(value, connectionInfo));
+        }
+
+        return value.hashCode();
+    }
+
     /**
      * Check for equality on two fields.
      *
@@ -175,7 +227,7 @@ public final class ValuesComparator {
         }
 
         // Try to compare with String values.
-        if (o1 instanceof byte[] || o2 instanceof byte[]) {
+        if (isBinary(o1) || isBinary(o2)) {
             final byte[] n1 = ValuesConverter.getByteArray(o1, connectionInfo);
             final byte[] n2 = ValuesConverter.getByteArray(o2, connectionInfo);
             return Arrays.equals(n1, n2);
@@ -304,7 +356,7 @@ public final class ValuesComparator {
         }
 
         // Try to compare with String values.
-        if (o1 instanceof byte[] || o2 instanceof byte[]) {
+        if (isBinary(o1) || isBinary(o2)) {
             final byte[] n1 = ValuesConverter.getByteArray(o1, connectionInfo);
             final byte[] n2 = ValuesConverter.getByteArray(o2, connectionInfo);
             if (Arrays.equals(n1, n2)) {
@@ -316,4 +368,14 @@ public final class ValuesComparator {
 
         return -1;
     }
+
+    /**
+     * Checks for binary values.
+     *
+     * @param value the value to check.
+     * @return {@code true} if the value is a binary value.
+     */
+    private static boolean isBinary(final Object value) {
+        return value instanceof byte[] || value instanceof ParadoxBlob;
+    }
 }
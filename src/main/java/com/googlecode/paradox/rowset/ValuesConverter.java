@@ -12,6 +12,7 @@ package com.googlecode.paradox.rowset;
 
 import com.googlecode.paradox.ConnectionInfo;
 import com.googlecode.paradox.exceptions.DataError;
+import com.googlecode.paradox.exceptions.InternalException;
 import com.googlecode.paradox.exceptions.ParadoxDataException;
 import com.googlecode.paradox.exceptions.ParadoxSyntaxErrorException;
 import com.googlecode.paradox.exceptions.SyntaxError;
@@ -580,6 +581,12 @@ public final class ValuesConverter {
         byte[] ret = null;
         if (value instanceof byte[]) {
             ret = (byte[]) value;
+        } else if (value instanceof ParadoxBlob) {
+            try {
+                ret = ((ParadoxBlob) value).getValue();
+            } catch (final SQLException e) {
+                throw new InternalException(e);
+            }
         } else if (value != null) {
             ret = value.toString().getBytes(StandardCharsets.UTF_8);
         }
@@ -598,8 +605,8 @@ public final class ValuesConverter {
         String ret = null;
         if (value instanceof String) {
             ret = (String) value;
-        } else if (value instanceof byte[]) {
-            ret = new String((byte[]) value, StandardCharsets.UTF_8);
+        } else if (value instanceof byte[] || value instanceof ParadoxBlob) {
+            ret = new String(getByteArray(value, connectionInfo), StandardCharsets.UTF_8);
         } else if (value != null) {
             ret = value.toString();
         }
@@ -15,7 +15,7 @@ import com.googlecode.paradox.exceptions.DataError;
 import com.googlecode.paradox.exceptions.ParadoxDataException;
 
 import java.sql.Date;
-import java.util.Calendar;
+import java.time.LocalDate;
 import java.util.GregorianCalendar;
 
 /**
@@ -46,6 +46,11 @@ public final class DateUtils {
      */
     private static final int SDN_OFFSET = 32_045;
 
+    /**
+     * The SDN of 1970-01-01.
+     */
+    private static final long UNIX_EPOCH_SDN = 2_440_588;
+
     /**
      * Utility class.
      */
@@ -89,48 +94,55 @@ public final class DateUtils {
     }
 
     /**
-     * Convert the Paradox date to Gregorian format.
+     * Convert the Paradox date to Gregorian format, in the local midnight of the default time zone.
      *
      * @param sdn the Paradox date to convert.
      * @return the Java {@link Date}.
      */
     public static Date sdnToGregorian(final long sdn) {
-
         if (sdn <= 0) {
             return null;
         }
 
-        long temp = ((sdn + DateUtils.SDN_OFFSET) * 4) - 1;
-
-        /* Calculate the century (year/100). */
-        final long century = temp / DateUtils.DAYS_PER_400_YEARS;
-
-        /* Calculate the year and day of year (1 <= dayOfYear <= 366). */
-        temp = (((temp % DateUtils.DAYS_PER_400_YEARS) / 4) * 4) + 3;
-        long year = (century * 100) + (temp / DateUtils.DAYS_PER_4_YEARS);
-        final long dayOfYear = ((temp % DateUtils.DAYS_PER_4_YEARS) / 4) + 1;
+        // SDN uses the proleptic Gregorian calendar.
+        final LocalDate date = LocalDate.ofEpochDay(sdn - UNIX_EPOCH_SDN);
+        if (date.getYear() <= 0) {
+            // Only B.C. dates need a calendar, there is no year zero in it.
+            return new Date(new GregorianCalendar(date.getYear() - 1, date.getMonthValue() - 1,
+                    date.getDayOfMonth()).getTimeInMillis());
+        }
 
-        /* Calculate the month and day of month. */
-        temp = (dayOfYear * 5) - 3;
-        long month = temp / DateUtils.DAYS_PER_5_MONTHS;
-        final long day = ((temp % DateUtils.DAYS_PER_5_MONTHS) / 5) + 1;
+        return Date.valueOf(date);
+    }
 
-        /* Convert to the normal beginning of the year. */
-        if (month < 10) {
-            month += 3;
-        } else {
-            year += 1;
-            month -= 9;
-        }
+    /**
+     * Gets the year of a date.
+     *
+     * @param date the date.
+     * @return the year.
+     */
+    public static int getYear(final Date date) {
+        return date.toLocalDate().getYear();
+    }
 
-        /* Adjust to the B.C./A.D. type numbering. */
-        year -= 4_800;
-        if (year <= 0) {
-            year--;
-        }
+    /**
+     * Gets the month of a date.
+     *
+     * @param date the date.
+     * @return the month (1 to 12).
+     */
+    public static int getMonth(final Date date) {
+        return date.toLocalDate().getMonthValue();
+    }
 
-        final Calendar calendar = new GregorianCalendar((int) year, (int) month - 1, (int) day);
-        return new Date(calendar.getTime().getTime());
+    /**
+     * Gets the day of month of a date.
+     *
+     * @param date the date.
+     * @return the day of month.
+     */
+    public static int getDay(final Date date) {
+        return date.toLocalDate().getDayOfMonth();
     }
 
     /**
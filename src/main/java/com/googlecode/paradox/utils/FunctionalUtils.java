@@ -15,7 +15,6 @@ import com.googlecode.paradox.exceptions.InternalException;
 import com.googlecode.paradox.function.aggregate.IGroupingContext;
 import com.googlecode.paradox.planner.context.SelectContext;
 import com.googlecode.paradox.results.Column;
-import com.googlecode.paradox.rowset.ValuesComparator;
 
 import java.sql.SQLException;
 import java.util.*;
@@ -115,7 +114,8 @@ public final class FunctionalUtils {
     }
 
     /**
-     * Predicate to filter values for group by expressions.
+     * Predicate to filter values for group by expressions. The groups are found in a hash table, so the predicate
+     * keeps state and must be used in sequential streams only.
      *
      * @param indexes        fields with grouping functions.
      * @param columns        the grouping columns.
@@ -125,15 +125,12 @@ public final class FunctionalUtils {
     @SuppressWarnings({"unchecked", "java:S5612", "rawtypes"})
     public static Predicate<Object[]> groupingByKeys(final int[] indexes, final int[] columns,
                                                      final ConnectionInfo connectionInfo) {
-        final List<Object[]> seen = new ArrayList<>();
+        final GroupingTable seen = new GroupingTable(columns, connectionInfo);
         return (Object[] value) -> {
-            final Object[] current = seen.stream()
-                    .filter(o -> equalsAggregate(o, value, columns, connectionInfo))
-                    .findAny().orElse(null);
+            final Object[] current = seen.putIfAbsent(value);
 
             if (current == null) {
                 // Just add, no grouping.
-                seen.add(value);
                 return true;
             } else {
                 // Do grouping.
@@ -176,32 +173,6 @@ public final class FunctionalUtils {
         }
     }
 
-    /**
-     * Compute an equals in array ignores grouping values.
-     *
-     * @param o1             the first array to compare.
-     * @param o2             the second array to compare.
-     * @param columns        the columns to compare.
-     * @param connectionInfo the connection information.
-     * @return <code>true</code> if the two arrays are equals.
-     */
-    private static boolean equalsAggregate(final Object[] o1, final Object[] o2, final int[] columns,
-                                           final ConnectionInfo connectionInfo) {
-        for (int i : columns) {
-            // NULL are equals only in aggregation.
-            if (o1[i] == o2[i]) {
-                return true;
-            }
-
-            final boolean ret = ValuesComparator.equals(o1[i], o2[i], connectionInfo);
-            if (!ret) {
-                return false;
-            }
-        }
-
-        return true;
-    }
-
     /**
      * Predicate to simulate the distinct on Object array.
      *
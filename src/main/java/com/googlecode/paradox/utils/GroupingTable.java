@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.utils;
+
+import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.rowset.ParadoxBlob;
+import com.googlecode.paradox.rowset.ValuesComparator;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A hash table of the group by rows.
+ * <p>
+ * The rows are grouped when the key columns are equals in {@link ValuesComparator}, and NULL values are grouped
+ * together. The hash of a value only depends on its kind (number, string, date...), so a column with values of many
+ * kinds is not used in the hash and these rows are compared one by one.
+ *
+ * @version 1.0
+ * @since 1.6.3
+ */
+class GroupingTable {
+
+    /**
+     * The key columns.
+     */
+    private final int[] columns;
+
+    /**
+     * The connection information.
+     */
+    private final ConnectionInfo connectionInfo;
+
+    /**
+     * The value kind of each key column, {@code null} if there is no value yet.
+     */
+    private final Kind[] kinds;
+
+    /**
+     * If the key column has values of many kinds.
+     */
+    private final boolean[] mixed;
+
+    /**
+     * The group rows by key.
+     */
+    private final Map<Key, Object[]> groups = new HashMap<>();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param columns        the key columns.
+     * @param connectionInfo the connection information.
+     */
+    GroupingTable(final int[] columns, final ConnectionInfo connectionInfo) {
+        this.columns = columns;
+        this.connectionInfo = connectionInfo;
+        this.kinds = new Kind[columns.length];
+        this.mixed = new boolean[columns.length];
+    }
+
+    /**
+     * Adds a row if there is no group with the same key.
+     *
+     * @param row the row to add.
+     * @return the group row with the same key or {@code null} if the row is a new group.
+     */
+    Object[] putIfAbsent(final Object[] row) {
+        if (updateKinds(row)) {
+            // The hash of the rows changed.
+            final List<Object[]> rows = new ArrayList<>(groups.values());
+            groups.clear();
+            rows.forEach(group -> groups.put(new Key(group), group));
+        }
+
+        return groups.putIfAbsent(new Key(row), row);
+    }
+
+    /**
+     * Updates the value kind of each key column.
+     *
+     * @param row the row.
+     * @return {@code true} if some column has values of many kinds now.
+     */
+    private boolean updateKinds(final Object[] row) {
+        boolean changed = false;
+        for (int i = 0; i < columns.length; i++) {
+            final Object value = row[columns[i]];
+            if (value != null && !mixed[i]) {
+                final Kind kind = Kind.of(value);
+                if (kinds[i] == null) {
+                    kinds[i] = kind;
+                } else if (kinds[i] != kind) {
+                    mixed[i] = true;
+                    changed = true;
+                }
+            }
+        }
+
+        return changed;
+    }
+
+    /**
+     * Gets the hash of a row key.
+     *
+     * @param row the row.
+     * @return the hash.
+     */
+    private int hash(final Object[] row) {
+        int hash = 1;
+        for (int i = 0; i < columns.length; i++) {
+            final Object value = row[columns[i]];
+            int valueHash = 0;
+            if (value != null && !mixed[i]) {
+                valueHash = kinds[i].hash(value, connectionInfo);
+            }
+
+            hash = 31 * hash + valueHash;
+        }
+
+        return hash;
+    }
+
+    /**
+     * Compute an equals in array ignores grouping values.
+     *
+     * @param o1 the first array to compare.
+     * @param o2 the second array to compare.
+     * @return <code>true</code> if the two arrays are equals.
+     */
+    private boolean equalsAggregate(final Object[] o1, final Object[] o2) {
+        for (int i : columns) {
+            // NULL are equals only in aggregation.
+            if (o1[i] != o2[i] && !ValuesComparator.equals(o1[i], o2[i], connectionInfo)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * A row key.
+     */
+    private final class Key {
+
+        /**
+         * The row.
+         */
+        private final Object[] row;
+
+        /**
+         * The row hash.
+         */
+        private final int hash;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param row the row.
+         */
+        Key(final Object[] row) {
+            this.row = row;
+            this.hash = GroupingTable.this.hash(row);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            final Key key = (Key) o;
+            return hash == key.hash && equalsAggregate(row, key.row);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * The value kinds. Values of the same kind equals in values comparator have the same hash.
+     */
+    private enum Kind {
+
+        /**
+         * Numeric values.
+         */
+        NUMBER,
+
+        /**
+         * Boolean values.
+         */
+        BOOLEAN,
+
+        /**
+         * String values.
+         */
+        STRING,
+
+        /**
+         * Date values.
+         */
+        DATE,
+
+        /**
+         * Time values.
+         */
+        TIME,
+
+        /**
+         * Timestamp values.
+         */
+        TIMESTAMP,
+
+        /**
+         * Binary values.
+         */
+        BINARY,
+
+        /**
+         * Unknown values, not used in the hash.
+         */
+        OTHER;
+
+        /**
+         * Gets the value kind.
+         *
+         * @param value the not null value.
+         * @return the value kind.
+         */
+        @SuppressWarnings("java:S1142")
+        static Kind of(final Object value) {
+            if (value instanceof Number) {
+                return NUMBER;
+            } else if (value instanceof Boolean) {
+                return BOOLEAN;
+            } else if (value instanceof String) {
+                return STRING;
+            } else if (value instanceof Date) {
+                return DATE;
+            } else if (value instanceof Time) {
+                return TIME;
+            } else if (value instanceof Timestamp) {
+                return TIMESTAMP;
+            } else if (value instanceof byte[] || value instanceof ParadoxBlob) {
+                return BINARY;
+            }
+
+            return OTHER;
+        }
+
+        /**
+         * Gets the value hash.
+         *
+         * @param value          the not null value of this kind.
+         * @param connectionInfo the connection information.
+         * @return the hash.
+         */
+        int hash(final Object value, final ConnectionInfo connectionInfo) {
+            if (this == OTHER) {
+                return 0;
+            }
+
+            return ValuesComparator.hash(value, connectionInfo);
+        }
+    }
+}
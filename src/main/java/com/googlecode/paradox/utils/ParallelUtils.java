@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.utils;
+
+import com.googlecode.paradox.exceptions.DataError;
+import com.googlecode.paradox.exceptions.InternalException;
+import com.googlecode.paradox.exceptions.ParadoxDataException;
+import com.googlecode.paradox.exceptions.ParadoxException;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Utility class to run parallel streams in the driver thread pool.
+ * <p>
+ * All connections share one pool with a thread by processor. A stream is split in some parts by thread, so a thread
+ * that ends its part takes the next one, but each read never uses more threads than configured.
+ *
+ * @since 1.6.3
+ */
+public final class ParallelUtils {
+
+    /**
+     * The part count by thread.
+     */
+    private static final int PARTS_BY_THREAD = 4;
+
+    /**
+     * Utility class, not for use.
+     */
+    private ParallelUtils() {
+        // Not used.
+    }
+
+    /**
+     * Collects a stream to a list using a thread pool with the desired parallelism. The stream order is kept and the
+     * stream is closed.
+     *
+     * @param parallelism the thread count.
+     * @param stream      the stream to collect.
+     * @param <T>         the stream type.
+     * @return the collected values.
+     * @throws SQLException in case of failures.
+     */
+    public static <T> List<T> collect(final int parallelism, final Stream<T> stream) throws SQLException {
+        try (final Stream<T> values = stream) {
+            return collectValues(parallelism, values);
+        }
+    }
+
+    /**
+     * Collects a stream to a list using a thread pool with the desired parallelism.
+     *
+     * @param parallelism the thread count.
+     * @param stream      the stream to collect.
+     * @param <T>         the stream type.
+     * @return the collected values.
+     * @throws SQLException in case of failures.
+     */
+    private static <T> List<T> collectValues(final int parallelism, final Stream<T> stream) throws SQLException {
+        if (parallelism <= 1) {
+            try {
+                return stream.collect(Collectors.toList());
+            } catch (@SuppressWarnings("java:S1166") final InternalException e) {
+                throw e.getCause();
+            }
+        }
+
+        final List<Spliterator<T>> parts = split(stream.spliterator(), parallelism * PARTS_BY_THREAD);
+        final List<List<T>> results = new ArrayList<>(Collections.nCopies(parts.size(), null));
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicBoolean cancelled = new AtomicBoolean();
+
+        final List<Future<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < Math.min(parallelism, parts.size()); i++) {
+            tasks.add(PoolHolder.POOL.submit(() -> {
+                try {
+                    int index;
+                    while (!cancelled.get() && (index = next.getAndIncrement()) < parts.size()) {
+                        final List<T> values = new ArrayList<>();
+                        final Spliterator<T> part = parts.get(index);
+                        while (!cancelled.get() && part.tryAdvance(values::add)) {
+                            // Reads the next value.
+                        }
+
+                        results.set(index, values);
+                    }
+                } catch (final RuntimeException | Error e) {
+                    cancelled.set(true);
+                    throw e;
+                }
+            }));
+        }
+
+        // Wait all tasks, so no one is still reading when the stream is closed.
+        ExecutionException failure = null;
+        boolean interrupted = false;
+        for (final Future<?> task : tasks) {
+            boolean done = false;
+            while (!done) {
+                try {
+                    task.get();
+                    done = true;
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                    cancelled.set(true);
+                } catch (final ExecutionException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+
+                    done = true;
+                }
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            throw new ParadoxException(ParadoxException.Error.OPERATION_CANCELLED);
+        }
+
+        if (failure != null) {
+            final Throwable cause = failure.getCause();
+            if (cause instanceof InternalException) {
+                throw ((InternalException) cause).getCause();
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new ParadoxDataException(DataError.ERROR_LOADING_DATA, failure);
+        }
+
+        final List<T> values = new ArrayList<>();
+        results.forEach(values::addAll);
+        return values;
+    }
+
+    /**
+     * Splits the stream data in order. Parts are split until their estimated size is below the total size divided by
+     * the part count, so uneven splits are split again.
+     *
+     * @param spliterator the stream data.
+     * @param count       the max part count.
+     * @param <T>         the stream type.
+     * @return the parts in stream order.
+     */
+    private static <T> List<Spliterator<T>> split(final Spliterator<T> spliterator, final int count) {
+        final long threshold = Math.max(1, spliterator.estimateSize() / count);
+        final List<Spliterator<T>> parts = new ArrayList<>(count);
+        parts.add(spliterator);
+
+        boolean changed = true;
+        while (changed && parts.size() < count) {
+            changed = false;
+            for (int i = 0; i < parts.size() && parts.size() < count; i++) {
+                if (parts.get(i).estimateSize() <= threshold) {
+                    continue;
+                }
+
+                final Spliterator<T> prefix = parts.get(i).trySplit();
+                if (prefix != null) {
+                    // The prefix comes before the remaining part.
+                    parts.add(i++, prefix);
+                    changed = true;
+                }
+            }
+        }
+
+        return parts;
+    }
+
+    /**
+     * The shared thread pool, created only in the first parallel read.
+     */
+    private static final class PoolHolder {
+
+        /**
+         * The shared thread pool.
+         */
+        private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+        /**
+         * Utility class, not for use.
+         */
+        private PoolHolder() {
+            // Not used.
+        }
+    }
+}
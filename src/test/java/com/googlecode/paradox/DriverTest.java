@@ -89,7 +89,7 @@ class DriverTest {
     @Test
     void testNullProperty() {
         final Driver driver = new Driver();
-        assertEquals(7, driver.getPropertyInfo(null, null).length);
+        assertEquals(15, driver.getPropertyInfo(null, null).length);
     }
 
     /**
@@ -98,7 +98,7 @@ class DriverTest {
     @Test
     void testNullPropertyInfo() {
         final Driver driver = new Driver();
-        assertEquals(7, driver.getPropertyInfo("jdbc:paradox:target/test-classes/", null).length);
+        assertEquals(15, driver.getPropertyInfo("jdbc:paradox:target/test-classes/", null).length);
     }
 
     /**
@@ -108,14 +108,22 @@ class DriverTest {
     void testPropertyInfo() {
         final Driver driver = new Driver();
         final DriverPropertyInfo[] info = driver.getPropertyInfo("jdbc:paradox:target/test-classes/", new Properties());
-        assertEquals(7, info.length);
+        assertEquals(15, info.length);
         assertEquals(ConnectionInfo.BCD_ROUNDING_KEY, info[0].name);
-        assertEquals(ConnectionInfo.CHARSET_KEY, info[1].name);
-        assertEquals(ConnectionInfo.ENABLE_CATALOG_KEY, info[2].name);
-        assertEquals(ConnectionInfo.LOCALE_KEY, info[3].name);
-        assertEquals("password", info[4].name);
-        assertEquals(ConnectionInfo.TIMEZONE_KEY, info[5].name);
-        assertEquals(ConnectionInfo.USER_KEY, info[6].name);
+        assertEquals(ConnectionInfo.BLOCK_CACHE_SIZE_KEY, info[1].name);
+        assertEquals(ConnectionInfo.CHARSET_KEY, info[2].name);
+        assertEquals(ConnectionInfo.DIRECTORY_WATCH_KEY, info[3].name);
+        assertEquals(ConnectionInfo.ENABLE_CATALOG_KEY, info[4].name);
+        assertEquals(ConnectionInfo.LOCALE_KEY, info[5].name);
+        assertEquals(ConnectionInfo.MEMORY_MAPPED_KEY, info[6].name);
+        assertEquals(ConnectionInfo.METADATA_CACHE_KEY, info[7].name);
+        assertEquals("password", info[8].name);
+        assertEquals(ConnectionInfo.PLAN_CACHE_SIZE_KEY, info[9].name);
+        assertEquals(ConnectionInfo.SCAN_PARALLELISM_KEY, info[10].name);
+        assertEquals(ConnectionInfo.STRING_DICTIONARY_SIZE_KEY, info[11].name);
+        assertEquals(ConnectionInfo.TABLE_CACHE_SIZE_KEY, info[12].name);
+        assertEquals(ConnectionInfo.TIMEZONE_KEY, info[13].name);
+        assertEquals(ConnectionInfo.USER_KEY, info[14].name);
     }
 
     /**
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.Driver;
+import com.googlecode.paradox.ParadoxConnection;
+import com.googlecode.paradox.data.filefilters.TableFilter;
+import com.googlecode.paradox.utils.TestUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link DirectoryIndex}.
+ *
+ * @since 1.6.3
+ */
+class DirectoryIndexTest {
+
+    /**
+     * Time to wait for the directory events.
+     */
+    private static final long TIMEOUT = 10_000L;
+
+    /**
+     * Register the driver.
+     */
+    @BeforeAll
+    static void initClass() {
+        new Driver();
+    }
+
+    /**
+     * Removes the directory indexes.
+     */
+    @AfterEach
+    void tearDown() {
+        DirectoryIndex.reset();
+    }
+
+    /**
+     * Test for listings updated after directory changes.
+     *
+     * @param directory the temporary directory.
+     * @throws Exception in case of failures.
+     */
+    @Test
+    void testChanges(@TempDir final Path directory) throws Exception {
+        final File schema = Files.createDirectory(directory.resolve("db")).toFile();
+        TestUtil.copyTable(schema, "AREACODES", "AREACODES", "DB", "PX");
+
+        final Properties properties = new Properties();
+        properties.put(ConnectionInfo.DIRECTORY_WATCH_KEY, "true");
+        try (final Connection conn = DriverManager.getConnection("jdbc:paradox:" + schema.getAbsolutePath(),
+                properties)) {
+            final ConnectionInfo info = conn.unwrap(ParadoxConnection.class).getConnectionInfo();
+            assertEquals(1, DirectoryIndex.listFiles(schema, new TableFilter(info.getLocale()), info).length);
+
+            TestUtil.copyTable(schema, "ORDERS", "ORDERS", "DB", "PX");
+            assertTrue(waitFor(schema, info, 2));
+            assertEquals(2, count(conn, schema.getName()));
+
+            Files.delete(new File(schema, "ORDERS.DB").toPath());
+            assertTrue(waitFor(schema, info, 1));
+            assertEquals(1, count(conn, schema.getName()));
+        }
+    }
+
+    /**
+     * Test for listings updated before the watch events arrive.
+     *
+     * @param directory the temporary directory.
+     * @throws Exception in case of failures.
+     */
+    @Test
+    void testChangesWithoutEvents(@TempDir final Path directory) throws Exception {
+        final File schema = Files.createDirectory(directory.resolve("db")).toFile();
+        TestUtil.copyTable(schema, "AREACODES", "AREACODES", "DB", "PX");
+
+        final Properties properties = new Properties();
+        properties.put(ConnectionInfo.DIRECTORY_WATCH_KEY, "true");
+        try (final Connection conn = DriverManager.getConnection("jdbc:paradox:" + schema.getAbsolutePath(),
+                properties)) {
+            final ConnectionInfo info = conn.unwrap(ParadoxConnection.class).getConnectionInfo();
+            assertEquals(1, DirectoryIndex.listFiles(schema, new TableFilter(info.getLocale()), info).length);
+
+            // The directory modification time is checked in each listing.
+            TestUtil.copyTable(schema, "ORDERS", "ORDERS", "DB", "PX");
+            assertEquals(2, DirectoryIndex.listFiles(schema, new TableFilter(info.getLocale()), info).length);
+        }
+    }
+
+    /**
+     * Test for disabled directory watch.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    void testDisabled() throws SQLException {
+        try (final Connection conn = DriverManager.getConnection("jdbc:paradox:target/test-classes/db")) {
+            final ConnectionInfo info = conn.unwrap(ParadoxConnection.class).getConnectionInfo();
+            final File schema = new File("target/test-classes/db");
+            assertFalse(DirectoryIndex.isEnabled(info));
+            assertArrayEquals(schema.listFiles(new TableFilter(info.getLocale(), "AREACODES")),
+                    DirectoryIndex.listFiles(schema, new TableFilter(info.getLocale(), "AREACODES"), info));
+        }
+    }
+
+    /**
+     * Waits for a table count in directory index.
+     *
+     * @param schema the schema directory.
+     * @param info   the connection information.
+     * @param count  the expected table count.
+     * @return {@code true} if the expected count was found.
+     * @throws InterruptedException if interrupted.
+     */
+    private static boolean waitFor(final File schema, final ConnectionInfo info, final int count)
+            throws InterruptedException {
+        final long end = System.currentTimeMillis() + TIMEOUT;
+        while (System.currentTimeMillis() < end) {
+            if (DirectoryIndex.listFiles(schema, new TableFilter(info.getLocale()), info).length == count) {
+                return true;
+            }
+
+            Thread.sleep(50);
+        }
+
+        return false;
+    }
+
+    /**
+     * Counts the tables in schema.
+     *
+     * @param conn   the connection.
+     * @param schema the schema name.
+     * @return the table count.
+     * @throws SQLException in case of failures.
+     */
+    private static int count(final Connection conn, final String schema) throws SQLException {
+        int count = 0;
+        try (final ResultSet rs = conn.getMetaData().getTables(null, schema, "%", new String[]{"TABLE"})) {
+            while (rs.next()) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+}
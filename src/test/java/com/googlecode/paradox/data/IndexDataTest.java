@@ -12,6 +12,8 @@ package com.googlecode.paradox.data;
 
 import com.googlecode.paradox.Driver;
 import com.googlecode.paradox.ParadoxConnection;
+import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,9 +21,13 @@ import org.junit.jupiter.api.Test;
 
 import java.sql.DriverManager;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Unit test for {@link IndexData}.
@@ -96,4 +102,101 @@ public class IndexDataTest {
             assertEquals("Descending", rs.getString("INDEX_NAME"));
         }
     }
+
+    /**
+     * Test for secondary index range.
+     *
+     * @throws Exception in case of failures.
+     */
+    @Test
+    void testFindBlocks() throws Exception {
+        final ParadoxTable table = (ParadoxTable) this.conn.getConnectionInfo().getCurrentSchema()
+                .findTable(this.conn.getConnectionInfo(), "customer");
+        final ParadoxTable joins = (ParadoxTable) this.conn.getConnectionInfo().getSchema(null, "joins")
+                .findTable(this.conn.getConnectionInfo(), "C");
+
+        // Alpha index fields are not navigated.
+        assertNull(IndexData.findBlocks(table, new RawCondition[]{
+                RawCondition.of(table.getFields()[0], RawCondition.Operator.EQUALS, "1", conn.getConnectionInfo())
+        }));
+
+        final Field a = field(joins, "A");
+        final Field b = field(joins, "B");
+        assertArrayEquals(new int[]{1}, IndexData.findBlocks(joins, new RawCondition[]{
+                RawCondition.of(a, RawCondition.Operator.EQUALS, "2", conn.getConnectionInfo())
+        }));
+        assertArrayEquals(new int[0], IndexData.findBlocks(joins, new RawCondition[]{
+                RawCondition.of(b, RawCondition.Operator.GREATER_THAN, "6", conn.getConnectionInfo())
+        }));
+    }
+
+    /**
+     * Test for queries using secondary index ranges.
+     *
+     * @throws Exception in case of failures.
+     */
+    @Test
+    void testIndexRange() throws Exception {
+        assertEquals(query("select A from joins.C where A = 2 or 1 = 0"), query("select A from joins.C where A = 2"));
+        assertEquals(query("select A, B from joins.C where B >= 5 or 1 = 0"),
+                query("select A, B from joins.C where B >= 5"));
+        assertEquals(query("select A, B from joins.C where B between 5 and 6 and C = 2"),
+                query("select A, B from joins.C where (B between 5 and 6 and C = 2) or 1 = 0"));
+        assertTrue(query("select A from joins.C where B > 6").isEmpty());
+    }
+
+    /**
+     * Test for queries read only from index entries.
+     *
+     * @throws Exception in case of failures.
+     */
+    @Test
+    void testIndexOnly() throws Exception {
+        final List<List<Object>> expected = query("select State, AC, Cities from db.areacodes where State >= 'NY'");
+        expected.forEach(row -> row.remove(2));
+        final List<List<Object>> rows = query("select State, AC from db.areacodes where State >= 'NY'");
+
+        assertFalse(rows.isEmpty());
+        assertEquals(expected.size(), rows.size());
+        assertTrue(rows.containsAll(expected));
+
+        assertEquals(query("select A, C from joins.C where A >= 2 order by A"),
+                query("select A, C from joins.C where (A >= 2) or 1 = 0 order by A"));
+    }
+
+    /**
+     * Gets a table field by name.
+     *
+     * @param table the table.
+     * @param name  the field name.
+     * @return the field.
+     */
+    private static Field field(final ParadoxTable table, final String name) {
+        return Arrays.stream(table.getFields()).filter(f -> f.getName().equalsIgnoreCase(name)).findFirst()
+                .orElseThrow(IllegalArgumentException::new);
+    }
+
+    /**
+     * Reads all rows of a query.
+     *
+     * @param sql the query.
+     * @return the rows.
+     * @throws SQLException in case of failures.
+     */
+    private List<List<Object>> query(final String sql) throws SQLException {
+        final List<List<Object>> rows = new ArrayList<>();
+        try (final Statement stmt = conn.createStatement(); final ResultSet rs = stmt.executeQuery(sql)) {
+            final int count = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                final List<Object> row = new ArrayList<>(count);
+                for (int i = 1; i <= count; i++) {
+                    row.add(rs.getObject(i));
+                }
+
+                rows.add(row);
+            }
+        }
+
+        return rows;
+    }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link MappedBlockReader}.
+ *
+ * @since 1.6.3
+ */
+class MappedBlockReaderTest {
+
+    /**
+     * Test for mapped file reads.
+     *
+     * @param dir the temporary directory.
+     * @throws IOException in case of failures.
+     */
+    @Test
+    void testRead(@TempDir final Path dir) throws IOException {
+        final File file = Files.write(dir.resolve("test.db"), new byte[]{1, 2, 3, 4}).toFile();
+
+        try (final BlockReader reader = MappedBlockReader.open(file)) {
+            assertNotNull(reader);
+            assertEquals(4, reader.size());
+
+            final ByteBuffer buffer = ByteBuffer.allocate(8);
+            assertEquals(2, reader.read(2, buffer));
+            assertEquals(3, buffer.get(0));
+            assertEquals(-1, reader.read(4, buffer));
+        }
+    }
+
+    /**
+     * Test for the mapped file limit.
+     *
+     * @param dir the temporary directory.
+     * @throws IOException in case of failures.
+     */
+    @Test
+    void testMappedFileLimit(@TempDir final Path dir) throws IOException {
+        for (int i = 0; i <= MappedBlockReader.MAX_MAPPED_FILES; i++) {
+            final File file = Files.write(dir.resolve("test" + i + ".db"), new byte[]{1}).toFile();
+            try (final BlockReader reader = MappedBlockReader.open(file)) {
+                assertNotNull(reader);
+            }
+        }
+
+        assertEquals(MappedBlockReader.MAX_MAPPED_FILES, MappedBlockReader.getMappedFiles());
+    }
+
+    /**
+     * Test for reads in a file truncated while mapped.
+     *
+     * @param dir the temporary directory.
+     * @throws IOException in case of failures.
+     */
+    @Test
+    void testTruncated(@TempDir final Path dir) throws IOException {
+        final File file = Files.write(dir.resolve("test.db"), new byte[0x2000]).toFile();
+
+        try (final BlockReader reader = MappedBlockReader.open(file)) {
+            assertNotNull(reader);
+            try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(0x1000);
+            }
+
+            final ByteBuffer buffer = ByteBuffer.allocate(0x1000);
+            assertEquals(0x1000, reader.read(0, buffer));
+
+            // The file length is not checked again in reads.
+            assertEquals(0x2000, reader.size());
+
+            // The fault may be thrown in the read or in the next call to the virtual machine, done here by a class
+            // lookup, so it is not thrown in other tests.
+            buffer.clear();
+            final Throwable e = assertThrows(Throwable.class, () -> {
+                reader.read(0x1000, buffer);
+                Class.forName(MappedBlockReaderTest.class.getName() + "$Missing");
+            });
+            if (e instanceof IOException) {
+                assertInstanceOf(InternalError.class, e.getCause());
+            } else {
+                assertInstanceOf(InternalError.class, e);
+            }
+        }
+    }
+}
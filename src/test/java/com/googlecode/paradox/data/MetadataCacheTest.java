@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.Driver;
+import com.googlecode.paradox.ParadoxConnection;
+import com.googlecode.paradox.utils.TestUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link MetadataCache}.
+ *
+ * @since 1.6.3
+ */
+class MetadataCacheTest {
+
+    /**
+     * Register the driver.
+     */
+    @BeforeAll
+    static void initClass() {
+        new Driver();
+    }
+
+    /**
+     * Test for table headers read from the cache file.
+     *
+     * @param directory the temporary directory.
+     * @throws SQLException in case of failures.
+     * @throws IOException  in case of copy failures.
+     */
+    @Test
+    void testCacheFile(@TempDir final Path directory) throws SQLException, IOException {
+        final File schema = Files.createDirectory(directory.resolve("db")).toFile();
+        // Use a table name not shared with other tests.
+        TestUtil.copyTable(schema, "AREACODES", "CACHEDCODES", "DB", "PX", "XG0", "YG0");
+
+        final Properties properties = new Properties();
+        properties.put(ConnectionInfo.METADATA_CACHE_KEY, "true");
+        final String url = "jdbc:paradox:" + schema.getAbsolutePath();
+
+        assertEquals(1, count(url, properties));
+
+        final File cacheFile = new File(schema, MetadataCache.FILE_NAME);
+        assertTrue(cacheFile.isFile());
+
+        // Load the cache file again.
+        MetadataCache.reset();
+        try (final Connection conn = DriverManager.getConnection(url, properties)) {
+            final ConnectionInfo info = conn.unwrap(ParadoxConnection.class)
+                    .getConnectionInfo();
+            final File table = new File(schema, "CACHEDCODES.DB");
+            final MetadataCache cache = MetadataCache.of(table, info);
+            assertNotNull(cache);
+            assertNotNull(cache.get(table));
+            assertNotNull(cache.get(new File(schema, "CACHEDCODES.XG0")));
+
+            // Changed files are read again.
+            assertTrue(table.setLastModified(table.lastModified() - 10_000));
+            assertNull(cache.get(table));
+        }
+
+        assertEquals(1, count(url, properties));
+        MetadataCache.reset();
+    }
+
+    /**
+     * Test for damaged cache file.
+     *
+     * @param directory the temporary directory.
+     * @throws SQLException in case of failures.
+     * @throws IOException  in case of copy failures.
+     */
+    @Test
+    void testDamagedCacheFile(@TempDir final Path directory) throws SQLException, IOException {
+        final File schema = Files.createDirectory(directory.resolve("db")).toFile();
+        TestUtil.copyTable(schema, "AREACODES", "DAMAGEDCODES", "DB", "PX", "XG0", "YG0");
+
+        final File cacheFile = new File(schema, MetadataCache.FILE_NAME);
+        try (final DataOutputStream out = new DataOutputStream(new FileOutputStream(cacheFile))) {
+            out.writeInt(0x5044_4D43);
+            out.writeInt(1);
+            out.writeInt(1);
+            out.writeUTF("DAMAGEDCODES.DB");
+            out.writeLong(0);
+            out.writeLong(0);
+            // Much more data than the file has.
+            out.writeInt(Integer.MAX_VALUE);
+        }
+
+        final Properties properties = new Properties();
+        properties.put(ConnectionInfo.METADATA_CACHE_KEY, "true");
+        final String url = "jdbc:paradox:" + schema.getAbsolutePath();
+
+        MetadataCache.reset();
+        try (final Connection conn = DriverManager.getConnection(url, properties);
+             final Statement stmt = conn.createStatement();
+             final ResultSet rs = stmt.executeQuery("select count(*) from db.damagedcodes where AC = 201")) {
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt(1));
+        }
+
+        // The cache file is saved again without temporary files left.
+        try (final Stream<Path> files = Files.list(schema.toPath())) {
+            assertEquals(0, files.filter(f -> f.toString().endsWith(".tmp")).count());
+        }
+
+        assertTrue(cacheFile.length() > 0x100);
+        MetadataCache.reset();
+    }
+
+    /**
+     * Test for disabled cache.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    void testDisabled() throws SQLException {
+        try (final Connection conn = DriverManager.getConnection("jdbc:paradox:target/test-classes/db")) {
+            final ConnectionInfo info = conn.unwrap(ParadoxConnection.class)
+                    .getConnectionInfo();
+            assertNull(MetadataCache.of(new File("target/test-classes/db/AREACODES.DB"), info));
+        }
+    }
+
+    /**
+     * Counts the rows of a table with code 201.
+     *
+     * @param url        the connection URL.
+     * @param properties the connection properties.
+     * @return the row count.
+     * @throws SQLException in case of failures.
+     */
+    private static int count(final String url, final Properties properties) throws SQLException {
+        try (final Connection conn = DriverManager.getConnection(url, properties);
+             final Statement stmt = conn.createStatement();
+             final ResultSet rs = stmt.executeQuery("select count(*) from db.cachedcodes where AC = 201")) {
+            assertTrue(rs.next());
+            return rs.getInt(1);
+        }
+    }
+}
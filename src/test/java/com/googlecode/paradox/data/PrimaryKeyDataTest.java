@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.Driver;
+import com.googlecode.paradox.ParadoxConnection;
+import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link PrimaryKeyData} class.
+ *
+ * @since 1.6.3
+ */
+class PrimaryKeyDataTest {
+
+    /**
+     * The connection string used in  tests.
+     */
+    private static final String CONNECTION_STRING = "jdbc:paradox:target/test-classes/db";
+
+    /**
+     * The connection.
+     */
+    private static ParadoxConnection conn;
+
+    /**
+     * Register the database driver.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @BeforeAll
+    static void setUp() throws SQLException {
+        new Driver();
+        conn = (ParadoxConnection) DriverManager.getConnection(CONNECTION_STRING);
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    /**
+     * Gets the customer table.
+     *
+     * @return the customer table.
+     * @throws SQLException in case of failures.
+     */
+    private static ParadoxTable customer() throws SQLException {
+        return (ParadoxTable) conn.getConnectionInfo().getCurrentSchema()
+                .findTable(conn.getConnectionInfo(), "customer");
+    }
+
+    /**
+     * Test for a key lookup.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    void testEquals() throws SQLException {
+        final ParadoxTable table = customer();
+        final Field field = table.getFields()[0];
+        final RawCondition[] conditions = {
+                RawCondition.of(field, RawCondition.Operator.EQUALS, "12", conn.getConnectionInfo())
+        };
+
+        final int[] blocks = PrimaryKeyData.findBlocks(table, conditions);
+        assertNotNull(blocks);
+        assertTrue(blocks.length < table.getUsedBlocks());
+
+        final List<Object[]> rows = new ArrayList<>(new TableRows(table, table.getFields(), null, null, conditions));
+        assertEquals(1, rows.size());
+        assertEquals(12, rows.get(0)[0]);
+    }
+
+    /**
+     * Test for a key range.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    void testRange() throws SQLException {
+        final ParadoxTable table = customer();
+        final Field field = table.getFields()[0];
+        final RawCondition[] conditions = {
+                RawCondition.of(field, RawCondition.Operator.GREATER_THAN_OR_EQUALS, "12", conn.getConnectionInfo()),
+                RawCondition.of(field, RawCondition.Operator.LESS_THAN_OR_EQUALS, "14", conn.getConnectionInfo())
+        };
+
+        final int[] blocks = PrimaryKeyData.findBlocks(table, conditions);
+        assertNotNull(blocks);
+        assertTrue(blocks.length < table.getUsedBlocks());
+
+        final TableRows rows = new TableRows(table, table.getFields(), null, null, conditions);
+        assertEquals(3, rows.size());
+        assertEquals(3, rows.parallelStream().count());
+    }
+
+    /**
+     * Test for conditions not using the key.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    void testNoKeyCondition() throws SQLException {
+        final ParadoxTable table = customer();
+        final RawCondition[] conditions = {
+                RawCondition.of(table.getFields()[0], RawCondition.Operator.IS_NOT_NULL)
+        };
+
+        assertNull(PrimaryKeyData.findBlocks(table, conditions));
+        assertNull(PrimaryKeyData.findBlocks(table, null));
+    }
+}
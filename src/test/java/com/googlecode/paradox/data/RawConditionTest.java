@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.Driver;
+import com.googlecode.paradox.ParadoxConnection;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link RawCondition} class.
+ *
+ * @since 1.6.3
+ */
+class RawConditionTest {
+
+    /**
+     * The connection string used in  tests.
+     */
+    private static final String CONNECTION_STRING = "jdbc:paradox:target/test-classes/db";
+
+    /**
+     * The connection.
+     */
+    private static ParadoxConnection conn;
+
+    /**
+     * Register the database driver.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @BeforeAll
+    static void setUp() throws SQLException {
+        new Driver();
+        conn = (ParadoxConnection) DriverManager.getConnection(CONNECTION_STRING);
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    /**
+     * Reads all rows of a query.
+     *
+     * @param sql the query.
+     * @return the rows.
+     * @throws SQLException in case of failures.
+     */
+    private static List<List<Object>> query(final String sql) throws SQLException {
+        final List<List<Object>> rows = new ArrayList<>();
+        try (final Statement stmt = conn.createStatement(); final ResultSet rs = stmt.executeQuery(sql)) {
+            final int count = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                final List<Object> row = new ArrayList<>(count);
+                for (int i = 1; i <= count; i++) {
+                    row.add(rs.getObject(i));
+                }
+
+                rows.add(row);
+            }
+        }
+
+        return rows;
+    }
+
+    /**
+     * Test the conditions tested in raw data against the same conditions evaluated after decoding.
+     *
+     * @param table     the table name.
+     * @param condition the condition to test.
+     * @throws SQLException in case of failures.
+     */
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "db.customer|CustNo = 12",
+            "db.customer|CustNo > 10",
+            "db.customer|15 > CustNo",
+            "db.customer|CustNo BETWEEN 5 AND 12",
+            "db.customer|CustNo <= '7'",
+            "db.customer|CustNo = 7.5",
+            "db.orders|\"Order No\" >= 1100",
+            "db.orders|\"Order No\" = 1005.0",
+            "db.orders|\"Sale Date\" < '1989-06-01'",
+            "db.orders|\"Sale Date\" = '1988-04-05'",
+            "db.orders|\"Ship Date\" BETWEEN '1988-01-01' AND '1988-12-31'",
+            "db.general|ID < 3",
+            "db.general|ID <> 3 AND ID >= 2",
+            "geog.tblsttes|\"Admitted Order\" < 20",
+            "geog.tblsttes|\"Admitted Order\" IS NULL",
+            "geog.tblsttes|\"Date Admitted\" > '1800-01-01'",
+            "geog.tblsttes|\"Date Admitted\" IS NOT NULL",
+            "geog.tblsttes|\"Rank in Area\" <= 10"
+    })
+    void testCondition(final String table, final String condition) throws SQLException {
+        // The OR clause is not tested in raw data.
+        final List<List<Object>> expected = query("select * from " + table + " where (" + condition
+                + ") or 1 = 0");
+        final List<List<Object>> rows = query("select * from " + table + " where " + condition);
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, rows);
+    }
+
+    /**
+     * Test a condition using parameters.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    void testParameter() throws SQLException {
+        try (final PreparedStatement stmt = conn.prepareStatement(
+                "select CustNo from db.customer where CustNo = ?")) {
+            stmt.setInt(1, 12);
+            try (final ResultSet rs = stmt.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(12, rs.getInt(1));
+                assertFalse(rs.next());
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.Driver;
+import com.googlecode.paradox.ParadoxConnection;
+import com.googlecode.paradox.metadata.Field;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link RowDecoder} class.
+ *
+ * @since 1.6.3
+ */
+class RowDecoderTest {
+
+    /**
+     * The connection string used in  tests.
+     */
+    private static final String CONNECTION_STRING = "jdbc:paradox:target/test-classes/db";
+
+    /**
+     * The connection.
+     */
+    private static ParadoxConnection conn;
+
+    /**
+     * Register the database driver.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @BeforeAll
+    static void setUp() throws SQLException {
+        new Driver();
+        conn = (ParadoxConnection) DriverManager.getConnection(CONNECTION_STRING);
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    /**
+     * Test for projected fields in reverse order.
+     *
+     * @param tableName the table name.
+     * @throws SQLException in case of failures.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "areacodes",
+            "customer",
+            "orders"
+    })
+    void testProjection(final String tableName) throws SQLException {
+        final ParadoxTable table = (ParadoxTable) conn.getConnectionInfo().getCurrentSchema()
+                .findTable(conn.getConnectionInfo(), tableName);
+        final Field[] fields = table.getFields();
+        final Field[] projected = new Field[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            projected[i] = fields[fields.length - i - 1];
+        }
+
+        final List<Object[]> full = TableData.loadData(table, fields);
+        final List<Object[]> reversed = TableData.loadData(table, projected);
+
+        assertEquals(full.size(), reversed.size());
+        for (int row = 0; row < full.size(); row++) {
+            for (int i = 0; i < fields.length; i++) {
+                assertEquals(full.get(row)[i], reversed.get(row)[fields.length - i - 1]);
+            }
+        }
+    }
+
+    /**
+     * Test for LOB values read with the blob file reader of the scan.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    void testBlobReader() throws SQLException {
+        final ParadoxTable table = (ParadoxTable) conn.getConnectionInfo()
+                .getSchema(null, "fields").findTable(conn.getConnectionInfo(), "memo");
+        final RowDecoder decoder = new RowDecoder(table, table.getFields());
+
+        final List<Object[]> expected = TableData.loadData(table, table.getFields());
+        final List<Object[]> rows = new ArrayList<>();
+        try (final TableCursor cursor = new TableCursor(decoder, null)) {
+            cursor.forEachRemaining(rows::add);
+        }
+
+        assertEquals(expected.size(), rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertArrayEquals(expected.get(i), rows.get(i));
+        }
+    }
+
+    /**
+     * Test for the blob file reader creation.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    void testCreateBlobReader() throws SQLException {
+        final ParadoxTable memo = (ParadoxTable) conn.getConnectionInfo()
+                .getSchema(null, "fields").findTable(conn.getConnectionInfo(), "memo");
+        try (final BlobFileReader blobs = new RowDecoder(memo, memo.getFields()).createBlobReader()) {
+            assertNotNull(blobs);
+        }
+
+        final ParadoxTable areaCodes = (ParadoxTable) conn.getConnectionInfo().getCurrentSchema()
+                .findTable(conn.getConnectionInfo(), "areacodes");
+        assertNull(new RowDecoder(areaCodes, areaCodes.getFields()).createBlobReader());
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data;
+
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link StringDictionary}.
+ *
+ * @since 1.6.3
+ */
+class StringDictionaryTest {
+
+    /**
+     * The table used to decode values.
+     */
+    private final ParadoxTable table = new ParadoxTable(new File("test.db"), null);
+
+    /**
+     * Test for repeated values.
+     */
+    @Test
+    void testRepeatedValues() {
+        final StringDictionary dictionary = new StringDictionary(4);
+        final byte[] array = "xxNYxxNYxxCA".getBytes(StandardCharsets.US_ASCII);
+
+        final String first = dictionary.decode(table, array, 2, 2);
+        assertEquals("NY", first);
+        assertSame(first, dictionary.decode(table, array, 6, 2));
+        assertEquals("CA", dictionary.decode(table, array, 10, 2));
+        assertEquals("xxN", dictionary.decode(table, array, 0, 3));
+        assertEquals(3, dictionary.size());
+        assertTrue(dictionary.isEnabled());
+    }
+
+    /**
+     * Test for high cardinality values.
+     */
+    @Test
+    void testDisabled() {
+        final StringDictionary dictionary = new StringDictionary(2);
+        final byte[] array = "ABCD".getBytes(StandardCharsets.US_ASCII);
+
+        for (int i = 0; i < array.length; i++) {
+            assertEquals(String.valueOf((char) array[i]), dictionary.decode(table, array, i, 1));
+        }
+
+        assertFalse(dictionary.isEnabled());
+        assertEquals("A", dictionary.decode(table, array, 0, 1));
+    }
+}
@@ -10,10 +10,13 @@
  */
 package com.googlecode.paradox.data;
 
+import com.googlecode.paradox.ConnectionInfo;
 import com.googlecode.paradox.Driver;
 import com.googlecode.paradox.ParadoxConnection;
 import com.googlecode.paradox.metadata.Field;
 import com.googlecode.paradox.metadata.Table;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+import com.googlecode.paradox.utils.ParallelUtils;
 import com.googlecode.paradox.utils.TestUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -22,13 +25,26 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 /**
  * Unit test for {@link TableData}.
@@ -135,6 +151,202 @@ class TableDataTest {
         assertNotNull(table.load(table.getFields()));
     }
 
+    /**
+     * Test for lazy table scan.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    void testScan() throws SQLException {
+        final Table table = this.conn.getConnectionInfo().getCurrentSchema().findTable(this.conn.getConnectionInfo(), "areacodes");
+        final List<Object[]> data = table.load(table.getFields());
+        final List<Object[]> scanned = new ArrayList<>(table.scan(table.getFields()));
+
+        assertEquals(data.size(), scanned.size());
+        for (int i = 0; i < data.size(); i++) {
+            assertArrayEquals(data.get(i), scanned.get(i));
+        }
+    }
+
+    /**
+     * Test for filtered table scan.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    void testFilteredScan() throws SQLException {
+        final Table table = this.conn.getConnectionInfo().getCurrentSchema().findTable(this.conn.getConnectionInfo(), "areacodes");
+        final Field[] fields = table.getFields();
+        final Predicate<Object[]> filter = row -> row[0] != null && row[0].toString().startsWith("2");
+
+        final List<Object[]> data = table.load(fields).stream().filter(filter).collect(Collectors.toList());
+        final List<Object[]> scanned = new ArrayList<>(table.scan(fields, new Field[]{fields[0]}, row -> {
+            // Only the filter fields are decoded at this point.
+            assertNull(row[1]);
+            return filter.test(row);
+        }, null));
+
+        assertFalse(data.isEmpty());
+        assertEquals(data.size(), scanned.size());
+        for (int i = 0; i < data.size(); i++) {
+            assertArrayEquals(data.get(i), scanned.get(i));
+        }
+    }
+
+    /**
+     * Test for parallel table scan order.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    void testParallelScan() throws SQLException {
+        final Table table = this.conn.getConnectionInfo().getCurrentSchema().findTable(this.conn.getConnectionInfo(), "areacodes");
+        final List<Object[]> data = table.load(table.getFields());
+        final List<Object[]> scanned = ParallelUtils.collect(4, table.scan(table.getFields()).parallelStream());
+
+        assertEquals(data.size(), scanned.size());
+        for (int i = 0; i < data.size(); i++) {
+            assertArrayEquals(data.get(i), scanned.get(i));
+        }
+    }
+
+    /**
+     * Test if the table file is closed in partially read scans.
+     *
+     * @throws Exception in case of failures.
+     */
+    @Test
+    void testPartialScanClose() throws Exception {
+        final Path fds = Paths.get("/proc/self/fd");
+        assumeTrue(Files.isDirectory(fds));
+
+        final Table table = this.conn.getConnectionInfo().getCurrentSchema().findTable(this.conn.getConnectionInfo(), "areacodes");
+        final long opened = countOpenFiles(fds, "areacodes");
+        try (final Stream<Object[]> stream = table.scan(table.getFields()).stream()) {
+            assertTrue(stream.findFirst().isPresent());
+            assertEquals(opened + 1, countOpenFiles(fds, "areacodes"));
+        }
+
+        assertEquals(opened, countOpenFiles(fds, "areacodes"));
+
+        try (final Stream<Object[]> stream = table.scan(table.getFields()).parallelStream()) {
+            assertEquals(1, stream.limit(1).count());
+        }
+
+        assertEquals(opened, countOpenFiles(fds, "areacodes"));
+    }
+
+    /**
+     * Counts the open files of this process.
+     *
+     * @param fds  the process file descriptor directory.
+     * @param name the file name to find.
+     * @return the open file count.
+     * @throws IOException in case of failures.
+     */
+    private static long countOpenFiles(final Path fds, final String name) throws IOException {
+        try (final Stream<Path> files = Files.list(fds)) {
+            return files.filter((Path fd) -> {
+                try {
+                    return Files.readSymbolicLink(fd).getFileName().toString().toLowerCase().startsWith(name);
+                } catch (@SuppressWarnings("java:S1166") final IOException e) {
+                    return false;
+                }
+            }).count();
+        }
+    }
+
+    /**
+     * Test for the shared block cache.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    void testBlockCache() throws SQLException {
+        final Table table = this.conn.getConnectionInfo().getCurrentSchema().findTable(this.conn.getConnectionInfo(), "areacodes");
+        final BlockCache cache = BlockCache.getInstance();
+        cache.clear();
+
+        final List<Object[]> data = table.load(table.getFields());
+        final long hits = cache.getHits();
+        assertTrue(cache.getSize() > 0);
+
+        final List<Object[]> cached = table.load(table.getFields());
+        assertTrue(cache.getHits() > hits);
+
+        assertEquals(data.size(), cached.size());
+        for (int i = 0; i < data.size(); i++) {
+            assertArrayEquals(data.get(i), cached.get(i));
+        }
+    }
+
+    /**
+     * Test if a full scan in a file larger than the block cache does not store the blocks.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    void testBlockCacheScan() throws SQLException {
+        final BlockCache cache = BlockCache.getInstance();
+        final Properties properties = new Properties();
+        properties.put(ConnectionInfo.BLOCK_CACHE_SIZE_KEY, "65536");
+
+        try (final ParadoxConnection small = (ParadoxConnection) DriverManager.getConnection(CONNECTION_STRING + "db", properties)) {
+            final Table table = small.getConnectionInfo().getCurrentSchema().findTable(small.getConnectionInfo(), "areacodes");
+            assertTrue(((ParadoxTable) table).getFile().length() > small.getConnectionInfo().getBlockCacheSize());
+
+            cache.clear();
+            assertFalse(new ArrayList<>(table.scan(table.getFields())).isEmpty());
+            assertEquals(0, cache.getSize());
+        }
+
+        final Table table = this.conn.getConnectionInfo().getCurrentSchema().findTable(this.conn.getConnectionInfo(), "areacodes");
+        assertFalse(new ArrayList<>(table.scan(table.getFields())).isEmpty());
+        assertTrue(cache.getSize() > 0);
+    }
+
+    /**
+     * Test for memory mapped table reads.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    void testMemoryMapped() throws SQLException {
+        final Properties properties = new Properties();
+        properties.put(ConnectionInfo.MEMORY_MAPPED_KEY, "true");
+
+        try (final ParadoxConnection mapped = (ParadoxConnection) DriverManager.getConnection(CONNECTION_STRING + "db", properties);
+             final Statement stmt = mapped.createStatement();
+             final ResultSet rs = stmt.executeQuery("SELECT AC FROM db.areacodes WHERE AC = 212")) {
+            assertTrue(mapped.getConnectionInfo().isMemoryMapped());
+            assertTrue(rs.next());
+            assertEquals("212", rs.getString(1));
+            assertFalse(rs.next());
+        }
+    }
+
+    /**
+     * Test for repeated text values shared in a scan.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    void testStringDictionary() throws SQLException {
+        final Table table = this.conn.getConnectionInfo().getCurrentSchema().findTable(this.conn.getConnectionInfo(), "areacodes");
+        final Field state = Arrays.stream(table.getFields())
+                .filter(f -> f.getName().equalsIgnoreCase("State")).findFirst().orElse(null);
+        assertNotNull(state);
+
+        final List<Object[]> rows = new ArrayList<>(table.scan(new Field[]{state}));
+        final Map<Object, Object> values = new HashMap<>();
+        for (final Object[] row : rows) {
+            final Object value = values.computeIfAbsent(row[0], k -> row[0]);
+            assertSame(value, row[0]);
+        }
+
+        assertTrue(values.size() < rows.size());
+    }
+
     /**
      * Test for class sanity.
      */
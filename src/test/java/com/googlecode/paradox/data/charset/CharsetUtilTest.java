@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.data.charset;
+
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link CharsetUtil} class.
+ *
+ * @since 1.6.3
+ */
+class CharsetUtilTest {
+
+    /**
+     * Test for lookup table decoding equals to charset decoding.
+     *
+     * @param name the charset name.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"windows-1252", "cp437", "cp866", "US-ASCII", "cp936", "windows-31j"})
+    void testTranslate(final String name) {
+        final ParadoxTable table = new ParadoxTable(new File("test.db"), null);
+        table.setCharset(Charset.forName(name));
+
+        final byte[] bytes = new byte[0x200];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (i * 7);
+        }
+
+        assertEquals(CharsetUtil.translate(table, ByteBuffer.wrap(bytes, 3, 0x100)),
+                CharsetUtil.translate(table, bytes, 3, 0x100));
+    }
+
+    /**
+     * Test for single byte charsets detection.
+     */
+    @Test
+    void testCharTable() {
+        assertNotNull(CharsetUtil.getCharTable(Charset.forName("windows-1252")));
+        assertNotNull(CharsetUtil.getCharTable(new Cp867Charset()));
+        assertNotNull(CharsetUtil.getCharTable(new Roman8Charset()));
+        assertNull(CharsetUtil.getCharTable(Charset.forName("cp936")));
+        assertNull(CharsetUtil.getCharTable(Charset.forName("windows-31j")));
+    }
+}
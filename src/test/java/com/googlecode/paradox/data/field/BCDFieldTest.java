@@ -10,14 +10,24 @@
  */
 package com.googlecode.paradox.data.field;
 
+import com.googlecode.paradox.ConnectionInfo;
 import com.googlecode.paradox.Driver;
 import com.googlecode.paradox.ParadoxConnection;
+import com.googlecode.paradox.metadata.paradox.ParadoxField;
+import com.googlecode.paradox.metadata.paradox.ParadoxTable;
+import com.googlecode.paradox.results.ParadoxType;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.sql.*;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -150,4 +160,93 @@ class BCDFieldTest {
             assertFalse(rs.next());
         }
     }
+
+    /**
+     * Test for decoded values equals to the text based decoding.
+     *
+     * @param rounding if the BCD rounding is used.
+     * @throws SQLException in case of failures.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void testParity(final boolean rounding) throws SQLException {
+        final ConnectionInfo connectionInfo = new ConnectionInfo("test");
+        connectionInfo.put(ConnectionInfo.BCD_ROUNDING_KEY, Boolean.toString(rounding));
+        final ParadoxTable table = new ParadoxTable(new File("test.db"), connectionInfo);
+        final BCDField parser = new BCDField();
+        final Random random = new Random(1);
+
+        for (final int precision : new int[]{0, 1, 2, 4, 15, 16, 17, 31, BCDField.MAX_DIGITS}) {
+            final ParadoxField field = new ParadoxField(ParadoxType.BCD);
+            field.setSize(precision);
+
+            for (int loop = 0; loop < 1000; loop++) {
+                final byte[] value = new byte[BCDField.BCD_SIZE];
+                // Use more leading zeros in some values.
+                final int first = BCDField.BCD_SIZE - random.nextInt(BCDField.BCD_SIZE);
+                for (int i = first; i < value.length; i++) {
+                    value[i] = (byte) ((random.nextInt(10) << 4) | random.nextInt(10));
+                }
+
+                if (random.nextBoolean()) {
+                    value[0] = (byte) 0x80;
+                } else {
+                    value[0] = 0x40;
+                    for (int i = 1; i < value.length; i++) {
+                        value[i] ^= (byte) 0xFF;
+                    }
+                }
+
+                final String expected = parseText(value, precision);
+                final Object actual = parser.parse(table, ByteBuffer.wrap(value), field);
+                if (rounding) {
+                    assertEquals(Double.valueOf(expected), actual, expected);
+                } else {
+                    assertEquals(new BigDecimal(expected), actual, expected);
+                }
+            }
+        }
+    }
+
+    /**
+     * Decodes a BCD value to text, the previous decoding used in driver.
+     *
+     * @param value     the BCD value.
+     * @param precision the field precision.
+     * @return the value as text.
+     */
+    private static String parseText(final byte[] value, final int precision) {
+        final byte[] valueBuffer = value.clone();
+        final boolean negative = (valueBuffer[0] & 0x80) == 0;
+        if (negative) {
+            for (int i = 1; i < valueBuffer.length; i++) {
+                valueBuffer[i] ^= (byte) 0xFF;
+            }
+        }
+
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 1; i < valueBuffer.length; i++) {
+            sb.append((valueBuffer[i] & 0xF0) >>> 4);
+            sb.append(valueBuffer[i] & 0x0F);
+        }
+
+        if (precision == BCDField.MAX_DIGITS) {
+            sb.insert(0, "0.");
+        } else {
+            sb.insert(sb.length() - precision, '.');
+            if (precision == 0) {
+                sb.append('0');
+            }
+
+            while (sb.length() > 1 && sb.charAt(0) == '0') {
+                sb.deleteCharAt(0);
+            }
+        }
+
+        if (negative) {
+            sb.insert(0, '-');
+        }
+
+        return sb.toString();
+    }
 }
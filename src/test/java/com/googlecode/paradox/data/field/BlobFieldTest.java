@@ -12,14 +12,21 @@ package com.googlecode.paradox.data.field;
 
 import com.googlecode.paradox.Driver;
 import com.googlecode.paradox.ParadoxConnection;
+import com.googlecode.paradox.exceptions.ParadoxDataException;
 import com.googlecode.paradox.exceptions.ParadoxException;
+import com.googlecode.paradox.rowset.ParadoxBlob;
+import com.googlecode.paradox.utils.TestUtil;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -224,4 +231,57 @@ class BlobFieldTest {
 
         assertArrayEquals(pattern, blob.getBytes(1, (int) blob.length()));
     }
+
+    /**
+     * Test for blob data read only when used.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    void testLazyBlob() throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("select Graphic from fields.graphic where Id = 2")) {
+            int size = 9626;
+            assertTrue(rs.next());
+
+            final ParadoxBlob blob = (ParadoxBlob) rs.getBlob("Graphic");
+            assertFalse(blob.isLoaded());
+            assertEquals(size, blob.length());
+            assertFalse(blob.isLoaded());
+
+            final byte[] bytes = rs.getBytes("Graphic");
+            assertEquals(size, bytes.length);
+            assertArrayEquals(bytes, (byte[]) rs.getObject("Graphic"));
+            assertArrayEquals(bytes, blob.getBytes(1, size));
+            assertTrue(blob.isLoaded());
+
+            assertFalse(rs.next());
+        }
+    }
+
+    /**
+     * Test for blob file changed after the row was read.
+     *
+     * @param directory the temporary directory.
+     * @throws SQLException in case of failures.
+     * @throws IOException  in case of copy failures.
+     */
+    @Test
+    void testBlobFileChanged(@TempDir final Path directory) throws SQLException, IOException {
+        final File schema = Files.createDirectory(directory.resolve("fields")).toFile();
+        TestUtil.copyTable(new File("target/test-classes/fields"), schema, "graphic", "graphic", "db", "mb", "px");
+
+        try (final Connection connection = DriverManager.getConnection("jdbc:paradox:" + schema.getAbsolutePath());
+             final Statement stmt = connection.createStatement();
+             final ResultSet rs = stmt.executeQuery("select Graphic from graphic where Id = 2")) {
+            assertTrue(rs.next());
+            final Blob blob = rs.getBlob("Graphic");
+
+            final File blobFile = new File(schema, "graphic.mb");
+            assertTrue(blobFile.setLastModified(blobFile.lastModified() - 10_000));
+
+            assertEquals(9626, blob.length());
+            assertThrows(ParadoxDataException.class, () -> blob.getBytes(1, 10));
+        }
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.metadata.schema;
+
+import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.Driver;
+import com.googlecode.paradox.ParadoxConnection;
+import com.googlecode.paradox.metadata.Table;
+import com.googlecode.paradox.metadata.View;
+import com.googlecode.paradox.utils.TestUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link DirectorySchema}.
+ *
+ * @since 1.6.3
+ */
+class DirectorySchemaTest {
+
+    /**
+     * Register the driver.
+     */
+    @BeforeAll
+    static void initClass() {
+        new Driver();
+    }
+
+    /**
+     * Test for a table found without reading the other files in directory.
+     *
+     * @param directory the temporary directory.
+     * @throws SQLException in case of failures.
+     * @throws IOException  in case of copy failures.
+     */
+    @Test
+    void testFindSingleTable(@TempDir final Path directory) throws SQLException, IOException {
+        final File schema = Files.createDirectory(directory.resolve("db")).toFile();
+        TestUtil.copyTable(schema, "AREACODES", "AREACODES", "DB", "PX");
+
+        // Invalid files are not read.
+        Files.write(new File(schema, "BROKEN.DB").toPath(), new byte[]{1, 2, 3});
+        Files.write(new File(schema, "broken.sql").toPath(), "select".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(schema, "view.sql").toPath(), "select * from areacodes"
+                .getBytes(StandardCharsets.UTF_8));
+
+        try (final Connection conn = DriverManager.getConnection("jdbc:paradox:" + schema.getAbsolutePath())) {
+            final ConnectionInfo info = conn.unwrap(ParadoxConnection.class).getConnectionInfo();
+            final DirectorySchema directorySchema = new DirectorySchema(schema);
+
+            final Table table = directorySchema.findTable(info, "areacodes");
+            assertNotNull(table);
+            assertEquals("AREACODES", table.getName());
+
+            final Table view = directorySchema.findTable(info, "VIEW");
+            assertTrue(view instanceof View);
+
+            assertNull(directorySchema.findTable(info, "notfound"));
+            assertNull(directorySchema.findTable(info, "../db/areacodes"));
+            assertNull(conn.getWarnings());
+        }
+    }
+
+    /**
+     * Test for a table file linked to a file in other directory.
+     *
+     * @param directory the temporary directory.
+     * @throws SQLException in case of failures.
+     * @throws IOException  in case of copy failures.
+     */
+    @Test
+    void testLinkedTable(@TempDir final Path directory) throws SQLException, IOException {
+        final File target = Files.createDirectory(directory.resolve("target")).toFile();
+        TestUtil.copyTable(target, "AREACODES", "AREACODES", "DB", "PX");
+
+        final File schema = Files.createDirectory(directory.resolve("db")).toFile();
+        Files.createSymbolicLink(new File(schema, "CODES.DB").toPath(), new File(target, "AREACODES.DB").toPath());
+        final Path link = directory.resolve("link");
+        Files.createSymbolicLink(link, schema.toPath());
+
+        try (final Connection conn = DriverManager.getConnection("jdbc:paradox:" + link)) {
+            final ConnectionInfo info = conn.unwrap(ParadoxConnection.class).getConnectionInfo();
+            final DirectorySchema directorySchema = new DirectorySchema(link.toFile());
+
+            final Table table = directorySchema.findTable(info, "codes");
+            assertNotNull(table);
+            assertEquals("CODES", table.getName());
+            assertEquals("link", table.getSchemaName());
+            assertEquals(0, table.getIndexes().length);
+        }
+    }
+}
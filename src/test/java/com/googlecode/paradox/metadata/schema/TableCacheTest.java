@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.metadata.schema;
+
+import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.Driver;
+import com.googlecode.paradox.data.BlockCache;
+import com.googlecode.paradox.utils.TestUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit test for {@link TableCache}.
+ *
+ * @since 1.6.3
+ */
+class TableCacheTest {
+
+    /**
+     * Register the driver.
+     */
+    @BeforeAll
+    static void initClass() {
+        new Driver();
+    }
+
+    /**
+     * Test for tables with the same name in different directories.
+     *
+     * @param directory the temporary directory.
+     * @throws SQLException in case of failures.
+     * @throws IOException  in case of copy failures.
+     */
+    @Test
+    void testSameNameInDirectories(@TempDir final Path directory) throws SQLException, IOException {
+        final File first = copy(directory, "first", "AREACODES");
+        final File second = copy(directory, "second", "ORDERS");
+        assertTrue(new File(second, "ORDERS.DB").renameTo(new File(second, "AREACODES.DB")));
+        assertTrue(new File(second, "ORDERS.PX").renameTo(new File(second, "AREACODES.PX")));
+
+        assertTrue(columns(first, new Properties()).contains("AC"));
+        assertTrue(columns(second, new Properties()).contains("Order No"));
+        assertTrue(columns(first, new Properties()).contains("AC"));
+    }
+
+    /**
+     * Test for cache hits and changed files.
+     *
+     * @param directory the temporary directory.
+     * @throws SQLException in case of failures.
+     * @throws IOException  in case of copy failures.
+     */
+    @Test
+    void testHitsAndChanges(@TempDir final Path directory) throws SQLException, IOException {
+        final File schema = copy(directory, "db", "AREACODES");
+        final TableCache cache = TableCache.getInstance();
+
+        columns(schema, new Properties());
+        long hits = cache.getHits();
+        columns(schema, new Properties());
+        assertTrue(cache.getHits() > hits);
+
+        // Changed files are loaded again.
+        final File table = new File(schema, "AREACODES.DB");
+        assertTrue(table.setLastModified(table.lastModified() - 10_000));
+        final long misses = cache.getMisses();
+        hits = cache.getHits();
+        columns(schema, new Properties());
+        assertTrue(cache.getMisses() > misses);
+        assertEquals(hits, cache.getHits());
+    }
+
+    /**
+     * Test for the cache size limit.
+     *
+     * @param directory the temporary directory.
+     * @throws SQLException in case of failures.
+     * @throws IOException  in case of copy failures.
+     */
+    @Test
+    void testEviction(@TempDir final Path directory) throws SQLException, IOException {
+        final File schema = copy(directory, "db", "AREACODES");
+        TestUtil.copyTable(schema, "ORDERS", "ORDERS", "DB", "PX");
+
+        final TableCache cache = TableCache.getInstance();
+        final Properties properties = new Properties();
+        properties.put(ConnectionInfo.TABLE_CACHE_SIZE_KEY, "1");
+
+        final long evictions = cache.getEvictions();
+        try (final Connection conn = DriverManager.getConnection("jdbc:paradox:" + schema.getAbsolutePath(),
+                properties);
+             final ResultSet rs = conn.getMetaData().getTables(null, schema.getName(), "%", null)) {
+            assertTrue(rs.next());
+        }
+
+        assertEquals(1, cache.size());
+        assertTrue(cache.getEvictions() > evictions);
+    }
+
+    /**
+     * Test for disabled cache.
+     *
+     * @param directory the temporary directory.
+     * @throws SQLException in case of failures.
+     * @throws IOException  in case of copy failures.
+     */
+    @Test
+    void testDisabled(@TempDir final Path directory) throws SQLException, IOException {
+        final File schema = copy(directory, "db", "AREACODES");
+        final TableCache cache = TableCache.getInstance();
+        final Properties properties = new Properties();
+        properties.put(ConnectionInfo.TABLE_CACHE_SIZE_KEY, "0");
+
+        final long hits = cache.getHits();
+        final long misses = cache.getMisses();
+        columns(schema, properties);
+        columns(schema, properties);
+        assertEquals(hits, cache.getHits());
+        assertEquals(misses, cache.getMisses());
+    }
+
+    /**
+     * Test for connections with other table settings.
+     *
+     * @param directory the temporary directory.
+     * @throws SQLException in case of failures.
+     * @throws IOException  in case of copy failures.
+     */
+    @Test
+    void testConnectionSettings(@TempDir final Path directory) throws SQLException, IOException {
+        final File schema = copy(directory, "db", "AREACODES");
+        final BlockCache blockCache = BlockCache.getInstance();
+        final Properties disabled = new Properties();
+        disabled.put(ConnectionInfo.BLOCK_CACHE_SIZE_KEY, "0");
+        final Properties enabled = new Properties();
+        enabled.put(ConnectionInfo.BLOCK_CACHE_SIZE_KEY, "1048576");
+
+        read(schema, disabled);
+        final long misses = blockCache.getMisses();
+        read(schema, enabled);
+
+        // The block cache of the second connection is used.
+        assertTrue(blockCache.getMisses() > misses);
+    }
+
+    /**
+     * Reads all rows of the AREACODES table.
+     *
+     * @param schema     the schema directory.
+     * @param properties the connection properties.
+     * @throws SQLException in case of failures.
+     */
+    private static void read(final File schema, final Properties properties) throws SQLException {
+        try (final Connection conn = DriverManager.getConnection("jdbc:paradox:" + schema.getAbsolutePath(),
+                properties);
+             final Statement stmt = conn.createStatement();
+             final ResultSet rs = stmt.executeQuery("select * from areacodes")) {
+            while (rs.next()) {
+                assertNotNull(rs.getString(1));
+            }
+        }
+    }
+
+    /**
+     * Copies the table files to a new schema directory.
+     *
+     * @param directory the temporary directory.
+     * @param name      the schema name.
+     * @param table     the table name.
+     * @return the schema directory.
+     * @throws IOException in case of copy failures.
+     */
+    private static File copy(final Path directory, final String name, final String table) throws IOException {
+        final File schema = Files.createDirectory(directory.resolve(name)).toFile();
+        TestUtil.copyTable(schema, table, table, "DB", "PX");
+
+        return schema;
+    }
+
+    /**
+     * Gets the column names of the AREACODES table.
+     *
+     * @param schema     the schema directory.
+     * @param properties the connection properties.
+     * @return the column names.
+     * @throws SQLException in case of failures.
+     */
+    private static List<String> columns(final File schema, final Properties properties) throws SQLException {
+        final List<String> columns = new ArrayList<>();
+        try (final Connection conn = DriverManager.getConnection("jdbc:paradox:" + schema.getAbsolutePath(),
+                properties);
+             final ResultSet rs = conn.getMetaData().getColumns(null, schema.getName(), "areacodes", "%")) {
+            while (rs.next()) {
+                columns.add(rs.getString("COLUMN_NAME"));
+            }
+        }
+
+        return columns;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.planner;
+
+import com.googlecode.paradox.ConnectionInfo;
+import com.googlecode.paradox.Driver;
+import com.googlecode.paradox.ParadoxConnection;
+import com.googlecode.paradox.planner.plan.Plan;
+import com.googlecode.paradox.utils.TestUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link PlanCache}.
+ *
+ * @since 1.6.3
+ */
+class PlanCacheTest {
+
+    /**
+     * Register the driver.
+     */
+    @BeforeAll
+    static void initClass() {
+        new Driver();
+    }
+
+    /**
+     * Test for cached plans and changed tables.
+     *
+     * @param directory the temporary directory.
+     * @throws SQLException in case of failures.
+     * @throws IOException  in case of copy failures.
+     */
+    @Test
+    void testHitsAndChanges(@TempDir final Path directory) throws SQLException, IOException {
+        final File schema = copy(directory);
+        final PlanCache cache = PlanCache.getInstance();
+
+        try (final ParadoxConnection conn = (ParadoxConnection) DriverManager.getConnection(
+                "jdbc:paradox:" + schema.getAbsolutePath())) {
+            final Plan<?, ?> plan = conn.createPlan("select * from areacodes");
+            final long hits = cache.getHits();
+            assertSame(plan, conn.createPlan("select * from areacodes"));
+            assertEquals(hits + 1, cache.getHits());
+
+            // Changed tables are planned again.
+            final File table = new File(schema, "AREACODES.DB");
+            assertTrue(table.setLastModified(table.lastModified() - 10_000));
+            final long invalidations = cache.getInvalidations();
+            assertNotSame(plan, conn.createPlan("select * from areacodes"));
+            assertEquals(invalidations + 1, cache.getInvalidations());
+        }
+    }
+
+    /**
+     * Test for cached plans and changed views.
+     *
+     * @param directory the temporary directory.
+     * @throws SQLException in case of failures.
+     * @throws IOException  in case of copy failures.
+     */
+    @Test
+    void testViewChanges(@TempDir final Path directory) throws SQLException, IOException {
+        final File schema = copy(directory);
+        final File view = new File(schema, "codes.sql");
+        Files.write(view.toPath(), "select ac from areacodes".getBytes(StandardCharsets.UTF_8));
+        final long lastModified = view.lastModified();
+        final PlanCache cache = PlanCache.getInstance();
+
+        try (final ParadoxConnection conn = (ParadoxConnection) DriverManager.getConnection(
+                "jdbc:paradox:" + schema.getAbsolutePath())) {
+            final Plan<?, ?> plan = conn.createPlan("select * from codes");
+            assertSame(plan, conn.createPlan("select * from codes"));
+
+            // Same modification time, but another length.
+            Files.write(view.toPath(), "select ac, state from areacodes".getBytes(StandardCharsets.UTF_8));
+            assertTrue(view.setLastModified(lastModified));
+            final long invalidations = cache.getInvalidations();
+            assertNotSame(plan, conn.createPlan("select * from codes"));
+            assertEquals(invalidations + 1, cache.getInvalidations());
+        }
+    }
+
+    /**
+     * Test for the cache size limit.
+     *
+     * @param directory the temporary directory.
+     * @throws SQLException in case of failures.
+     * @throws IOException  in case of copy failures.
+     */
+    @Test
+    void testEviction(@TempDir final Path directory) throws SQLException, IOException {
+        final File schema = copy(directory);
+        final PlanCache cache = PlanCache.getInstance();
+        final Properties properties = new Properties();
+        properties.put(ConnectionInfo.PLAN_CACHE_SIZE_KEY, "1");
+
+        try (final ParadoxConnection conn = (ParadoxConnection) DriverManager.getConnection(
+                "jdbc:paradox:" + schema.getAbsolutePath(), properties)) {
+            final long evictions = cache.getEvictions();
+            conn.createPlan("select * from areacodes");
+            conn.createPlan("select ac from areacodes");
+            assertEquals(1, cache.size());
+            assertTrue(cache.getEvictions() > evictions);
+        }
+    }
+
+    /**
+     * Test for disabled cache.
+     *
+     * @param directory the temporary directory.
+     * @throws SQLException in case of failures.
+     * @throws IOException  in case of copy failures.
+     */
+    @Test
+    void testDisabled(@TempDir final Path directory) throws SQLException, IOException {
+        final File schema = copy(directory);
+        final Properties properties = new Properties();
+        properties.put(ConnectionInfo.PLAN_CACHE_SIZE_KEY, "0");
+
+        try (final ParadoxConnection conn = (ParadoxConnection) DriverManager.getConnection(
+                "jdbc:paradox:" + schema.getAbsolutePath(), properties)) {
+            assertNotSame(conn.createPlan("select * from areacodes"), conn.createPlan("select * from areacodes"));
+        }
+    }
+
+    /**
+     * Copies the test table to a new schema directory.
+     *
+     * @param directory the temporary directory.
+     * @return the schema directory.
+     * @throws IOException in case of copy failures.
+     */
+    private static File copy(final Path directory) throws IOException {
+        final File schema = Files.createDirectory(directory.resolve("db")).toFile();
+        TestUtil.copyTable(schema, "AREACODES", "AREACODES", "DB", "PX");
+
+        return schema;
+    }
+}
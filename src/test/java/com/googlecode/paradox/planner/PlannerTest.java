@@ -316,6 +316,82 @@ class PlannerTest {
         }
     }
 
+    /**
+     * Test for index only scan in plan output.
+     *
+     * @throws SQLException in case of errors.
+     */
+    @Test
+    void testIndexOnlyScan() throws SQLException {
+        final SQLParser parser = new SQLParser("select distinct State from areacodes");
+        final SelectPlan plan = (SelectPlan) Planner.create(conn.getConnectionInfo(), parser.parse());
+        assertNotNull(plan.getTables().get(0).getIndex());
+        assertEquals("SELECT\n  INDEX ONLY SCAN AREACODES as areacodes USING ste", plan.toString());
+
+        final SQLParser tableParser = new SQLParser("select distinct State, Cities from areacodes");
+        final SelectPlan tablePlan = (SelectPlan) Planner.create(conn.getConnectionInfo(), tableParser.parse());
+        assertNull(tablePlan.getTables().get(0).getIndex());
+        assertEquals("SELECT\n  TABLE SCAN AREACODES as areacodes", tablePlan.toString());
+    }
+
+    /**
+     * Test for hash join in plan output.
+     *
+     * @throws SQLException in case of errors.
+     */
+    @Test
+    void testHashJoin() throws SQLException {
+        final SQLParser parser = new SQLParser("select * from geog.tblAC ac inner join geog.tblsttes st " +
+                "on st.State = ac.State");
+        final SelectPlan plan = (SelectPlan) Planner.create(conn.getConnectionInfo(), parser.parse());
+        assertTrue(plan.toString().contains("INNER HASH JOIN"), plan.toString());
+
+        final SQLParser rangeParser = new SQLParser("select * from geog.tblAC ac inner join geog.tblsttes st " +
+                "on st.State >= ac.State");
+        final SelectPlan rangePlan = (SelectPlan) Planner.create(conn.getConnectionInfo(), rangeParser.parse());
+        assertFalse(rangePlan.toString().contains("HASH"), rangePlan.toString());
+    }
+
+    /**
+     * Test for join order.
+     *
+     * @throws SQLException in case of errors.
+     */
+    @Test
+    void testJoinOrder() throws SQLException {
+        // No condition joins tblAC to County, so they are not joined first.
+        final SQLParser parser = new SQLParser("select * from geog.tblAC ac, geog.County c, geog.tblsttes st " +
+                "where ac.State = st.State and c.StateID = st.State");
+        final SelectPlan plan = (SelectPlan) Planner.create(conn.getConnectionInfo(), parser.parse());
+        assertFalse(plan.toString().contains("INNER JOIN"), plan.toString());
+        assertEquals("tblsttes", plan.getTables().get(1).getTable().getName(), plan.toString());
+
+        // Outer joins are not reordered.
+        final SQLParser outerParser = new SQLParser("select * from geog.tblAC ac left join geog.County c " +
+                "on c.StateID = ac.State inner join geog.tblsttes st on st.State = ac.State");
+        final SelectPlan outerPlan = (SelectPlan) Planner.create(conn.getConnectionInfo(), outerParser.parse());
+        assertEquals("tblAC", outerPlan.getTables().get(0).getTable().getName());
+        assertEquals("County", outerPlan.getTables().get(1).getTable().getName());
+    }
+
+    /**
+     * Test for merge join on the primary keys.
+     *
+     * @throws SQLException in case of errors.
+     */
+    @Test
+    void testMergeJoin() throws SQLException {
+        final SQLParser parser = new SQLParser("select * from areacodes a inner join areacode b " +
+                "on a.AC = b.\"Area Code\"");
+        final SelectPlan plan = (SelectPlan) Planner.create(conn.getConnectionInfo(), parser.parse());
+        assertTrue(plan.toString().contains("INNER MERGE JOIN"), plan.toString());
+
+        final SQLParser hashParser = new SQLParser("select * from areacodes a inner join areacode b " +
+                "on a.State = b.\"Area Code\"");
+        final SelectPlan hashPlan = (SelectPlan) Planner.create(conn.getConnectionInfo(), hashParser.parse());
+        assertTrue(hashPlan.toString().contains("INNER HASH JOIN"), hashPlan.toString());
+    }
+
     /**
      * Test for table not found.
      *
@@ -17,7 +17,6 @@ import com.googlecode.paradox.parser.SQLParser;
 import com.googlecode.paradox.parser.nodes.StatementNode;
 import com.googlecode.paradox.planner.Planner;
 import com.googlecode.paradox.planner.nodes.comparable.EqualsNode;
-import com.googlecode.paradox.planner.nodes.join.ANDNode;
 import com.googlecode.paradox.planner.nodes.join.ORNode;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -25,6 +24,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -107,6 +113,15 @@ class SelectPlanTest {
         assertThrows(ParadoxException.class, () -> this.conn.prepareStatement("select invalid from fields.date7"));
     }
 
+    /**
+     * Test for table conditions using columns of tables read later.
+     */
+    @Test
+    void testConditionWithLaterTable() {
+        assertThrows(ParadoxException.class, () -> this.conn.prepareStatement(
+                "select * from joins.\"C\" b, joins.\"case\" c where b.\"C\" = c.\"C\""));
+    }
+
     /**
      * Test for SELECT plan performance optimizations.
      *
@@ -127,8 +142,62 @@ class SelectPlanTest {
         assertNull(selectPlan.getCondition());
 
         assertEquals(3, selectPlan.getTables().size());
+
+        // The filtered table is read first.
+        assertEquals("County", selectPlan.getTables().get(0).getTable().getName());
+        assertInstanceOf(EqualsNode.class, selectPlan.getTables().get(0).getConditionalJoin());
         assertInstanceOf(EqualsNode.class, selectPlan.getTables().get(1).getConditionalJoin());
-        assertInstanceOf(ANDNode.class, selectPlan.getTables().get(2).getConditionalJoin());
+        assertInstanceOf(EqualsNode.class, selectPlan.getTables().get(2).getConditionalJoin());
+    }
+
+    /**
+     * Test for join order results, compared with the FROM order.
+     *
+     * @throws SQLException in case of errors.
+     */
+    @Test
+    void testJoinOrderResults() throws SQLException {
+        final List<List<Object>> expected = rows("select ac.AreaCode, st.State, c.CountyID " +
+                "from geog.tblAC ac inner join geog.tblsttes st on ac.State = st.State " +
+                "inner join geog.County c on c.StateID = st.State");
+        final List<List<Object>> reordered = rows("select ac.AreaCode, st.State, c.CountyID " +
+                "from geog.tblAC ac, geog.County c, geog.tblsttes st " +
+                "where ac.State = st.State and c.StateID = st.State");
+
+        assertFalse(expected.isEmpty());
+        final Comparator<List<Object>> comparator = Comparator.comparing(Object::toString);
+        expected.sort(comparator);
+        reordered.sort(comparator);
+        assertEquals(expected, reordered);
+    }
+
+    /**
+     * Test for join order with an alias equal to the name of another table.
+     *
+     * @throws SQLException in case of errors.
+     */
+    @Test
+    void testJoinOrderAliasAsTableName() throws SQLException {
+        final String sql = "select ac.AreaCode, c.CountyID " +
+                "from geog.tblAC ac, geog.County c, geog.tblsttes tblAC " +
+                "where ac.State = tblAC.State and c.StateID = tblAC.State and c.CountyID = 201";
+        final SelectPlan plan = (SelectPlan) Planner.create(conn.getConnectionInfo(), new SQLParser(sql).parse());
+
+        // The filtered table is read first and joined to the states by the aliased condition.
+        assertEquals("County", plan.getTables().get(0).getTable().getName());
+        assertEquals("tblsttes", plan.getTables().get(1).getTable().getName());
+        assertInstanceOf(EqualsNode.class, plan.getTables().get(1).getConditionalJoin());
+
+        final List<List<Object>> expected = rows("select ac.AreaCode, c.CountyID " +
+                "from geog.tblAC ac inner join geog.tblsttes st on ac.State = st.State " +
+                "inner join geog.County c on c.StateID = st.State where c.CountyID = 201");
+        final List<List<Object>> reordered = rows(sql);
+
+        assertFalse(expected.isEmpty());
+        final Comparator<List<Object>> comparator = Comparator.comparing(Object::toString);
+        expected.sort(comparator);
+        reordered.sort(comparator);
+        assertEquals(expected, reordered);
     }
 
     /**
@@ -541,4 +610,128 @@ class SelectPlanTest {
             assertNotEquals("--", rs.getString(1));
         }
     }
+
+    /**
+     * Test the same plan executed by many threads.
+     *
+     * @throws Exception in case of errors.
+     */
+    @Test
+    void testConcurrentExecution() throws Exception {
+        final String sql = "select ac, coalesce(null, ?) from areacodes where state = ?";
+        final String[] states = {"NY", "CA", "TX", "FL"};
+        final int[] expected = new int[states.length];
+        for (int i = 0; i < states.length; i++) {
+            expected[i] = count(this.conn, sql, states[i], i);
+        }
+
+        assertSame(this.conn.createPlan(sql), this.conn.createPlan(sql));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(states.length);
+        try {
+            final List<Future<Integer>> results = new ArrayList<>();
+            for (int loop = 0; loop < 10; loop++) {
+                for (int i = 0; i < states.length; i++) {
+                    final int index = i;
+                    results.add(executor.submit(() -> {
+                        try (final Connection connection = DriverManager.getConnection(
+                                CONNECTION_STRING + "db")) {
+                            return count(connection, sql, states[index], index);
+                        }
+                    }));
+                }
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(expected[i % states.length], results.get(i).get().intValue());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test the hash joins with the same result of comparing all rows.
+     *
+     * @throws SQLException in case of errors.
+     */
+    @Test
+    void testHashJoinResults() throws SQLException {
+        for (final String join : new String[]{"inner", "left", "right", "full"}) {
+            final String sql = "select ac.AreaCode, ac.State, st.State from geog.tblAC ac " + join +
+                    " join geog.tblsttes st on ";
+            final List<List<Object>> expected = rows(sql + "st.State >= ac.State and st.State <= ac.State");
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, rows(sql + "st.State = ac.State"), join);
+        }
+    }
+
+    /**
+     * Test for merge join results, compared with the nested loop join.
+     *
+     * @throws SQLException in case of errors.
+     */
+    @Test
+    void testMergeJoinResults() throws SQLException {
+        for (final String join : new String[]{"inner", "left", "right", "full"}) {
+            final String sql = "select a.*, b.\"Area Code\" from areacodes a " + join +
+                    " join areacode b on ";
+            final List<List<Object>> expected = rows(sql + "a.AC >= b.\"Area Code\" and a.AC <= b.\"Area Code\"");
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, rows(sql + "a.AC = b.\"Area Code\""), join);
+        }
+    }
+
+    /**
+     * Reads all rows of a statement.
+     *
+     * @param sql the statement to execute.
+     * @return the rows.
+     * @throws SQLException in case of errors.
+     */
+    private List<List<Object>> rows(final String sql) throws SQLException {
+        final List<List<Object>> rows = new ArrayList<>();
+        try (final PreparedStatement stmt = this.conn.prepareStatement(sql);
+             final ResultSet rs = stmt.executeQuery()) {
+            final int count = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                final Object[] row = new Object[count];
+                for (int i = 0; i < count; i++) {
+                    row[i] = rs.getObject(i + 1);
+                }
+
+                rows.add(Arrays.asList(row));
+            }
+        }
+
+        return rows;
+    }
+
+    /**
+     * Counts the rows of a statement, checking the parameter value in each row.
+     *
+     * @param connection the connection to use.
+     * @param sql        the statement to execute.
+     * @param state      the state parameter.
+     * @param value      the value parameter.
+     * @return the row count.
+     * @throws SQLException in case of errors.
+     */
+    private static int count(final Connection connection, final String sql, final String state, final int value)
+            throws SQLException {
+        int count = 0;
+        try (final PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, value);
+            stmt.setString(2, state);
+            try (final ResultSet rs = stmt.executeQuery()) {
+                assertEquals(Types.INTEGER, rs.getMetaData().getColumnType(2));
+                while (rs.next()) {
+                    assertEquals(value, rs.getInt(2));
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
 }
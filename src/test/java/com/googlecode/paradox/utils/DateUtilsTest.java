@@ -18,7 +18,10 @@ import org.junit.jupiter.api.Test;
 
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -39,6 +42,11 @@ class DateUtilsTest {
      */
     private static ParadoxConnection conn;
 
+    /**
+     * The SDN of 1970-01-01.
+     */
+    private static final long UNIX_EPOCH_SDN = 2_440_588;
+
     /**
      * Register the database driver.
      *
@@ -136,4 +144,50 @@ class DateUtilsTest {
         assertNull(DateUtils.sdnToGregorian(0));
         assertNull(DateUtils.sdnToGregorian(-1));
     }
+
+    /**
+     * Test for converted days equals to the calendar conversion.
+     */
+    @Test
+    void testSdnToGregorianParity() {
+        // From 1 A.D. to 2500 A.D.
+        for (long sdn = 1_721_426; sdn < 2_634_000; sdn += 3) {
+            // SDN uses the proleptic Gregorian calendar.
+            final LocalDate local = LocalDate.ofEpochDay(sdn - UNIX_EPOCH_SDN);
+            final Date expected = new GregorianCalendar(local.getYear(), local.getMonthValue() - 1,
+                    local.getDayOfMonth()).getTime();
+
+            assertEquals(expected, DateUtils.sdnToGregorian(sdn));
+            assertEquals(expected, DateUtils.sdnToGregorian(sdn));
+        }
+    }
+
+    /**
+     * Test for date parts.
+     */
+    @Test
+    void testDateParts() {
+        final java.sql.Date date = java.sql.Date.valueOf("2021-03-04");
+        assertEquals(2021, DateUtils.getYear(date));
+        assertEquals(3, DateUtils.getMonth(date));
+        assertEquals(4, DateUtils.getDay(date));
+    }
+
+    /**
+     * Test for converted days in the current default time zone.
+     */
+    @Test
+    void testSdnToGregorianTimeZone() {
+        final TimeZone original = TimeZone.getDefault();
+        final long sdn = UNIX_EPOCH_SDN + LocalDate.of(2021, 3, 4).toEpochDay();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("America/Sao_Paulo"));
+            assertEquals(java.sql.Date.valueOf("2021-03-04"), DateUtils.sdnToGregorian(sdn));
+
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+            assertEquals(java.sql.Date.valueOf("2021-03-04"), DateUtils.sdnToGregorian(sdn));
+        } finally {
+            TimeZone.setDefault(original);
+        }
+    }
 }
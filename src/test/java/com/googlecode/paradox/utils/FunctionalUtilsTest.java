@@ -16,9 +16,13 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -61,4 +65,44 @@ class FunctionalUtilsTest {
     void testSanity() {
         assertTrue(TestUtil.assertSanity(FunctionalUtils.class));
     }
+
+    /**
+     * Test for grouping by many keys, with NULL values grouped together.
+     */
+    @Test
+    void testGroupingByKeys() {
+        final Predicate<Object[]> grouping = FunctionalUtils.groupingByKeys(new int[0], new int[]{0, 1},
+                conn.getConnectionInfo());
+        final Boolean[] groups = Stream.of(
+                new Object[]{1, "a"},
+                new Object[]{1, "b"},
+                new Object[]{1, "a"},
+                new Object[]{null, "a"},
+                new Object[]{null, "a"},
+                new Object[]{null, null},
+                new Object[]{1.0, "b"},
+                new Object[]{new BigDecimal("1.00"), "a"},
+                new Object[]{2L, "a"}
+        ).map(grouping::test).toArray(Boolean[]::new);
+
+        assertArrayEquals(new Boolean[]{true, true, false, true, false, true, false, false, true}, groups);
+    }
+
+    /**
+     * Test for grouping a column with values of many kinds.
+     */
+    @Test
+    void testGroupingByMixedKeys() {
+        final Predicate<Object[]> grouping = FunctionalUtils.groupingByKeys(new int[0], new int[]{0},
+                conn.getConnectionInfo());
+        final Boolean[] groups = Stream.of(
+                new Object[]{"x"},
+                new Object[]{1},
+                new Object[]{"x"},
+                new Object[]{1L},
+                new Object[]{"1"}
+        ).map(grouping::test).toArray(Boolean[]::new);
+
+        assertArrayEquals(new Boolean[]{true, true, false, false, false}, groups);
+    }
 }
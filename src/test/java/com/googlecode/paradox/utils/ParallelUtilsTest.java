@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2009 Leonardo Alves da Costa
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any
+ * later version. This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details. You should have received a copy of the GNU General Public License along with this
+ * program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.googlecode.paradox.utils;
+
+import com.googlecode.paradox.exceptions.DataError;
+import com.googlecode.paradox.exceptions.InternalException;
+import com.googlecode.paradox.exceptions.ParadoxDataException;
+import com.googlecode.paradox.exceptions.ParadoxException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link ParallelUtils}.
+ *
+ * @since 1.6.3
+ */
+class ParallelUtilsTest {
+
+    /**
+     * Test for the stream order and the thread count.
+     *
+     * @throws SQLException in case of failures.
+     */
+    @Test
+    void testCollect() throws SQLException {
+        final List<Integer> expected = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        final List<Integer> values = ParallelUtils.collect(3, expected.parallelStream()
+                .peek(value -> threads.add(Thread.currentThread())));
+
+        assertEquals(expected, values);
+        assertTrue(threads.size() <= 3);
+    }
+
+    /**
+     * Test for failures in parallel reads.
+     */
+    @Test
+    void testFailure() {
+        final SQLException failure = new ParadoxDataException(DataError.ERROR_LOADING_DATA);
+        final SQLException e = assertThrows(SQLException.class, () -> ParallelUtils.collect(4,
+                IntStream.range(0, 1_000).boxed().parallel().peek((Integer value) -> {
+                    if (value == 500) {
+                        throw new InternalException(failure);
+                    }
+                })));
+
+        assertSame(failure, e);
+    }
+
+    /**
+     * Test for the cancellation: the stream is closed only after all running tasks end.
+     *
+     * @throws InterruptedException in case of failures.
+     */
+    @Test
+    void testInterrupted() throws InterruptedException {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger runningOnClose = new AtomicInteger(-1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        final Thread thread = new Thread(() -> {
+            try {
+                ParallelUtils.collect(4, IntStream.range(0, 10_000).boxed().parallel()
+                        .peek((Integer value) -> {
+                            running.incrementAndGet();
+                            started.countDown();
+                            try {
+                                Thread.sleep(1);
+                            } catch (final InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            } finally {
+                                running.decrementAndGet();
+                            }
+                        })
+                        .onClose(() -> runningOnClose.set(running.get())));
+            } catch (final SQLException e) {
+                failure.set(e);
+            }
+        });
+
+        thread.start();
+        started.await();
+        thread.interrupt();
+        thread.join();
+
+        assertInstanceOf(ParadoxException.class, failure.get());
+        assertEquals(0, runningOnClose.get());
+    }
+}
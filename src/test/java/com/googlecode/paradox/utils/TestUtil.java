@@ -10,10 +10,13 @@
  */
 package com.googlecode.paradox.utils;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.nio.file.Files;
 import java.sql.SQLException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -34,6 +37,38 @@ public final class TestUtil {
         super();
     }
 
+    /**
+     * Copies the files of a test table to a schema directory.
+     *
+     * @param schema     the schema directory.
+     * @param table      the test table name.
+     * @param target     the table name in schema directory.
+     * @param extensions the table file extensions to copy.
+     * @throws IOException in case of copy failures.
+     */
+    public static void copyTable(final File schema, final String table, final String target,
+                                 final String... extensions) throws IOException {
+        copyTable(new File("target/test-classes/db"), schema, table, target, extensions);
+    }
+
+    /**
+     * Copies the files of a table to a schema directory.
+     *
+     * @param source     the source directory.
+     * @param schema     the schema directory.
+     * @param table      the table name in source directory.
+     * @param target     the table name in schema directory.
+     * @param extensions the table file extensions to copy.
+     * @throws IOException in case of copy failures.
+     */
+    public static void copyTable(final File source, final File schema, final String table, final String target,
+                                 final String... extensions) throws IOException {
+        for (final String extension : extensions) {
+            Files.copy(new File(source, table + "." + extension).toPath(),
+                    new File(schema, target + "." + extension).toPath());
+        }
+    }
+
     /**
      * Verifies that a utility class is well-defined.
      *